@@ -86,6 +86,16 @@ public abstract class BaseModel implements Model {
         return dataType;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void cast(DataType dataType) {
+        if (dataType == this.dataType) {
+            return;
+        }
+        block.cast(dataType);
+        this.dataType = dataType;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PairList<String, Shape> describeInput() {
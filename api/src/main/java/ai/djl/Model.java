@@ -272,7 +272,9 @@ public interface Model extends AutoCloseable {
     /**
      * Casts the model to support a different precision level.
      *
-     * <p>For example, you can cast the precision from Float to Int
+     * <p>For example, you can cast the precision from float32 to float16 to run inference with
+     * reduced precision. The parameters are cast once, the {@link Predictor} casts the inputs to
+     * the model data type and the outputs back to float32.
      *
      * @param dataType the target dataType you would like to cast to
      */
@@ -16,8 +16,11 @@ import ai.djl.Device;
 import ai.djl.Model;
 import ai.djl.ndarray.NDManager;
 import ai.djl.training.GradientCollector;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,40 +32,48 @@ import org.slf4j.LoggerFactory;
  * should contain methods to detect information about the usable machine hardware and to create a
  * new {@link NDManager} and {@link Model}.
  *
+ * <p>Engines are discovered by name through their {@link EngineProvider}, and each engine is only
+ * initialized, which usually loads its native library, the first time it is retrieved.
+ *
  * @see EngineProvider
  */
 public abstract class Engine {
 
     private static final Logger logger = LoggerFactory.getLogger(Engine.class);
 
-    private static final Map<String, Engine> ALL_ENGINES = new ConcurrentHashMap<>();
+    // only modified during class initialization, in discovery order
+    private static final Map<String, EngineProvider> ALL_ENGINES = new LinkedHashMap<>();
+    private static final Map<String, Engine> LOADED_ENGINES = new ConcurrentHashMap<>();
+    private static final Map<String, Long> INIT_TIMES = new ConcurrentHashMap<>();
 
     private static final String DEFAULT_ENGINE = initEngine();
 
     private static synchronized String initEngine() {
-        Engine firstEngine = null;
+        long begin = System.nanoTime();
         ServiceLoader<EngineProvider> loaders = ServiceLoader.load(EngineProvider.class);
         for (EngineProvider provider : loaders) {
-            Engine engine = provider.getEngine();
-            if (engine != null) {
-                if (firstEngine == null) {
-                    firstEngine = engine;
-                }
-                ALL_ENGINES.put(engine.getEngineName(), engine);
+            String engineName = provider.getEngineName();
+            if (engineName != null) {
+                ALL_ENGINES.putIfAbsent(engineName, provider);
             }
         }
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Discovered engines {} in {} ms.",
+                    ALL_ENGINES.keySet(),
+                    String.format("%.3f", (System.nanoTime() - begin) / 1_000_000f));
+        }
 
-        if (firstEngine == null) {
+        if (ALL_ENGINES.isEmpty()) {
             return null;
         }
 
-        String defaultEngine = System.getenv("DJL_DEFAULT_ENGINE");
-        defaultEngine = System.getProperty("ai.djl.default_engine", defaultEngine);
-        if (defaultEngine == null || defaultEngine.isEmpty()) {
+        String defaultEngine = getConfiguredDefaultEngine();
+        if (defaultEngine == null) {
             if (ALL_ENGINES.size() > 1) {
                 logger.warn("More than one deep learning engines found.");
             }
-            defaultEngine = firstEngine.getEngineName();
+            defaultEngine = ALL_ENGINES.keySet().iterator().next();
         } else if (!ALL_ENGINES.containsKey(defaultEngine)) {
             throw new EngineException("Unknown default engine: " + defaultEngine);
         }
@@ -70,6 +81,43 @@ public abstract class Engine {
         return defaultEngine;
     }
 
+    private static String getConfiguredDefaultEngine() {
+        String defaultEngine = System.getenv("DJL_DEFAULT_ENGINE");
+        defaultEngine = System.getProperty("ai.djl.default_engine", defaultEngine);
+        if (defaultEngine == null || defaultEngine.isEmpty()) {
+            return null;
+        }
+        return defaultEngine;
+    }
+
+    private static Engine loadEngine(EngineProvider provider) {
+        String engineName = provider.getEngineName();
+        Engine engine = LOADED_ENGINES.get(engineName);
+        if (engine != null) {
+            return engine;
+        }
+        synchronized (provider) {
+            engine = LOADED_ENGINES.get(engineName);
+            if (engine == null) {
+                long begin = System.nanoTime();
+                engine = provider.getEngine();
+                if (engine == null) {
+                    return null;
+                }
+                long duration = System.nanoTime() - begin;
+                INIT_TIMES.put(engineName, duration);
+                LOADED_ENGINES.put(engineName, engine);
+                if (logger.isDebugEnabled()) {
+                    logger.debug(
+                            "Engine {} initialized in {} ms.",
+                            engineName,
+                            String.format("%.3f", duration / 1_000_000f));
+                }
+            }
+        }
+        return engine;
+    }
+
     /**
      * Returns the name of the Engine.
      *
@@ -80,6 +128,9 @@ public abstract class Engine {
     /**
      * Returns the default Engine.
      *
+     * <p>If no default engine is configured and the first engine found fails to initialize, the
+     * next engine that initializes successfully is returned.
+     *
      * @return the instance of {@code Engine}
      * @see EngineProvider
      */
@@ -90,24 +141,55 @@ public abstract class Engine {
                             + System.lineSeparator()
                             + "Please refer to https://github.com/awslabs/djl/blob/master/docs/development/troubleshooting.md for more details.");
         }
-        return getEngine(System.getProperty("ai.djl.default_engine", DEFAULT_ENGINE));
+        if (getConfiguredDefaultEngine() != null) {
+            return getEngine(System.getProperty("ai.djl.default_engine", DEFAULT_ENGINE));
+        }
+        Engine engine = loadEngine(ALL_ENGINES.get(DEFAULT_ENGINE));
+        if (engine == null) {
+            for (EngineProvider provider : ALL_ENGINES.values()) {
+                engine = loadEngine(provider);
+                if (engine != null) {
+                    break;
+                }
+            }
+            if (engine == null) {
+                throw new EngineException("Failed to initialize any deep learning engine.");
+            }
+        }
+        return engine;
     }
 
     /**
      * Returns the {@code Engine} with the given name.
      *
+     * <p>The engine is initialized on the first call.
+     *
      * @param engineName the name of Engine to retrieve
      * @return the instance of {@code Engine}
+     * @throws EngineException if the engine fails to initialize
      * @see EngineProvider
      */
     public static Engine getEngine(String engineName) {
-        Engine engine = ALL_ENGINES.get(engineName);
-        if (engine == null) {
+        EngineProvider provider = ALL_ENGINES.get(engineName);
+        if (provider == null) {
             throw new IllegalArgumentException("Deep learning engine not found: " + engineName);
         }
+        Engine engine = loadEngine(provider);
+        if (engine == null) {
+            throw new EngineException("Failed to initialize deep learning engine: " + engineName);
+        }
         return engine;
     }
 
+    /**
+     * Returns the names of all the engines found in the classpath, without initializing them.
+     *
+     * @return the names of all the engines found
+     */
+    public static Set<String> getAllEngines() {
+        return Collections.unmodifiableSet(ALL_ENGINES.keySet());
+    }
+
     /**
      * Returns the version of the deep learning framework.
      *
@@ -165,9 +247,33 @@ public abstract class Engine {
      */
     public abstract void setRandomSeed(int seed);
 
+    /**
+     * Sets the number of threads the engine uses to run operators.
+     *
+     * <p>Intra-op threads parallelize the computation of a single operator, while inter-op threads
+     * run independent operators concurrently. When several predictors run in parallel threads,
+     * limiting both avoids that each of them competes for all the cores of the machine. The
+     * settings apply to the whole engine, a value that is not positive keeps the current setting.
+     *
+     * <p>Depending on the engine, some settings only take effect for models loaded afterwards, or
+     * only before the first operator is run.
+     *
+     * @param intraOpThreads the number of threads used within an operator
+     * @param interOpThreads the number of threads used to run operators concurrently
+     */
+    public void setNumThreads(int intraOpThreads, int interOpThreads) {
+        logger.warn("Engine {} does not support setting the number of threads.", getEngineName());
+    }
+
     /** Logs debug information about the environment for use when debugging environment issues. */
     public void debugEnvironment() {
         logger.info("Engine name: {}", getEngineName());
         logger.info("Engine version: {}", getVersion());
+        Long duration = INIT_TIMES.get(getEngineName());
+        if (duration != null) {
+            logger.info(
+                    "Engine initialization time: {} ms",
+                    String.format("%.3f", duration / 1_000_000f));
+        }
     }
 }
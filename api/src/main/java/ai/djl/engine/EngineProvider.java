@@ -17,7 +17,10 @@ package ai.djl.engine;
  * in the system.
  *
  * <p>At initialization time, the {@link java.util.ServiceLoader} will search for {@code
- * EngineProvider} implementations available in the class path.
+ * EngineProvider} implementations available in the class path. Discovery only asks each provider
+ * for its engine name, the {@link Engine} itself is created when it is first used. Providers
+ * should therefore be cheap to instantiate and defer loading any native library to {@link
+ * #getEngine()}.
  *
  * <p>{@link Engine} is designed as a collection of singletons. {@link Engine#getInstance()} will
  * return the default Engine, which is the first one found in the classpath. Many of the standard
@@ -27,10 +30,25 @@ package ai.djl.engine;
  */
 public interface EngineProvider {
 
+    /**
+     * Returns the name of the {@link Engine} this provider binds to, without creating the engine.
+     *
+     * <p>The default implementation creates the engine to get its name, providers should override
+     * it to keep discovery cheap.
+     *
+     * @return the name of the {@link Engine}, or {@code null} if the engine fails to initialize
+     */
+    default String getEngineName() {
+        Engine engine = getEngine();
+        return engine == null ? null : engine.getEngineName();
+    }
+
     /**
      * Returns the instance of the {@link Engine} class EngineProvider should bind to.
      *
-     * @return the instance of {@link Engine}
+     * <p>This is called the first time the engine is used.
+     *
+     * @return the instance of {@link Engine}, or {@code null} if the engine fails to initialize
      */
     Engine getEngine();
 }
@@ -18,6 +18,7 @@ import ai.djl.ndarray.LazyNDArray;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.nn.Block;
 import ai.djl.training.ParameterStore;
 import ai.djl.translate.Batchifier;
@@ -114,7 +115,28 @@ public class Predictor<I, O> implements AutoCloseable {
 
     private NDList predict(NDList ndList) {
         logger.trace("Predictor input data: {}", ndList);
-        return block.forward(parameterStore, ndList, false);
+        DataType dataType = model.getDataType();
+        if (dataType != DataType.FLOAT16) {
+            return block.forward(parameterStore, ndList, false);
+        }
+        // mixed precision inference, the translator keeps working with float32
+        NDList inputs = cast(ndList, DataType.FLOAT32, dataType);
+        NDList result = block.forward(parameterStore, inputs, false);
+        return cast(result, dataType, DataType.FLOAT32);
+    }
+
+    private static NDList cast(NDList list, DataType from, DataType to) {
+        NDList ret = new NDList(list.size());
+        for (NDArray array : list) {
+            if (array.getDataType() == from) {
+                NDArray cast = array.toType(to, false);
+                cast.setName(array.getName());
+                ret.add(cast);
+            } else {
+                ret.add(array);
+            }
+        }
+        return ret;
     }
 
     /**
@@ -82,7 +82,6 @@ public final class ImageVisualization {
         int imageHeight = image.getHeight();
         int x = (int) (mask.getX() * imageWidth);
         int y = (int) (mask.getY() * imageHeight);
-        float[][] probDist = mask.getProbDist();
         // Correct some coordinates of box when going out of image
         if (x < 0) {
             x = 0;
@@ -91,18 +90,34 @@ public final class ImageVisualization {
             y = 0;
         }
 
+        int maskWidth = mask.getMaskWidth();
+        int maskHeight = mask.getMaskHeight();
         BufferedImage maskImage =
-                new BufferedImage(probDist.length, probDist[0].length, BufferedImage.TYPE_INT_ARGB);
-        for (int xCor = 0; xCor < probDist.length; xCor++) {
-            for (int yCor = 0; yCor < probDist[xCor].length; yCor++) {
-                float opacity = probDist[xCor][yCor];
-                if (opacity < 0.1) {
-                    opacity = 0f;
+                new BufferedImage(maskWidth, maskHeight, BufferedImage.TYPE_INT_ARGB);
+        if (mask.isBinary()) {
+            int rgb = new Color(r, g, b, 0.8f).darker().getRGB();
+            int[] pixels = new int[maskWidth * maskHeight];
+            for (int yCor = 0; yCor < maskHeight; yCor++) {
+                for (int xCor = 0; xCor < maskWidth; xCor++) {
+                    if (mask.contains(xCor, yCor)) {
+                        pixels[yCor * maskWidth + xCor] = rgb;
+                    }
                 }
-                if (opacity > 0.8) {
-                    opacity = 0.8f;
+            }
+            maskImage.setRGB(0, 0, maskWidth, maskHeight, pixels, 0, maskWidth);
+        } else {
+            float[][] probDist = mask.getProbDist();
+            for (int xCor = 0; xCor < probDist.length; xCor++) {
+                for (int yCor = 0; yCor < probDist[xCor].length; yCor++) {
+                    float opacity = probDist[xCor][yCor];
+                    if (opacity < 0.1) {
+                        opacity = 0f;
+                    }
+                    if (opacity > 0.8) {
+                        opacity = 0.8f;
+                    }
+                    maskImage.setRGB(xCor, yCor, new Color(r, g, b, opacity).darker().getRGB());
                 }
-                maskImage.setRGB(xCor, yCor, new Color(r, g, b, opacity).darker().getRGB());
             }
         }
         Graphics2D gR = (Graphics2D) image.getGraphics();
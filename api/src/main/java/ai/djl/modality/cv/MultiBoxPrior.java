@@ -12,10 +12,15 @@
  */
 package ai.djl.modality.cv;
 
+import ai.djl.Device;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code MultiBoxPrior} is the class that generates anchor boxes that act as priors for object
@@ -34,14 +39,22 @@ import java.util.List;
  * <p>The number of anchor boxes generated depends on the number of sizes and aspect ratios. If the
  * number of sizes is \(n\) and the number of ratios is \(m\), the total number of boxes generated
  * per pixel is \(n + m - 1\).
+ *
+ * <p>The anchor boxes only depend on the height and width of the feature map, so {@code
+ * MultiBoxPrior} keeps the anchors it generated for the first {@code cacheSize} feature map sizes,
+ * data types and devices, and returns the same array instead of generating them again for every
+ * batch. The cached arrays are shared and owned by the {@code MultiBoxPrior}, and are released by
+ * {@link #close()}.
  */
-public class MultiBoxPrior {
+public class MultiBoxPrior implements AutoCloseable {
 
     private List<Float> sizes;
     private List<Float> ratios;
     private List<Float> steps;
     private List<Float> offsets;
     private boolean clip;
+    private int cacheSize;
+    private Map<AnchorKey, NDArray> cache;
 
     /**
      * Creates a new instance of {@code MultiBoxPrior} with the arguments from the given {@link
@@ -55,15 +68,58 @@ public class MultiBoxPrior {
         this.steps = builder.steps;
         this.offsets = builder.offsets;
         this.clip = builder.clip;
+        cacheSize = builder.cacheSize;
+        if (cacheSize > 0) {
+            cache = new ConcurrentHashMap<>();
+        }
     }
 
     /**
-     * Generates the anchorBoxes array in the input's manager and device.
+     * Generates the anchorBoxes array in the input's device.
      *
-     * @param input the input whose manager and device to put the generated boxes in
+     * <p>The returned array may be shared between calls and must not be closed or modified by the
+     * caller. A cached array is owned by this {@code MultiBoxPrior} and released by {@link
+     * #close()}. Once the cache is full, or if it is disabled, the array is attached to the input's
+     * manager instead.
+     *
+     * @param input the input whose device to put the generated boxes in
      * @return the generated boxes
      */
     public NDArray generateAnchorBoxes(NDArray input) {
+        if (cache == null) {
+            return generate(input);
+        }
+        AnchorKey key = new AnchorKey(input);
+        NDArray anchors = cache.get(key);
+        if (anchors != null) {
+            return anchors;
+        }
+        NDArray array = generate(input);
+        synchronized (this) {
+            anchors = cache.get(key);
+            if (anchors != null) {
+                array.close();
+                return anchors;
+            }
+            if (cache.size() < cacheSize) {
+                // the cached anchors outlive the manager of the input they were generated for
+                array.detach();
+                cache.put(key, array);
+            }
+        }
+        return array;
+    }
+
+    /** Releases the cached anchor boxes. */
+    @Override
+    public synchronized void close() {
+        if (cache != null) {
+            cache.values().forEach(NDArray::close);
+            cache.clear();
+        }
+    }
+
+    private NDArray generate(NDArray input) {
         return input.getNDArrayInternal().multiBoxPrior(sizes, ratios, steps, offsets, clip).head();
     }
 
@@ -84,6 +140,7 @@ public class MultiBoxPrior {
         List<Float> steps = Arrays.asList(-1f, -1f);
         List<Float> offsets = Arrays.asList(0.5f, 0.5f);
         boolean clip;
+        int cacheSize = 16;
 
         Builder() {}
 
@@ -144,6 +201,19 @@ public class MultiBoxPrior {
             return this;
         }
 
+        /**
+         * Sets the number of feature map sizes to keep the generated anchor boxes for. Defaults to
+         * 16, and 0 disables the cache. Once the cache is full, the anchor boxes of other sizes are
+         * generated for each call.
+         *
+         * @param cacheSize the number of feature map sizes to keep the anchor boxes for
+         * @return this {@code Builder}
+         */
+        public Builder optCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
         /**
          * Builds a {@link MultiBoxPrior} block.
          *
@@ -153,4 +223,40 @@ public class MultiBoxPrior {
             return new MultiBoxPrior(this);
         }
     }
+
+    /** The feature map size, data type and device the anchor boxes are generated for. */
+    private static final class AnchorKey {
+
+        private Shape shape;
+        private DataType dataType;
+        private Device device;
+
+        AnchorKey(NDArray input) {
+            Shape inputShape = input.getShape();
+            shape = inputShape.slice(inputShape.dimension() - 2);
+            dataType = input.getDataType();
+            device = input.getDevice();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AnchorKey)) {
+                return false;
+            }
+            AnchorKey other = (AnchorKey) o;
+            return shape.equals(other.shape)
+                    && dataType == other.dataType
+                    && device.equals(other.device);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return (shape.hashCode() * 31 + dataType.hashCode()) * 31 + device.hashCode();
+        }
+    }
 }
@@ -13,16 +13,24 @@
 package ai.djl.modality.cv.output;
 
 import java.awt.Graphics2D;
+import java.util.BitSet;
 
 /**
  * A mask with a probability for each pixel within a bounding rectangle.
  *
  * <p>This class is usually used to record the results of an Image Segmentation task.
+ *
+ * <p>A mask is either stored as a probability for each pixel, or, more compactly, as a binary mask
+ * with one bit per pixel. The bits are in row-major order, bit {@code y * maskWidth + x} is the
+ * pixel at column {@code x} and row {@code y} of the mask.
  */
 public class Mask extends Rectangle {
 
     private static final long serialVersionUID = 1L;
     private float[][] probDist;
+    private BitSet bits;
+    private int maskWidth;
+    private int maskHeight;
 
     /**
      * Constructs a Mask with the given data.
@@ -36,15 +44,116 @@ public class Mask extends Rectangle {
     public Mask(double x, double y, double width, double height, float[][] dist) {
         super(x, y, width, height);
         this.probDist = dist;
+        maskWidth = dist.length;
+        maskHeight = dist.length == 0 ? 0 : dist[0].length;
+    }
+
+    /**
+     * Constructs a binary Mask with the given data.
+     *
+     * @param x the left coordinate of the bounding rectangle
+     * @param y the top coordinate of the bounding rectangle
+     * @param width the width of the bounding rectangle
+     * @param height the height of the bounding rectangle
+     * @param maskWidth the width of the mask in pixels
+     * @param maskHeight the height of the mask in pixels
+     * @param bits the pixels of the mask, in row-major order
+     */
+    public Mask(
+            double x,
+            double y,
+            double width,
+            double height,
+            int maskWidth,
+            int maskHeight,
+            BitSet bits) {
+        super(x, y, width, height);
+        this.maskWidth = maskWidth;
+        this.maskHeight = maskHeight;
+        this.bits = bits;
     }
 
     /**
      * Returns the probability for each pixel.
      *
-     * @return the probability for each pixel
+     * <p>For a binary mask, the probabilities are 1 for the pixels of the mask and 0 otherwise,
+     * and the array is allocated on each call.
+     *
+     * @return the probability for each pixel, indexed by column then row
      */
     public float[][] getProbDist() {
-        return probDist;
+        if (probDist != null) {
+            return probDist;
+        }
+        float[][] dist = new float[maskWidth][maskHeight];
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            dist[i % maskWidth][i / maskWidth] = 1f;
+        }
+        return dist;
+    }
+
+    /**
+     * Returns the width of the mask in pixels.
+     *
+     * @return the width of the mask in pixels
+     */
+    public int getMaskWidth() {
+        return maskWidth;
+    }
+
+    /**
+     * Returns the height of the mask in pixels.
+     *
+     * @return the height of the mask in pixels
+     */
+    public int getMaskHeight() {
+        return maskHeight;
+    }
+
+    /**
+     * Returns whether this mask is stored as a binary mask.
+     *
+     * @return {@code true} if this mask is stored as a binary mask
+     */
+    public boolean isBinary() {
+        return bits != null;
+    }
+
+    /**
+     * Returns whether the given pixel belongs to the mask.
+     *
+     * <p>For a mask stored as probabilities, a pixel belongs to the mask if its probability is at
+     * least 0.5.
+     *
+     * @param x the column of the pixel in the mask
+     * @param y the row of the pixel in the mask
+     * @return {@code true} if the pixel belongs to the mask
+     */
+    public boolean contains(int x, int y) {
+        if (bits != null) {
+            return bits.get(y * maskWidth + x);
+        }
+        return probDist[x][y] >= 0.5f;
+    }
+
+    /**
+     * Returns the number of pixels that belong to the mask.
+     *
+     * @return the number of pixels that belong to the mask
+     */
+    public int getArea() {
+        if (bits != null) {
+            return bits.cardinality();
+        }
+        int area = 0;
+        for (int x = 0; x < maskWidth; ++x) {
+            for (int y = 0; y < maskHeight; ++y) {
+                if (probDist[x][y] >= 0.5f) {
+                    ++area;
+                }
+            }
+        }
+        return area;
     }
 
     /** {@inheritDoc} */
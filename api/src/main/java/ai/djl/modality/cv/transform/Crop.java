@@ -44,4 +44,20 @@ public class Crop implements Transform {
     public NDArray transform(NDArray array) {
         return NDImageUtils.crop(array, x, y, width, height);
     }
+
+    int getX() {
+        return x;
+    }
+
+    int getY() {
+        return y;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
 }
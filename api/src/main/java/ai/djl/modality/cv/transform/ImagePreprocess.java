@@ -0,0 +1,326 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv.transform;
+
+import ai.djl.modality.cv.util.NDImageUtils;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.translate.Transform;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Transform} that fuses {@link Resize}, {@link CenterCrop} (or {@link Crop}), {@link
+ * ToTensor} and {@link Normalize} into a single pass over the image.
+ *
+ * <p>The resize is done by the engine, exactly like {@link Resize}. The resized image of shape HWC
+ * is then read once, and the crop, HWC to CHW transpose, scaling to {@code [0, 1]} and per-channel
+ * normalization are computed together in Java while writing the output, with the same arithmetic as
+ * the engine operators. Only the final {@link DataType#FLOAT32} CHW {@link NDArray} is created,
+ * instead of one intermediate {@link NDArray} per step.
+ *
+ * <p>Inputs that cannot be handled in a single pass (batched NHWC images, unsupported data types,
+ * or a channel count that does not match the normalization parameters) fall back to applying the
+ * individual steps through {@link NDImageUtils}.
+ *
+ * <p>Fusion is opt-in: add an {@code ImagePreprocess} to a {@link ai.djl.translate.Pipeline}
+ * instead of the individual transforms, or explicitly {@link #fuse(List) fuse} a list of
+ * transforms.
+ *
+ * @see #fuse(List)
+ */
+public class ImagePreprocess implements Transform {
+
+    private int resizeWidth;
+    private int resizeHeight;
+    private boolean centerCrop;
+    private int cropX;
+    private int cropY;
+    private int cropWidth;
+    private int cropHeight;
+    private float[] mean;
+    private float[] std;
+
+    ImagePreprocess(Builder builder) {
+        resizeWidth = builder.resizeWidth;
+        resizeHeight = builder.resizeHeight;
+        centerCrop = builder.centerCrop;
+        cropX = builder.cropX;
+        cropY = builder.cropY;
+        cropWidth = builder.cropWidth;
+        cropHeight = builder.cropHeight;
+        mean = builder.mean;
+        std = builder.std;
+    }
+
+    /**
+     * Creates a builder to build an {@code ImagePreprocess}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Replaces every recognized sequence of image transforms in the given list with an equivalent
+     * {@code ImagePreprocess}.
+     *
+     * <p>A recognized sequence is an optional {@link Resize}, followed by an optional {@link
+     * CenterCrop} or {@link Crop}, followed by {@link ToTensor} and an optional {@link Normalize}.
+     * At least two transforms must be present for the sequence to be fused. Only these exact
+     * classes are recognized, subclasses may change their behavior and are never fused. All other
+     * transforms are kept in place.
+     *
+     * @param transforms the transforms that are applied in order to the same {@link NDArray}
+     * @return a new list of transforms, with the recognized sequences fused
+     */
+    public static List<Transform> fuse(List<Transform> transforms) {
+        List<Transform> fused = new ArrayList<>(transforms.size());
+        int size = transforms.size();
+        int i = 0;
+        while (i < size) {
+            Builder builder = builder();
+            int j = i;
+            if (j < size && transforms.get(j).getClass() == Resize.class) {
+                Resize resize = (Resize) transforms.get(j++);
+                builder.optResize(resize.getWidth(), resize.getHeight());
+            }
+            if (j < size && transforms.get(j).getClass() == CenterCrop.class) {
+                CenterCrop crop = (CenterCrop) transforms.get(j++);
+                builder.optCenterCrop(crop.getWidth(), crop.getHeight());
+            } else if (j < size && transforms.get(j).getClass() == Crop.class) {
+                Crop crop = (Crop) transforms.get(j++);
+                builder.optCrop(crop.getX(), crop.getY(), crop.getWidth(), crop.getHeight());
+            }
+            if (j < size && transforms.get(j).getClass() == ToTensor.class) {
+                ++j;
+                if (j < size && transforms.get(j).getClass() == Normalize.class) {
+                    Normalize normalize = (Normalize) transforms.get(j++);
+                    builder.optNormalize(normalize.getMean(), normalize.getStd());
+                }
+                if (j - i >= 2) {
+                    fused.add(builder.build());
+                    i = j;
+                    continue;
+                }
+            }
+            fused.add(transforms.get(i++));
+        }
+        return fused;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray transform(NDArray array) {
+        NDArray resized = array;
+        if (resizeWidth > 0) {
+            resized = NDImageUtils.resize(array, resizeWidth, resizeHeight);
+        }
+        Shape shape = resized.getShape();
+        DataType dataType = resized.getDataType();
+        if (shape.dimension() != 3
+                || shape.size() == 0
+                || (dataType != DataType.UINT8 && dataType != DataType.FLOAT32)
+                || (mean != null && mean.length != shape.get(2))) {
+            return transformUnfused(resized);
+        }
+
+        int height = (int) shape.get(0);
+        int width = (int) shape.get(1);
+        int channel = (int) shape.get(2);
+
+        // crop window, same rules as NDImageUtils.centerCrop and NDImageUtils.crop
+        int x = 0;
+        int y = 0;
+        int outWidth = width;
+        int outHeight = height;
+        if (centerCrop) {
+            int w = cropWidth;
+            int h = cropHeight;
+            if (w < 0) {
+                w = Math.min(width, height);
+                h = w;
+            }
+            int dw = (width - w) / 2;
+            int dh = (height - h) / 2;
+            if (dw > 0) {
+                x = dw;
+                outWidth = w;
+            }
+            if (dh > 0) {
+                y = dh;
+                outHeight = h;
+            }
+        } else if (cropWidth > 0) {
+            x = cropX;
+            y = cropY;
+            outWidth = Math.min(cropWidth, width - x);
+            outHeight = Math.min(cropHeight, height - y);
+        }
+        if (outWidth <= 0 || outHeight <= 0) {
+            return transformUnfused(resized);
+        }
+
+        ByteBuffer bb = resized.toByteBuffer();
+        FloatBuffer fb = dataType == DataType.FLOAT32 ? bb.asFloatBuffer() : null;
+        int rowStride = width * channel;
+        int plane = outHeight * outWidth;
+        float[] out = new float[channel * plane];
+        for (int h = 0; h < outHeight; ++h) {
+            int row = (y + h) * rowStride + x * channel;
+            for (int w = 0; w < outWidth; ++w) {
+                int pos = h * outWidth + w;
+                int col = row + w * channel;
+                for (int c = 0; c < channel; ++c) {
+                    // same operations as toTensor and normalize: x / 255, then (x - mean) / std
+                    float value = pixel(bb, fb, col + c) / 255f;
+                    if (mean != null) {
+                        value = (value - mean[c]) / std[c];
+                    }
+                    out[c * plane + pos] = value;
+                }
+            }
+        }
+        return array.getManager().create(out, new Shape(channel, outHeight, outWidth));
+    }
+
+    /** Applies the steps after the resize individually. */
+    private NDArray transformUnfused(NDArray resized) {
+        NDArray result = resized;
+        if (centerCrop) {
+            if (cropWidth < 0) {
+                result = NDImageUtils.centerCrop(result);
+            } else {
+                result = NDImageUtils.centerCrop(result, cropWidth, cropHeight);
+            }
+        } else if (cropWidth > 0) {
+            result = NDImageUtils.crop(result, cropX, cropY, cropWidth, cropHeight);
+        }
+        result = NDImageUtils.toTensor(result);
+        if (mean != null) {
+            result = NDImageUtils.normalize(result, mean, std);
+        }
+        return result;
+    }
+
+    private static float pixel(ByteBuffer bb, FloatBuffer fb, int index) {
+        if (fb != null) {
+            return fb.get(index);
+        }
+        return bb.get(index) & 0xFF;
+    }
+
+    /** The Builder to construct an {@link ImagePreprocess} type of {@link Transform}. */
+    public static final class Builder {
+
+        int resizeWidth = -1;
+        int resizeHeight = -1;
+        boolean centerCrop;
+        int cropX;
+        int cropY;
+        int cropWidth = -1;
+        int cropHeight = -1;
+        float[] mean;
+        float[] std;
+
+        Builder() {}
+
+        /**
+         * Sets the size to resize the image to before cropping.
+         *
+         * @param width the desired width
+         * @param height the desired height
+         * @return this builder
+         * @see Resize
+         */
+        public Builder optResize(int width, int height) {
+            this.resizeWidth = width;
+            this.resizeHeight = height;
+            return this;
+        }
+
+        /**
+         * Crops the center of the image to size {@code min(width, height)}.
+         *
+         * @return this builder
+         * @see CenterCrop
+         */
+        public Builder optCenterCrop() {
+            return optCenterCrop(-1, -1);
+        }
+
+        /**
+         * Crops the center of the image to the given width and height.
+         *
+         * @param width the desired width of the cropped image
+         * @param height the desired height of the cropped image
+         * @return this builder
+         * @see CenterCrop
+         */
+        public Builder optCenterCrop(int width, int height) {
+            this.centerCrop = true;
+            this.cropWidth = width;
+            this.cropHeight = height;
+            return this;
+        }
+
+        /**
+         * Crops the image to the given location and size.
+         *
+         * @param x the x coordinate of the top-left corner of the crop
+         * @param y the y coordinate of the top-left corner of the crop
+         * @param width the width of the cropped image
+         * @param height the height of the cropped image
+         * @return this builder
+         * @see Crop
+         */
+        public Builder optCrop(int x, int y, int width, int height) {
+            this.centerCrop = false;
+            this.cropX = x;
+            this.cropY = y;
+            this.cropWidth = width;
+            this.cropHeight = height;
+            return this;
+        }
+
+        /**
+         * Sets the mean and standard deviation to normalize the image tensor with.
+         *
+         * @param mean the mean to normalize with for each channel
+         * @param std the standard deviation to normalize with for each channel
+         * @return this builder
+         * @see Normalize
+         */
+        public Builder optNormalize(float[] mean, float[] std) {
+            if (mean.length != std.length) {
+                throw new IllegalArgumentException("mean and std must have the same length");
+            }
+            this.mean = mean;
+            this.std = std;
+            return this;
+        }
+
+        /**
+         * Builds the {@link ImagePreprocess}.
+         *
+         * @return the new {@link ImagePreprocess}
+         */
+        public ImagePreprocess build() {
+            return new ImagePreprocess(this);
+        }
+    }
+}
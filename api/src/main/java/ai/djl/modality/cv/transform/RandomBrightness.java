@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv.transform;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.translate.Transform;
+
+/**
+ * A {@link Transform} that randomly scales the brightness of an image of shape HWC or NHWC.
+ *
+ * <p>The brightness factor is drawn uniformly from {@code [max(0, 1 - brightness), 1 +
+ * brightness]}. When applied to a batch of shape NHWC, a factor is drawn for every sample and the
+ * whole batch is scaled with a single broadcast multiplication. Integer images are clipped to
+ * {@code [0, 255]} and keep their data type.
+ */
+public class RandomBrightness implements Transform {
+
+    private float brightness;
+
+    /**
+     * Creates a {@code RandomBrightness} {@link Transform}.
+     *
+     * @param brightness the maximum relative change of the brightness
+     */
+    public RandomBrightness(float brightness) {
+        this.brightness = brightness;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray transform(NDArray array) {
+        float low = Math.max(0f, 1f - brightness);
+        float high = 1f + brightness;
+        try (NDArray factor = RandomTransforms.uniform(array, low, high)) {
+            DataType dataType = array.getDataType();
+            if (dataType == DataType.FLOAT32) {
+                return array.mul(factor);
+            }
+            try (NDArray image = array.toType(DataType.FLOAT32, false);
+                    NDArray scaled = image.mul(factor)) {
+                if (dataType.isFloating()) {
+                    return scaled.toType(dataType, false);
+                }
+                try (NDArray clipped = scaled.clip(0, 255)) {
+                    return clipped.toType(dataType, false);
+                }
+            }
+        }
+    }
+}
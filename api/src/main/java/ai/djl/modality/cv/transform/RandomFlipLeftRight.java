@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv.transform;
+
+import ai.djl.modality.cv.util.NDImageUtils;
+import ai.djl.ndarray.NDArray;
+import ai.djl.translate.Transform;
+
+/**
+ * A {@link Transform} that randomly flips an image of shape HWC or NHWC horizontally.
+ *
+ * <p>When applied to a batch of shape NHWC, every sample is flipped independently with the given
+ * probability. Apply it before {@link ToTensor}, which converts the images to CHW.
+ *
+ * @see NDImageUtils#flipLeftRight(NDArray)
+ */
+public class RandomFlipLeftRight implements Transform {
+
+    private float probability;
+
+    /** Creates a {@code RandomFlipLeftRight} {@link Transform} that flips with probability 0.5. */
+    public RandomFlipLeftRight() {
+        this(0.5f);
+    }
+
+    /**
+     * Creates a {@code RandomFlipLeftRight} {@link Transform}.
+     *
+     * @param probability the probability of flipping each image
+     */
+    public RandomFlipLeftRight(float probability) {
+        this.probability = probability;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray transform(NDArray array) {
+        return RandomTransforms.select(array, NDImageUtils::flipLeftRight, probability);
+    }
+}
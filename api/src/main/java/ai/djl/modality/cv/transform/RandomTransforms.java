@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv.transform;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import java.util.function.Function;
+
+/** Helpers to draw per-sample random parameters for images of shape HWC or NHWC. */
+final class RandomTransforms {
+
+    private RandomTransforms() {}
+
+    /**
+     * Draws one uniform random value per sample, shaped to broadcast against the image tensor.
+     *
+     * @param array the HWC image or NHWC batch
+     * @param low the lower bound of the random values
+     * @param high the upper bound of the random values
+     * @return a float32 random {@link NDArray} of shape {@code (1, 1, 1)} or {@code (N, 1, 1, 1)}
+     */
+    static NDArray uniform(NDArray array, float low, float high) {
+        Shape shape = array.getShape();
+        Shape paramShape;
+        if (shape.dimension() == 4) {
+            paramShape = new Shape(shape.get(0), 1, 1, 1);
+        } else {
+            paramShape = new Shape(1, 1, 1);
+        }
+        return array.getManager().randomUniform(low, high, paramShape);
+    }
+
+    /**
+     * Applies the transform with the given probability, independently for every sample.
+     *
+     * <p>The random decisions stay on the device as a mask of shape {@code (1, 1, 1)} or {@code (N,
+     * 1, 1, 1)}, and the transformed and original samples are blended with it, so the batch is
+     * transformed with a few whole batch operations.
+     *
+     * @param array the original HWC image or NHWC batch
+     * @param transform the transform to apply to the selected samples
+     * @param probability the probability of transforming each sample
+     * @return the {@link NDArray} with the selected samples transformed
+     */
+    static NDArray select(NDArray array, Function<NDArray, NDArray> transform, float probability) {
+        DataType dataType = array.getDataType();
+        try (NDArray random = uniform(array, 0f, 1f);
+                NDArray selected = random.lt(probability);
+                NDArray kept = selected.logicalNot();
+                NDArray mask = selected.toType(dataType, false);
+                NDArray inverse = kept.toType(dataType, false);
+                NDArray transformed = transform.apply(array);
+                NDArray original = array.mul(inverse)) {
+            // one of the two terms is zero for every sample, so the sum is exact
+            return transformed.mul(mask).addi(original);
+        }
+    }
+}
@@ -48,4 +48,12 @@ public class Resize implements Transform {
     public NDArray transform(NDArray array) {
         return NDImageUtils.resize(array, width, height);
     }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
 }
@@ -16,6 +16,7 @@ import ai.djl.Model;
 import ai.djl.modality.cv.output.BoundingBox;
 import ai.djl.modality.cv.output.DetectedObjects;
 import ai.djl.modality.cv.output.Mask;
+import ai.djl.modality.cv.util.DetectionUtils;
 import ai.djl.modality.cv.util.NDImageUtils;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
@@ -28,6 +29,7 @@ import ai.djl.util.Utils;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -39,6 +41,7 @@ public class InstanceSegmentationTranslator extends BaseImageTranslator<Detected
 
     private String synsetArtifactName;
     private float threshold;
+    private float maskThreshold;
     private int shortEdge;
     private int maxEdge;
 
@@ -56,6 +59,7 @@ public class InstanceSegmentationTranslator extends BaseImageTranslator<Detected
         super(builder);
         synsetArtifactName = builder.synsetArtifactName;
         this.threshold = builder.threshold;
+        this.maskThreshold = builder.maskThreshold;
         this.shortEdge = builder.shortEdge;
         this.maxEdge = builder.maxEdge;
     }
@@ -88,8 +92,15 @@ public class InstanceSegmentationTranslator extends BaseImageTranslator<Detected
 
         float[] ids = list.get(0).toFloatArray();
         float[] scores = list.get(1).toFloatArray();
-        NDArray boundingBoxes = list.get(2);
+        float[] boxes = list.get(2).toFloatArray();
         NDArray masks = list.get(3);
+        Shape maskShape = masks.getShape();
+        int maskHeight = (int) maskShape.get(1);
+        int maskWidth = (int) maskShape.get(2);
+        // copy the masks of all instances at once
+        float[] maskData = masks.toFloatArray();
+        int originalWidth = (int) ctx.getAttachment("originalWidth");
+        int originalHeight = (int) ctx.getAttachment("originalHeight");
 
         List<String> retNames = new ArrayList<>();
         List<Double> retProbs = new ArrayList<>();
@@ -103,26 +114,25 @@ public class InstanceSegmentationTranslator extends BaseImageTranslator<Detected
                     throw new AssertionError("Unexpected index: " + classId);
                 }
                 String className = classes.get(classId);
-                float[] box = boundingBoxes.get(i).toFloatArray();
-                double x = box[0] / rescaledWidth;
-                double y = box[1] / rescaledHeight;
-                double w = box[2] / rescaledWidth - x;
-                double h = box[3] / rescaledHeight - y;
-
-                int maskW = (int) (w * (int) ctx.getAttachment("originalWidth"));
-                int maskH = (int) (h * (int) ctx.getAttachment("originalHeight"));
-
-                // Reshape mask to actual image bounding box shape.
-                NDArray array = masks.get(i);
-                Shape maskShape = array.getShape();
-                array = array.reshape(maskShape.addAll(new Shape(1)));
-                NDArray maskArray = NDImageUtils.resize(array, maskW, maskH).transpose();
-                float[] flattened = maskArray.toFloatArray();
-                float[][] maskFloat = new float[maskW][maskH];
-                for (int j = 0; j < maskW; j++) {
-                    System.arraycopy(flattened, j * maskH, maskFloat[j], 0, maskH);
-                }
-                Mask mask = new Mask(x, y, w, h, maskFloat);
+                int offset = i * 4;
+                double x = boxes[offset] / rescaledWidth;
+                double y = boxes[offset + 1] / rescaledHeight;
+                double w = boxes[offset + 2] / rescaledWidth - x;
+                double h = boxes[offset + 3] / rescaledHeight - y;
+
+                // Resize mask to actual image bounding box shape.
+                int maskW = Math.max(1, (int) (w * originalWidth));
+                int maskH = Math.max(1, (int) (h * originalHeight));
+                BitSet bits =
+                        DetectionUtils.resizeMask(
+                                maskData,
+                                i * maskWidth * maskHeight,
+                                maskWidth,
+                                maskHeight,
+                                maskW,
+                                maskH,
+                                maskThreshold);
+                Mask mask = new Mask(x, y, w, h, maskW, maskH, bits);
 
                 retNames.add(className);
                 retProbs.add(probability);
@@ -168,6 +178,7 @@ public class InstanceSegmentationTranslator extends BaseImageTranslator<Detected
 
         String synsetArtifactName;
         float threshold = 0.3f;
+        float maskThreshold = 0.5f;
         int shortEdge = 600;
         int maxEdge = 1000;
 
@@ -199,6 +210,17 @@ public class InstanceSegmentationTranslator extends BaseImageTranslator<Detected
             return this;
         }
 
+        /**
+         * Sets the probability that a pixel must reach to belong to the mask of an instance.
+         *
+         * @param maskThreshold the threshold for the mask pixels
+         * @return the builder
+         */
+        public Builder optMaskThreshold(float maskThreshold) {
+            this.maskThreshold = maskThreshold;
+            return this;
+        }
+
         /**
          * Sets the shorter edge length of the rescaled image.
          *
@@ -14,10 +14,12 @@ package ai.djl.modality.cv.translator;
 
 import ai.djl.Model;
 import ai.djl.modality.cv.output.DetectedObjects;
+import ai.djl.modality.cv.util.DetectionUtils;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 import ai.djl.util.Utils;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -31,6 +33,8 @@ public abstract class ObjectDetectionTranslator extends BaseImageTranslator<Dete
     protected List<String> classes;
     protected double imageWidth;
     protected double imageHeight;
+    protected float nmsThreshold;
+    protected int maxDetections;
 
     /**
      * Creates the {@link ObjectDetectionTranslator} from the given builder.
@@ -44,6 +48,8 @@ public abstract class ObjectDetectionTranslator extends BaseImageTranslator<Dete
         this.classes = builder.classes;
         this.imageWidth = builder.imageWidth;
         this.imageHeight = builder.imageHeight;
+        this.nmsThreshold = builder.nmsThreshold;
+        this.maxDetections = builder.maxDetections;
     }
 
     /** {@inheritDoc} */
@@ -54,6 +60,34 @@ public abstract class ObjectDetectionTranslator extends BaseImageTranslator<Dete
         }
     }
 
+    /**
+     * Selects the detections to return from the flat model outputs.
+     *
+     * <p>Detections of a negative (background) class or with a score below the threshold are
+     * dropped. If a NMS threshold is set, class-aware non-maximum suppression is applied to the
+     * rest.
+     *
+     * @param classIds the class of each detection
+     * @param scores the score of each detection
+     * @param boxes the boxes of the detections, four floats per box
+     * @return the indices of the selected detections, by descending score
+     * @see DetectionUtils
+     */
+    protected int[] selectDetections(int[] classIds, float[] scores, float[] boxes) {
+        float[] candidateScores = new float[scores.length];
+        for (int i = 0; i < scores.length; ++i) {
+            candidateScores[i] = classIds[i] < 0 ? Float.NEGATIVE_INFINITY : scores[i];
+        }
+        int[] candidates = DetectionUtils.topK(candidateScores, -1, threshold);
+        if (nmsThreshold > 0) {
+            return DetectionUtils.nms(boxes, classIds, candidates, nmsThreshold, maxDetections);
+        }
+        if (maxDetections > 0 && candidates.length > maxDetections) {
+            return Arrays.copyOf(candidates, maxDetections);
+        }
+        return candidates;
+    }
+
     /** The base builder for the object detection translator. */
     @SuppressWarnings("rawtypes")
     public abstract static class BaseBuilder<T extends BaseBuilder>
@@ -64,6 +98,8 @@ public abstract class ObjectDetectionTranslator extends BaseImageTranslator<Dete
         protected List<String> classes;
         protected double imageWidth;
         protected double imageHeight;
+        protected float nmsThreshold;
+        protected int maxDetections;
 
         /** {@inheritDoc} */
         @Override
@@ -133,6 +169,32 @@ public abstract class ObjectDetectionTranslator extends BaseImageTranslator<Dete
             return self();
         }
 
+        /**
+         * Sets the IoU threshold of the non-maximum suppression applied to the detections.
+         *
+         * <p>By default, no suppression is applied, which is right for models that already
+         * include it.
+         *
+         * @param nmsThreshold the maximum intersection over union of two detections of the same
+         *     class
+         * @return this builder
+         */
+        public T optNmsThreshold(float nmsThreshold) {
+            this.nmsThreshold = nmsThreshold;
+            return self();
+        }
+
+        /**
+         * Sets the maximum number of detections to return for an image.
+         *
+         * @param maxDetections the maximum number of detections to return
+         * @return this builder
+         */
+        public T optMaxDetections(int maxDetections) {
+            this.maxDetections = maxDetections;
+            return self();
+        }
+
         /**
          * Get threshold.
          *
@@ -15,7 +15,6 @@ package ai.djl.modality.cv.translator;
 import ai.djl.modality.cv.output.BoundingBox;
 import ai.djl.modality.cv.output.DetectedObjects;
 import ai.djl.modality.cv.output.Rectangle;
-import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.translate.TranslatorContext;
 import java.io.IOException;
@@ -40,35 +39,37 @@ public class SingleShotDetectionTranslator extends ObjectDetectionTranslator {
     /** {@inheritDoc} */
     @Override
     public DetectedObjects processOutput(TranslatorContext ctx, NDList list) throws IOException {
-        float[] classIds = list.get(0).toFloatArray();
+        float[] classes = list.get(0).toFloatArray();
         float[] probabilities = list.get(1).toFloatArray();
-        NDArray boundingBoxes = list.get(2);
-
-        List<String> retNames = new ArrayList<>();
-        List<Double> retProbs = new ArrayList<>();
-        List<BoundingBox> retBB = new ArrayList<>();
-
-        for (int i = 0; i < classIds.length; ++i) {
-            int classId = (int) classIds[i];
-            double probability = probabilities[i];
-            // classId starts from 0, -1 means background
-            if (classId >= 0 && probability > threshold) {
-                if (classId >= classes.size()) {
-                    throw new AssertionError("Unexpected index: " + classId);
-                }
-                String className = classes.get(classId);
-                float[] box = boundingBoxes.get(i).toFloatArray();
-                // rescale box coordinates by imageWidth and imageHeight
-                double x = imageWidth > 0 ? box[0] / imageWidth : box[0];
-                double y = imageHeight > 0 ? box[1] / imageHeight : box[1];
-                double w = imageWidth > 0 ? box[2] / imageWidth - x : box[2] - x;
-                double h = imageHeight > 0 ? box[3] / imageHeight - y : box[3] - y;
+        float[] boxes = list.get(2).toFloatArray();
+        int[] classIds = new int[classes.length];
+        for (int i = 0; i < classes.length; ++i) {
+            classIds[i] = (int) classes[i];
+        }
 
-                Rectangle rect = new Rectangle(x, y, w, h);
-                retNames.add(className);
-                retProbs.add(probability);
-                retBB.add(rect);
+        // classId starts from 0, -1 means background
+        int[] selected = selectDetections(classIds, probabilities, boxes);
+        List<String> retNames = new ArrayList<>(selected.length);
+        List<Double> retProbs = new ArrayList<>(selected.length);
+        List<BoundingBox> retBB = new ArrayList<>(selected.length);
+        for (int i : selected) {
+            int classId = classIds[i];
+            if (classId >= this.classes.size()) {
+                throw new AssertionError("Unexpected index: " + classId);
             }
+            String className = this.classes.get(classId);
+            int offset = i * 4;
+            // rescale box coordinates by imageWidth and imageHeight
+            double x = imageWidth > 0 ? boxes[offset] / imageWidth : boxes[offset];
+            double y = imageHeight > 0 ? boxes[offset + 1] / imageHeight : boxes[offset + 1];
+            double w = imageWidth > 0 ? boxes[offset + 2] / imageWidth - x : boxes[offset + 2] - x;
+            double h =
+                    imageHeight > 0 ? boxes[offset + 3] / imageHeight - y : boxes[offset + 3] - y;
+
+            Rectangle rect = new Rectangle(x, y, w, h);
+            retNames.add(className);
+            retProbs.add((double) probabilities[i]);
+            retBB.add(rect);
         }
 
         return new DetectedObjects(retNames, retProbs, retBB);
@@ -15,7 +15,6 @@ package ai.djl.modality.cv.translator;
 import ai.djl.modality.cv.output.BoundingBox;
 import ai.djl.modality.cv.output.DetectedObjects;
 import ai.djl.modality.cv.output.Rectangle;
-import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.translate.TranslatorContext;
@@ -38,35 +37,31 @@ public class YoloTranslator extends ObjectDetectionTranslator {
     @Override
     public DetectedObjects processOutput(TranslatorContext ctx, NDList list) throws Exception {
         int[] classIndices = list.get(0).toType(DataType.INT32, true).flatten().toIntArray();
-        double[] probs = list.get(1).toType(DataType.FLOAT64, true).flatten().toDoubleArray();
-        NDArray boundingBoxes = list.get(2);
-        int detected = Math.toIntExact(probs.length);
+        float[] probs = list.get(1).toType(DataType.FLOAT32, true).flatten().toFloatArray();
+        float[] boxes = list.get(2).toType(DataType.FLOAT32, true).toFloatArray();
 
-        NDArray xMin = boundingBoxes.get(":, 0").clip(0, imageWidth).div(imageWidth);
-        NDArray yMin = boundingBoxes.get(":, 1").clip(0, imageHeight).div(imageHeight);
-        NDArray xMax = boundingBoxes.get(":, 2").clip(0, imageWidth).div(imageWidth);
-        NDArray yMax = boundingBoxes.get(":, 3").clip(0, imageHeight).div(imageHeight);
-
-        float[] boxX = xMin.toFloatArray();
-        float[] boxY = yMin.toFloatArray();
-        float[] boxWidth = xMax.sub(xMin).toFloatArray();
-        float[] boxHeight = yMax.sub(yMin).toFloatArray();
-
-        List<String> retClasses = new ArrayList<>(detected);
-        List<Double> retProbs = new ArrayList<>(detected);
-        List<BoundingBox> retBB = new ArrayList<>(detected);
-        for (int i = 0; i < detected; i++) {
-            if (classIndices[i] < 0 || probs[i] < threshold) {
-                continue;
-            }
+        int[] selected = selectDetections(classIndices, probs, boxes);
+        List<String> retClasses = new ArrayList<>(selected.length);
+        List<Double> retProbs = new ArrayList<>(selected.length);
+        List<BoundingBox> retBB = new ArrayList<>(selected.length);
+        for (int i : selected) {
+            int offset = i * 4;
+            double xMin = clip(boxes[offset], imageWidth);
+            double yMin = clip(boxes[offset + 1], imageHeight);
+            double xMax = clip(boxes[offset + 2], imageWidth);
+            double yMax = clip(boxes[offset + 3], imageHeight);
             retClasses.add(classes.get(classIndices[i]));
-            retProbs.add(probs[i]);
-            Rectangle rect = new Rectangle(boxX[i], boxY[i], boxWidth[i], boxHeight[i]);
+            retProbs.add((double) probs[i]);
+            Rectangle rect = new Rectangle(xMin, yMin, xMax - xMin, yMax - yMin);
             retBB.add(rect);
         }
         return new DetectedObjects(retClasses, retProbs, retBB);
     }
 
+    private static double clip(float value, double size) {
+        return Math.max(0, Math.min(value, size)) / size;
+    }
+
     /**
      * Creates a builder to build a {@link YoloTranslator}.
      *
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv.util;
+
+import java.util.BitSet;
+
+/**
+ * {@code DetectionUtils} post-processes object detection outputs on flat Java arrays.
+ *
+ * <p>The model outputs are copied once into primitive arrays, and candidate selection, box
+ * decoding and non-maximum suppression run on those arrays without creating an {@link
+ * ai.djl.ndarray.NDArray} per box. Boxes are stored as {@code [xMin, yMin, xMax, yMax]}, four
+ * consecutive floats per box.
+ */
+public final class DetectionUtils {
+
+    private DetectionUtils() {}
+
+    /**
+     * Returns the indices of the {@code k} highest scores above a threshold, by descending score.
+     *
+     * <p>The candidates are selected with a bounded heap in O(n log k), without sorting all scores.
+     *
+     * @param scores the scores
+     * @param k the maximum number of indices to return, or a non-positive value for no limit
+     * @param threshold the score that a candidate must exceed
+     * @return the indices of the highest scores, by descending score
+     */
+    public static int[] topK(float[] scores, int k, float threshold) {
+        int capacity = k > 0 ? Math.min(k, scores.length) : scores.length;
+        // a min-heap of candidate indices, the lowest score at the root
+        int[] heap = new int[capacity];
+        int size = 0;
+        for (int i = 0; i < scores.length; ++i) {
+            float score = scores[i];
+            if (!(score > threshold)) {
+                continue;
+            }
+            if (size < capacity) {
+                heap[size] = i;
+                siftUp(heap, size++, scores);
+            } else if (score > scores[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        int[] ret = new int[size];
+        for (int i = size - 1; i >= 0; --i) {
+            ret[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return ret;
+    }
+
+    /**
+     * Runs greedy non-maximum suppression over candidate boxes.
+     *
+     * <p>A candidate is dropped if it overlaps a kept box of the same class by more than the IoU
+     * threshold. With {@code classIds} set to {@code null}, boxes of all classes suppress each
+     * other.
+     *
+     * @param boxes the boxes, four floats per box
+     * @param classIds the class of each box, or {@code null} for class agnostic suppression
+     * @param candidates the indices of the candidate boxes, by descending score
+     * @param iouThreshold the maximum intersection over union of two kept boxes
+     * @param maxDetections the maximum number of boxes to keep, or a non-positive value for no
+     *     limit
+     * @return the indices of the kept boxes, by descending score
+     */
+    public static int[] nms(
+            float[] boxes,
+            int[] classIds,
+            int[] candidates,
+            float iouThreshold,
+            int maxDetections) {
+        int limit = maxDetections > 0 ? maxDetections : candidates.length;
+        int[] kept = new int[Math.min(limit, candidates.length)];
+        float[] areas = new float[candidates.length];
+        int count = 0;
+        for (int c = 0; c < candidates.length && count < kept.length; ++c) {
+            int i = candidates[c];
+            float area = area(boxes, i);
+            boolean suppressed = false;
+            for (int k = 0; k < count; ++k) {
+                int j = kept[k];
+                if (classIds != null && classIds[i] != classIds[j]) {
+                    continue;
+                }
+                if (iou(boxes, i, area, j, areas[k]) > iouThreshold) {
+                    suppressed = true;
+                    break;
+                }
+            }
+            if (!suppressed) {
+                areas[count] = area;
+                kept[count++] = i;
+            }
+        }
+        if (count == kept.length) {
+            return kept;
+        }
+        int[] ret = new int[count];
+        System.arraycopy(kept, 0, ret, 0, count);
+        return ret;
+    }
+
+    /**
+     * Returns the intersection over union of two boxes.
+     *
+     * @param boxes the boxes, four floats per box
+     * @param i the index of the first box
+     * @param j the index of the second box
+     * @return the intersection over union of the boxes
+     */
+    public static float iou(float[] boxes, int i, int j) {
+        return iou(boxes, i, area(boxes, i), j, area(boxes, j));
+    }
+
+    /**
+     * Decodes box offsets predicted relative to anchor boxes, as produced by single shot
+     * detectors.
+     *
+     * <p>The offsets are {@code [dx, dy, dw, dh]} per box, scaled by the variances, relative to the
+     * center and size of the anchor.
+     *
+     * @param anchors the anchor boxes, four floats per box
+     * @param offsets the predicted offsets, four floats per box
+     * @param variances the variances of the offsets, four floats
+     * @param clip whether to clip the decoded boxes to {@code [0, 1]}
+     * @return the decoded boxes, four floats per box
+     */
+    public static float[] decodeBoxes(
+            float[] anchors, float[] offsets, float[] variances, boolean clip) {
+        float[] boxes = new float[offsets.length];
+        for (int i = 0; i < offsets.length; i += 4) {
+            float anchorWidth = anchors[i + 2] - anchors[i];
+            float anchorHeight = anchors[i + 3] - anchors[i + 1];
+            float anchorX = anchors[i] + anchorWidth / 2;
+            float anchorY = anchors[i + 1] + anchorHeight / 2;
+            float x = offsets[i] * variances[0] * anchorWidth + anchorX;
+            float y = offsets[i + 1] * variances[1] * anchorHeight + anchorY;
+            float halfWidth = (float) Math.exp(offsets[i + 2] * variances[2]) * anchorWidth / 2;
+            float halfHeight = (float) Math.exp(offsets[i + 3] * variances[3]) * anchorHeight / 2;
+            boxes[i] = x - halfWidth;
+            boxes[i + 1] = y - halfHeight;
+            boxes[i + 2] = x + halfWidth;
+            boxes[i + 3] = y + halfHeight;
+            if (clip) {
+                for (int j = i; j < i + 4; ++j) {
+                    boxes[j] = Math.max(0f, Math.min(1f, boxes[j]));
+                }
+            }
+        }
+        return boxes;
+    }
+
+    /**
+     * Resizes a mask of probabilities with bilinear interpolation and thresholds it into a binary
+     * mask.
+     *
+     * <p>The mask is read from a flat array that may hold several masks, such as the masks of all
+     * instances copied from the model output at once. Pixels are in row-major order.
+     *
+     * @param masks the array holding the mask
+     * @param offset the index of the first pixel of the mask in the array
+     * @param srcWidth the width of the mask
+     * @param srcHeight the height of the mask
+     * @param width the width to resize the mask to
+     * @param height the height to resize the mask to
+     * @param threshold the probability that a pixel must reach to belong to the mask
+     * @return the bits of the resized mask, in row-major order
+     */
+    public static BitSet resizeMask(
+            float[] masks,
+            int offset,
+            int srcWidth,
+            int srcHeight,
+            int width,
+            int height,
+            float threshold) {
+        int[] x0 = new int[width];
+        float[] xw = new float[width];
+        sampling(srcWidth, width, x0, xw);
+        int[] y0 = new int[height];
+        float[] yw = new float[height];
+        sampling(srcHeight, height, y0, yw);
+
+        BitSet bits = new BitSet(width * height);
+        for (int y = 0; y < height; ++y) {
+            int row0 = offset + y0[y] * srcWidth;
+            int row1 = y0[y] + 1 < srcHeight ? row0 + srcWidth : row0;
+            float wy = yw[y];
+            for (int x = 0; x < width; ++x) {
+                int col0 = x0[x];
+                int col1 = col0 + 1 < srcWidth ? col0 + 1 : col0;
+                float wx = xw[x];
+                float top = masks[row0 + col0] + (masks[row0 + col1] - masks[row0 + col0]) * wx;
+                float bottom =
+                        masks[row1 + col0] + (masks[row1 + col1] - masks[row1 + col0]) * wx;
+                if (top + (bottom - top) * wy >= threshold) {
+                    bits.set(y * width + x);
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Computes the lower source index and weight of a bilinear resize from {@code srcSize} to
+     * {@code dstSize}, using pixel center alignment.
+     */
+    private static void sampling(int srcSize, int dstSize, int[] index, float[] weight) {
+        float ratio = (float) srcSize / dstSize;
+        for (int i = 0; i < dstSize; ++i) {
+            float pos = Math.max(0f, (i + 0.5f) * ratio - 0.5f);
+            int low = Math.min((int) pos, srcSize - 1);
+            index[i] = low;
+            weight[i] = low < srcSize - 1 ? pos - low : 0f;
+        }
+    }
+
+    private static float area(float[] boxes, int i) {
+        int offset = i * 4;
+        float width = boxes[offset + 2] - boxes[offset];
+        float height = boxes[offset + 3] - boxes[offset + 1];
+        return width > 0 && height > 0 ? width * height : 0f;
+    }
+
+    private static float iou(float[] boxes, int i, float areaI, int j, float areaJ) {
+        int a = i * 4;
+        int b = j * 4;
+        float width = Math.min(boxes[a + 2], boxes[b + 2]) - Math.max(boxes[a], boxes[b]);
+        if (width <= 0) {
+            return 0f;
+        }
+        float height = Math.min(boxes[a + 3], boxes[b + 3]) - Math.max(boxes[a + 1], boxes[b + 1]);
+        if (height <= 0) {
+            return 0f;
+        }
+        float intersection = width * height;
+        return intersection / (areaI + areaJ - intersection);
+    }
+
+    private static void siftUp(int[] heap, int pos, float[] scores) {
+        int item = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[item]) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int item = heap[0];
+        int pos = 0;
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                ++child;
+            }
+            if (scores[item] <= scores[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = item;
+    }
+}
@@ -160,6 +160,26 @@ public final class NDImageUtils {
         return image.getNDArrayInternal().crop(x, y, width, height);
     }
 
+    /**
+     * Flips an image of shape HWC or a batch of images of shape NHWC horizontally.
+     *
+     * @param image the image to flip
+     * @return the flipped image
+     */
+    public static NDArray flipLeftRight(NDArray image) {
+        return image.getNDArrayInternal().flip(image.getShape().dimension() - 2);
+    }
+
+    /**
+     * Flips an image of shape HWC or a batch of images of shape NHWC vertically.
+     *
+     * @param image the image to flip
+     * @return the flipped image
+     */
+    public static NDArray flipTopBottom(NDArray image) {
+        return image.getNDArrayInternal().flip(image.getShape().dimension() - 3);
+    }
+
     /** Flag indicates the color channel options for images. */
     public enum Flag {
         GRAYSCALE,
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.training.ParameterStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code BeamSearch} generates sequences with a {@link Decoder} one token at a time, using greedy
+ * or beam search.
+ *
+ * <p>The decoder states are carried from step to step with {@link Decoder#step(ParameterStore,
+ * NDList, NDList)}, which the decoder must override, so every step only runs the decoder on the
+ * newest token. All beams of all sequences of a batch run in a single forward pass per step. A beam
+ * is finished when it produces the end-of-sequence token, and a sequence is finished once it has as
+ * many finished beams as the beam size. Finished sequences are removed from the batch of the next
+ * step.
+ *
+ * <p>With a beam size of 1, the search is greedy: the token with the highest score is chosen on
+ * the device, and only the chosen token indices are copied to Java.
+ */
+public class BeamSearch {
+
+    private static final float NEG_INF = -1e9f;
+
+    private int beamSize;
+    private int maxLength;
+    private long bosIndex;
+    private long eosIndex;
+    private float lengthPenalty;
+
+    BeamSearch(Builder builder) {
+        beamSize = builder.beamSize;
+        maxLength = builder.maxLength;
+        bosIndex = builder.bosIndex;
+        eosIndex = builder.eosIndex;
+        lengthPenalty = builder.lengthPenalty;
+    }
+
+    /**
+     * Creates a builder to build a {@code BeamSearch}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Encodes a batch of sequences and generates an output sequence for each of them.
+     *
+     * @param parameterStore the parameter store
+     * @param model the encoder-decoder model
+     * @param encoderInputs the encoder inputs, with the batch on axis 0
+     * @return the token indices of the output sequence of each input, without the begin and end of
+     *     sequence tokens
+     */
+    public List<long[]> search(
+            ParameterStore parameterStore, EncoderDecoder model, NDList encoderInputs) {
+        Encoder encoder = model.getEncoder();
+        NDList encoderOutputs = encoder.forward(parameterStore, encoderInputs, false);
+        int batchSize = (int) encoderInputs.head().getShape().get(0);
+        NDList states = encoder.getStates(encoderOutputs);
+        return search(parameterStore, model.getDecoder(), states, batchSize);
+    }
+
+    /**
+     * Generates an output sequence for each sequence of a batch, starting from the given decoder
+     * states.
+     *
+     * @param parameterStore the parameter store
+     * @param decoder the decoder
+     * @param states the initial decoder states
+     * @param batchSize the number of sequences
+     * @return the token indices of the output sequence of each input, without the begin and end of
+     *     sequence tokens
+     */
+    public List<long[]> search(
+            ParameterStore parameterStore, Decoder decoder, NDList states, int batchSize) {
+        try (NDManager manager = states.head().getManager().newSubManager()) {
+            if (beamSize == 1) {
+                return greedy(manager, parameterStore, decoder, states, batchSize);
+            }
+            return beam(manager, parameterStore, decoder, states, batchSize);
+        }
+    }
+
+    private List<long[]> greedy(
+            NDManager manager,
+            ParameterStore parameterStore,
+            Decoder decoder,
+            NDList states,
+            int batchSize) {
+        long[][] tokens = new long[batchSize][maxLength];
+        int[] lengths = new int[batchSize];
+        // the sequence of each row of the batch
+        int[] rows = new int[batchSize];
+        float[] last = new float[batchSize];
+        for (int i = 0; i < batchSize; ++i) {
+            rows[i] = i;
+            last[i] = bosIndex;
+        }
+        int size = batchSize;
+        for (int step = 0; step < maxLength && size > 0; ++step) {
+            NDArray input = manager.create(Arrays.copyOf(last, size), new Shape(size, 1));
+            NDList output = decoder.step(parameterStore, new NDList(input), states);
+            NDArray scores = output.head().reshape(size, -1);
+            long[] next = scores.argMax(1).toType(DataType.INT64, false).toLongArray();
+            states = output.subNDList(1);
+
+            int[] keep = new int[size];
+            int kept = 0;
+            for (int r = 0; r < size; ++r) {
+                if (next[r] == eosIndex) {
+                    continue;
+                }
+                int sequence = rows[r];
+                tokens[sequence][lengths[sequence]++] = next[r];
+                rows[kept] = sequence;
+                last[kept] = next[r];
+                keep[kept++] = r;
+            }
+            if (kept > 0 && kept < size) {
+                states = decoder.selectStates(states, Arrays.copyOf(keep, kept));
+            }
+            size = kept;
+        }
+        List<long[]> ret = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; ++i) {
+            ret.add(Arrays.copyOf(tokens[i], lengths[i]));
+        }
+        return ret;
+    }
+
+    private List<long[]> beam(
+            NDManager manager,
+            ParameterStore parameterStore,
+            Decoder decoder,
+            NDList states,
+            int batchSize) {
+        int k = beamSize;
+        Hypothesis[] best = new Hypothesis[batchSize];
+        int[] finishedCount = new int[batchSize];
+
+        // the active sequences, and for each row of the batch its tokens and score
+        int[] active = new int[batchSize];
+        int[] expand = new int[batchSize * k];
+        long[][] history = new long[batchSize * k][];
+        float[] beamScores = new float[batchSize * k];
+        for (int i = 0; i < batchSize; ++i) {
+            active[i] = i;
+            for (int j = 0; j < k; ++j) {
+                expand[i * k + j] = i;
+                history[i * k + j] = new long[0];
+                // only the first beam is live until the beams diverge
+                beamScores[i * k + j] = j == 0 ? 0 : NEG_INF;
+            }
+        }
+        states = decoder.selectStates(states, expand);
+        int numActive = batchSize;
+
+        int[] candidateRows = new int[2 * k];
+        long[] candidateTokens = new long[2 * k];
+        float[] candidateScores = new float[2 * k];
+        for (int step = 0; step < maxLength && numActive > 0; ++step) {
+            int size = numActive * k;
+            float[] last = new float[size];
+            for (int r = 0; r < size; ++r) {
+                last[r] = step == 0 ? bosIndex : history[r][step - 1];
+            }
+            NDArray input = manager.create(last, new Shape(size, 1));
+            NDList output = decoder.step(parameterStore, new NDList(input), states);
+            float[] logProbs = output.head().reshape(size, -1).logSoftmax(1).toFloatArray();
+            int vocabSize = logProbs.length / size;
+            NDList newStates = output.subNDList(1);
+
+            int[] sources = new int[size];
+            long[][] nextHistory = new long[size][];
+            float[] nextScores = new float[size];
+            int rows = 0;
+            int nextActive = 0;
+            boolean finalStep = step == maxLength - 1;
+            for (int a = 0; a < numActive; ++a) {
+                int sequence = active[a];
+                int count =
+                        topCandidates(
+                                logProbs,
+                                beamScores,
+                                a * k,
+                                vocabSize,
+                                candidateRows,
+                                candidateTokens,
+                                candidateScores);
+                int live = 0;
+                for (int c = 0; c < count && live < k; ++c) {
+                    int row = candidateRows[c];
+                    if (candidateTokens[c] == eosIndex) {
+                        offer(best, finishedCount, sequence, history[row], candidateScores[c]);
+                        continue;
+                    }
+                    long[] tokens = Arrays.copyOf(history[row], step + 1);
+                    tokens[step] = candidateTokens[c];
+                    sources[rows + live] = row;
+                    nextHistory[rows + live] = tokens;
+                    nextScores[rows + live] = candidateScores[c];
+                    ++live;
+                }
+                if (finalStep) {
+                    for (int j = 0; j < live; ++j) {
+                        long[] tokens = nextHistory[rows + j];
+                        offer(best, finishedCount, sequence, tokens, nextScores[rows + j]);
+                    }
+                    continue;
+                }
+                if (live == 0 || finishedCount[sequence] >= k) {
+                    continue;
+                }
+                for (int j = live; j < k; ++j) {
+                    // pad the beams of a sequence with fewer live candidates than the beam size
+                    sources[rows + j] = sources[rows];
+                    nextHistory[rows + j] = nextHistory[rows];
+                    nextScores[rows + j] = NEG_INF;
+                }
+                active[nextActive++] = sequence;
+                rows += k;
+            }
+            numActive = nextActive;
+            if (numActive > 0) {
+                states = decoder.selectStates(newStates, Arrays.copyOf(sources, rows));
+                history = nextHistory;
+                beamScores = nextScores;
+            }
+        }
+        List<long[]> ret = new ArrayList<>(batchSize);
+        for (Hypothesis hypothesis : best) {
+            ret.add(hypothesis == null ? new long[0] : hypothesis.tokens);
+        }
+        return ret;
+    }
+
+    /**
+     * Finds the best {@code 2 * beamSize} candidates of the beams of a sequence, by descending
+     * score, and returns their number.
+     */
+    private int topCandidates(
+            float[] logProbs,
+            float[] beamScores,
+            int firstRow,
+            int vocabSize,
+            int[] rows,
+            long[] tokens,
+            float[] scores) {
+        int capacity = rows.length;
+        int count = 0;
+        for (int row = firstRow; row < firstRow + beamSize; ++row) {
+            float beamScore = beamScores[row];
+            if (beamScore <= NEG_INF) {
+                continue;
+            }
+            int offset = row * vocabSize;
+            for (int v = 0; v < vocabSize; ++v) {
+                float score = beamScore + logProbs[offset + v];
+                if (count == capacity && score <= scores[count - 1]) {
+                    continue;
+                }
+                int pos = count == capacity ? count - 1 : count++;
+                while (pos > 0 && scores[pos - 1] < score) {
+                    rows[pos] = rows[pos - 1];
+                    tokens[pos] = tokens[pos - 1];
+                    scores[pos] = scores[pos - 1];
+                    --pos;
+                }
+                rows[pos] = row;
+                tokens[pos] = v;
+                scores[pos] = score;
+            }
+        }
+        return count;
+    }
+
+    private void offer(
+            Hypothesis[] best, int[] finishedCount, int sequence, long[] tokens, float score) {
+        float normalized = score;
+        if (lengthPenalty != 0) {
+            normalized /= (float) Math.pow(tokens.length + 1, lengthPenalty);
+        }
+        ++finishedCount[sequence];
+        if (best[sequence] == null || normalized > best[sequence].score) {
+            best[sequence] = new Hypothesis(tokens, normalized);
+        }
+    }
+
+    private static final class Hypothesis {
+
+        long[] tokens;
+        float score;
+
+        Hypothesis(long[] tokens, float score) {
+            this.tokens = tokens;
+            this.score = score;
+        }
+    }
+
+    /** The Builder to construct a {@link BeamSearch}. */
+    public static final class Builder {
+
+        int beamSize = 1;
+        int maxLength = 50;
+        long bosIndex = -1;
+        long eosIndex = -1;
+        float lengthPenalty;
+
+        Builder() {}
+
+        /**
+         * Sets the number of beams of each sequence. A beam size of 1 is a greedy search.
+         *
+         * @param beamSize the number of beams of each sequence
+         * @return this builder
+         */
+        public Builder optBeamSize(int beamSize) {
+            this.beamSize = beamSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tokens to generate for a sequence.
+         *
+         * @param maxLength the maximum number of tokens to generate
+         * @return this builder
+         */
+        public Builder optMaxLength(int maxLength) {
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        /**
+         * Sets the index of the begin-of-sequence token, which is the first decoder input.
+         *
+         * @param bosIndex the index of the begin-of-sequence token
+         * @return this builder
+         */
+        public Builder setBosIndex(long bosIndex) {
+            this.bosIndex = bosIndex;
+            return this;
+        }
+
+        /**
+         * Sets the index of the end-of-sequence token, which finishes a beam.
+         *
+         * @param eosIndex the index of the end-of-sequence token
+         * @return this builder
+         */
+        public Builder setEosIndex(long eosIndex) {
+            this.eosIndex = eosIndex;
+            return this;
+        }
+
+        /**
+         * Sets the exponent of the length normalization of the beam scores.
+         *
+         * <p>The score of a finished beam is its summed log probability divided by {@code
+         * length^lengthPenalty}. The default of 0 does not normalize, and favors short outputs.
+         *
+         * @param lengthPenalty the exponent of the length normalization
+         * @return this builder
+         */
+        public Builder optLengthPenalty(float lengthPenalty) {
+            this.lengthPenalty = lengthPenalty;
+            return this;
+        }
+
+        /**
+         * Builds the {@link BeamSearch}.
+         *
+         * @return the new {@link BeamSearch}
+         */
+        public BeamSearch build() {
+            if (bosIndex < 0 || eosIndex < 0) {
+                throw new IllegalArgumentException("The bos and eos indices must be set");
+            }
+            if (beamSize < 1 || maxLength < 1) {
+                throw new IllegalArgumentException("beamSize and maxLength must be positive");
+            }
+            return new BeamSearch(this);
+        }
+    }
+}
@@ -13,6 +13,7 @@
 package ai.djl.modality.nlp;
 
 import ai.djl.MalformedModelException;
+import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
@@ -54,6 +55,49 @@ public abstract class Decoder extends AbstractBlock {
      */
     public abstract void initState(NDList encoderStates);
 
+    /**
+     * Runs a single decoding step with explicit states, for incremental decoding.
+     *
+     * <p>The inputs hold one token per sequence, with shape {@code (batch, 1)}. The returned {@link
+     * NDList} holds the scores over the vocabulary, with shape {@code (batch, 1, vocabSize)},
+     * followed by the states to pass to the next step.
+     *
+     * <p>{@link BeamSearch} requires decoders to override this method. The default implementation
+     * does not support incremental decoding.
+     *
+     * @param parameterStore the parameter store
+     * @param inputs the tokens of the current step
+     * @param states the states returned by the previous step, or the initial states of the
+     *     decoder
+     * @return the scores followed by the new states
+     * @throws UnsupportedOperationException if the decoder does not support incremental decoding
+     * @see BeamSearch
+     */
+    public NDList step(ParameterStore parameterStore, NDList inputs, NDList states) {
+        throw new UnsupportedOperationException("Incremental decoding is not supported");
+    }
+
+    /**
+     * Selects the states of the given sequences of a batch, in the given order.
+     *
+     * <p>The same sequence can be selected more than once. The default implementation expects the
+     * layout of the {@link ai.djl.nn.recurrent.RecurrentBlock} states, where the batch is on axis
+     * 1, and takes the selected sequences along that axis.
+     *
+     * @param states the states returned by {@link #step(ParameterStore, NDList, NDList)}
+     * @param indices the indices of the sequences to select
+     * @return the states of the selected sequences
+     */
+    public NDList selectStates(NDList states, int[] indices) {
+        NDList ret = new NDList(states.size());
+        try (NDArray index = states.head().getManager().create(indices)) {
+            for (NDArray state : states) {
+                ret.add(state.getNDArrayInternal().take(index, 1));
+            }
+        }
+        return ret;
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDList forward(
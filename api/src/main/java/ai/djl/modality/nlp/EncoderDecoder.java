@@ -51,6 +51,24 @@ public class EncoderDecoder extends AbstractBlock {
         this.decoder = decoder;
     }
 
+    /**
+     * Returns the {@link Encoder} of this {@code EncoderDecoder}.
+     *
+     * @return the encoder
+     */
+    public Encoder getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * Returns the {@link Decoder} of this {@code EncoderDecoder}.
+     *
+     * @return the decoder
+     */
+    public Decoder getDecoder() {
+        return decoder;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PairList<String, Shape> describeInput() {
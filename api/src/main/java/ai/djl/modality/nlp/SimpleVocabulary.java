@@ -12,22 +12,27 @@
  */
 package ai.djl.modality.nlp;
 
-import java.util.ArrayList;
+import ai.djl.util.ItemIndex;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
-/** The simple implementation of Vocabulary. */
+/**
+ * The simple implementation of Vocabulary.
+ *
+ * <p>Indices are assigned deterministically once all tokens have been counted: the unknown token
+ * gets index 0, followed by the reserved tokens in the order they were added, followed by the
+ * tokens that occur at least {@code minFrequency} times, sorted by descending frequency and then
+ * alphabetically.
+ */
 public class SimpleVocabulary implements Vocabulary {
 
-    private Map<String, TokenInfo> tokens = new ConcurrentHashMap<>();
-    private List<String> indexToToken = new ArrayList<>();
+    private ItemIndex<String> tokens;
     private Set<String> reservedTokens;
-    private int minFrequency;
     private String unknownToken;
 
     /**
@@ -36,31 +41,30 @@ public class SimpleVocabulary implements Vocabulary {
      * @param builder the {@link VocabularyBuilder} to build the vocabulary with
      */
     public SimpleVocabulary(VocabularyBuilder builder) {
-        reservedTokens = builder.reservedTokens;
-        minFrequency = builder.minFrequency;
+        reservedTokens = new LinkedHashSet<>();
+        reservedTokens.add(builder.unknownToken);
+        reservedTokens.addAll(builder.reservedTokens);
+        int minFrequency = builder.minFrequency;
         unknownToken = builder.unknownToken;
-        reservedTokens.add(unknownToken);
-        for (List<String> sentence : builder.sentences) {
-            addAllTokens(sentence);
-        }
-    }
-
-    private void addToken(String token) {
-        if (reservedTokens.contains(token)) {
-            return;
-        }
-        TokenInfo tokenInfo = tokens.getOrDefault(token, new TokenInfo());
-        if (++tokenInfo.frequency >= minFrequency) {
-            tokenInfo.index = indexToToken.size();
-            indexToToken.add(token);
-        }
-        tokens.put(token, tokenInfo);
-    }
 
-    private void addAllTokens(Collection<String> tokens) {
-        for (String token : tokens) {
-            addToken(token);
+        TokenCounter counter = builder.counter;
+        String[] frequent =
+                Arrays.stream(counter.tokens())
+                        .parallel()
+                        .filter(t -> !reservedTokens.contains(t))
+                        .filter(t -> counter.count(t) >= minFrequency)
+                        .sorted(
+                                Comparator.comparingLong((String t) -> -counter.count(t))
+                                        .thenComparing(Comparator.naturalOrder()))
+                        .toArray(String[]::new);
+
+        String[] indexToToken = new String[reservedTokens.size() + frequent.length];
+        int index = 0;
+        for (String token : reservedTokens) {
+            indexToToken[index++] = token;
         }
+        System.arraycopy(frequent, 0, indexToToken, index, frequent.length);
+        tokens = ItemIndex.of(indexToToken);
     }
 
     /**
@@ -70,13 +74,7 @@ public class SimpleVocabulary implements Vocabulary {
      * @return whether the given token is a known word
      */
     public boolean isKnownToken(String token) {
-        if (reservedTokens.contains(token)) {
-            return true;
-        }
-        if (!tokens.containsKey(token)) {
-            return false;
-        }
-        return tokens.get(token).frequency >= minFrequency;
+        return tokens.contains(token);
     }
 
     /**
@@ -96,24 +94,19 @@ public class SimpleVocabulary implements Vocabulary {
      */
     @Override
     public String getToken(long index) {
-        if (index < 0 || index >= indexToToken.size()) {
+        if (index < 0 || index >= tokens.indexSize()) {
             return unknownToken;
         }
-        return indexToToken.get((int) index);
+        return tokens.get((int) index);
     }
 
     /**
      * Returns all the tokens in the vocabulary.
      *
-     * @return the token corresponding to the given index
+     * @return all the tokens in the vocabulary, in index order
      */
     public List<String> getAllTokens() {
-        Set<String> tokenSet = new HashSet<>(indexToToken);
-        List<String> tokenList = new ArrayList<>();
-        tokenList.addAll(reservedTokens);
-        tokenSet.removeAll(reservedTokens);
-        tokenList.addAll(tokenSet);
-        return tokenList;
+        return tokens.toList();
     }
 
     /**
@@ -124,10 +117,8 @@ public class SimpleVocabulary implements Vocabulary {
      */
     @Override
     public long getIndex(String token) {
-        if (tokens.containsKey(token)) {
-            return tokens.get(token).index;
-        }
-        return 0;
+        int index = tokens.indexOf(token);
+        return index < 0 ? 0 : index;
     }
 
     /**
@@ -139,12 +130,20 @@ public class SimpleVocabulary implements Vocabulary {
         return tokens.size();
     }
 
-    /** Builder class that is used to build the {@link SimpleVocabulary}. */
+    /**
+     * Builder class that is used to build the {@link SimpleVocabulary}.
+     *
+     * <p>Sentences are counted as soon as they are added and are not kept by the builder. Large
+     * lists and parallel streams are counted concurrently, with one open-addressing counter per
+     * thread that is merged at the end.
+     */
     public static class VocabularyBuilder {
-        protected List<List<String>> sentences = new LinkedList<>();
-        protected Set<String> reservedTokens = new HashSet<>();
+        private static final int PARALLEL_THRESHOLD = 1024;
+
+        protected Set<String> reservedTokens = new LinkedHashSet<>();
         protected int minFrequency = 10;
         protected String unknownToken = "<unk>";
+        TokenCounter counter = new TokenCounter();
 
         /**
          * Sets the optional parameter that specifies the minimum frequency to consider a token to
@@ -188,7 +187,7 @@ public class SimpleVocabulary implements Vocabulary {
          * @return this {@code VocabularyBuilder}
          */
         public VocabularyBuilder add(List<String> sentence) {
-            this.sentences.add(sentence);
+            counter.addAll(sentence);
             return this;
         }
 
@@ -199,7 +198,28 @@ public class SimpleVocabulary implements Vocabulary {
          * @return this {@code VocabularyBuilder}
          */
         public VocabularyBuilder addAll(List<List<String>> sentences) {
-            this.sentences.addAll(sentences);
+            if (sentences.size() < PARALLEL_THRESHOLD) {
+                for (List<String> sentence : sentences) {
+                    counter.addAll(sentence);
+                }
+                return this;
+            }
+            return addAll(sentences.parallelStream());
+        }
+
+        /**
+         * Adds the sentences of the given stream to the {@link SimpleVocabulary}.
+         *
+         * <p>The stream is consumed without collecting the sentences, so a corpus can be streamed
+         * from disk. If the stream is parallel, the tokens are counted concurrently.
+         *
+         * @param sentences the stream of sentences to be added
+         * @return this {@code VocabularyBuilder}
+         */
+        public VocabularyBuilder addAll(Stream<List<String>> sentences) {
+            TokenCounter streamCounter =
+                    sentences.collect(TokenCounter::new, TokenCounter::addAll, TokenCounter::merge);
+            counter.merge(streamCounter);
             return this;
         }
 
@@ -212,15 +232,4 @@ public class SimpleVocabulary implements Vocabulary {
             return new SimpleVocabulary(this);
         }
     }
-
-    /**
-     * {@code TokenInfo} represents the information stored in the {@link SimpleVocabulary} about a
-     * given token.
-     */
-    private static final class TokenInfo {
-        int frequency;
-        long index = -1;
-
-        public TokenInfo() {}
-    }
 }
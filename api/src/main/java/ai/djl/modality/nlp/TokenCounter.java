@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp;
+
+import java.util.Collection;
+
+/**
+ * {@code TokenCounter} counts token frequencies in an open-addressing hash table.
+ *
+ * <p>Keys and counts are kept in two parallel arrays with linear probing, so counting a token does
+ * not allocate any entry or boxed value. A {@code TokenCounter} is not thread safe; parallel
+ * counting uses one counter per thread and {@link #merge(TokenCounter) merges} them afterwards.
+ */
+final class TokenCounter {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private String[] keys;
+    private long[] counts;
+    private int size;
+    private int mask;
+
+    TokenCounter() {
+        keys = new String[INITIAL_CAPACITY];
+        counts = new long[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+    }
+
+    /**
+     * Counts one occurrence of the given token.
+     *
+     * @param token the token to count
+     */
+    void add(String token) {
+        add(token, 1);
+    }
+
+    /**
+     * Counts all tokens of the given sentence.
+     *
+     * @param sentence the tokens to count
+     */
+    void addAll(Collection<String> sentence) {
+        for (String token : sentence) {
+            add(token, 1);
+        }
+    }
+
+    /**
+     * Adds all counts of another counter into this counter.
+     *
+     * @param other the counter to merge
+     */
+    void merge(TokenCounter other) {
+        String[] otherKeys = other.keys;
+        long[] otherCounts = other.counts;
+        for (int i = 0; i < otherKeys.length; ++i) {
+            if (otherKeys[i] != null) {
+                add(otherKeys[i], otherCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of distinct tokens counted.
+     *
+     * @return the number of distinct tokens counted
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the distinct tokens counted, in no particular order.
+     *
+     * @return the distinct tokens counted
+     */
+    String[] tokens() {
+        String[] ret = new String[size];
+        int j = 0;
+        for (String key : keys) {
+            if (key != null) {
+                ret[j++] = key;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the frequency of the given token.
+     *
+     * @param token the token
+     * @return the frequency of the token, or 0 if it was never counted
+     */
+    long count(String token) {
+        int slot = find(token);
+        return keys[slot] == null ? 0 : counts[slot];
+    }
+
+    private void add(String token, long count) {
+        int slot = find(token);
+        if (keys[slot] == null) {
+            keys[slot] = token;
+            if (++size * 2 > keys.length) {
+                rehash();
+                slot = find(token);
+            }
+        }
+        counts[slot] += count;
+    }
+
+    private int find(String token) {
+        int slot = mix(token.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(token)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        String[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new String[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldKeys[i] != null) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
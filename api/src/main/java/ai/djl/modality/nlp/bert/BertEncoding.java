@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.bert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code BertEncoding} is the WordPiece encoding of a question and paragraph pair for BERT.
+ *
+ * <p>Unlike {@link BertToken}, it holds the token indices, token types and attention mask directly
+ * in primitive arrays, which can be passed to {@link ai.djl.ndarray.NDManager#create(long[],
+ * ai.djl.ndarray.types.Shape)} as is. The token strings are only materialized on demand with
+ * {@link #getTokens(int, int)}.
+ *
+ * @see BertTokenizer#encodeIds(String, String, int)
+ */
+public class BertEncoding {
+
+    private long[] tokenIds;
+    private long[] tokenTypes;
+    private long[] attentionMask;
+    private int validLength;
+    private int[] starts;
+    private int[] ends;
+    private String question;
+    private String paragraph;
+    private BertVocabulary vocabulary;
+    private long unknownId;
+
+    BertEncoding(
+            long[] tokenIds,
+            long[] tokenTypes,
+            long[] attentionMask,
+            int validLength,
+            int[] starts,
+            int[] ends,
+            String question,
+            String paragraph,
+            BertVocabulary vocabulary,
+            long unknownId) {
+        this.tokenIds = tokenIds;
+        this.tokenTypes = tokenTypes;
+        this.attentionMask = attentionMask;
+        this.validLength = validLength;
+        this.starts = starts;
+        this.ends = ends;
+        this.question = question;
+        this.paragraph = paragraph;
+        this.vocabulary = vocabulary;
+        this.unknownId = unknownId;
+    }
+
+    /**
+     * Returns the indices of the input sequence tokens in the vocabulary, including padding.
+     *
+     * @return the indices of the input sequence tokens
+     */
+    public long[] getTokenIds() {
+        return tokenIds;
+    }
+
+    /**
+     * Returns the segment indices, 0 for the question and 1 for the paragraph.
+     *
+     * @return the segment indices
+     */
+    public long[] getTokenTypes() {
+        return tokenTypes;
+    }
+
+    /**
+     * Returns the mask that is 1 for real tokens and 0 for padding tokens.
+     *
+     * @return the attention mask
+     */
+    public long[] getAttentionMask() {
+        return attentionMask;
+    }
+
+    /**
+     * Returns the number of question and paragraph tokens, excluding special and padding tokens.
+     *
+     * @return the number of question and paragraph tokens
+     */
+    public int getValidLength() {
+        return validLength;
+    }
+
+    /**
+     * Returns the length of the encoded sequence, including special and padding tokens.
+     *
+     * @return the length of the encoded sequence
+     */
+    public int length() {
+        return tokenIds.length;
+    }
+
+    /**
+     * Returns the tokens in the given range of the encoded sequence.
+     *
+     * <p>WordPiece tokens are returned as they appear in the vocabulary. Tokens that are unknown to
+     * the vocabulary are returned with their original text.
+     *
+     * @param fromIndex the index of the first token, inclusive
+     * @param toIndex the index of the last token, exclusive
+     * @return the tokens in the given range
+     */
+    public List<String> getTokens(int fromIndex, int toIndex) {
+        List<String> tokens = new ArrayList<>(Math.max(toIndex - fromIndex, 0));
+        for (int i = fromIndex; i < toIndex; ++i) {
+            if (starts[i] >= 0 && tokenIds[i] == unknownId) {
+                String text = tokenTypes[i] == 0 ? question : paragraph;
+                tokens.add(text.substring(starts[i], ends[i]));
+            } else {
+                tokens.add(vocabulary.getToken(tokenIds[i]));
+            }
+        }
+        return tokens;
+    }
+}
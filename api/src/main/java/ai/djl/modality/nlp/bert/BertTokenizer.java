@@ -15,16 +15,47 @@ package ai.djl.modality.nlp.bert;
 import ai.djl.modality.nlp.preprocess.SimpleTokenizer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-/** BertTokenizer is a class to help you encode question and paragraph sentence. */
+/**
+ * BertTokenizer is a class to help you encode question and paragraph sentence.
+ *
+ * <p>When created with a {@link BertVocabulary}, {@link #encodeIds(String, String, int)} splits the
+ * input into words and punctuation and then into WordPiece sub-words with a greedy longest match
+ * over the vocabulary trie. The token indices are written straight into primitive arrays, without
+ * creating a string per token.
+ */
 public class BertTokenizer extends SimpleTokenizer {
 
     private static final Pattern PATTERN = Pattern.compile("(\\S+?)([.,?!])?(\\s+|$)");
+    private static final int MAX_CHARS_PER_WORD = 100;
+
+    private BertVocabulary vocabulary;
+    private long unknownId;
+    private long clsId;
+    private long sepId;
+    private long padId;
+
+    /** Creates a {@code BertTokenizer} that only supports whitespace and punctuation splitting. */
+    public BertTokenizer() {}
+
+    /**
+     * Creates a {@code BertTokenizer} that supports WordPiece encoding with the given vocabulary.
+     *
+     * @param vocabulary the WordPiece vocabulary
+     */
+    public BertTokenizer(BertVocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+        unknownId = vocabulary.getIndex("[UNK]");
+        clsId = vocabulary.getIndex("[CLS]");
+        sepId = vocabulary.getIndex("[SEP]");
+        padId = vocabulary.getIndex("[PAD]");
+    }
 
     /** {@inheritDoc} */
     @Override
@@ -111,4 +142,243 @@ public class BertTokenizer extends SimpleTokenizer {
                 pad(bertToken.getAttentionMask(), 0L, maxLength),
                 bertToken.getValidLength());
     }
+
+    /**
+     * Encodes a question and paragraph into WordPiece token indices.
+     *
+     * <p>The sequence is {@code [CLS] question [SEP] paragraph [SEP]}. If {@code maxLength} is
+     * positive, the paragraph is truncated so that the sequence fits, and the sequence is padded
+     * with {@code [PAD]} up to {@code maxLength}. A question that leaves no room for the paragraph
+     * is truncated to half of {@code maxLength}.
+     *
+     * @param question the input question
+     * @param paragraph the input paragraph
+     * @param maxLength the length to truncate and pad to, or 0 to keep the natural length
+     * @return the {@link BertEncoding}
+     * @throws IllegalStateException if this tokenizer was created without a vocabulary
+     * @throws IllegalArgumentException if {@code maxLength} is 1 or 2
+     */
+    public BertEncoding encodeIds(String question, String paragraph, int maxLength) {
+        IdBuffer questionBuf = encodeQuestion(question, maxLength);
+        IdBuffer paragraphBuf = encodeParagraph(paragraph);
+        int available = paragraphBuf.size;
+        if (maxLength > 0) {
+            available = Math.max(Math.min(available, maxLength - questionBuf.size - 1), 0);
+        }
+        return window(questionBuf, paragraphBuf, 0, available, maxLength, question, paragraph);
+    }
+
+    /**
+     * Encodes a question and a long paragraph into overlapping windows of WordPiece token indices.
+     *
+     * <p>Each window is {@code [CLS] question [SEP] paragraph-span [SEP]} and is at most {@code
+     * maxLength} long. Consecutive paragraph spans start {@code docStride} tokens apart, so that an
+     * answer cut by the end of one window is complete in the next one. Windows are not padded. A
+     * question that leaves no room for the paragraph is truncated to half of {@code maxLength}.
+     *
+     * @param question the input question
+     * @param paragraph the input paragraph
+     * @param maxLength the maximum length of a window, or 0 for a single window of natural length
+     * @param docStride the distance in tokens between the start of consecutive paragraph spans
+     * @return the windows, in paragraph order
+     * @throws IllegalStateException if this tokenizer was created without a vocabulary
+     * @throws IllegalArgumentException if {@code maxLength} is 1 or 2
+     */
+    public List<BertEncoding> encodeWindows(
+            String question, String paragraph, int maxLength, int docStride) {
+        IdBuffer questionBuf = encodeQuestion(question, maxLength);
+        IdBuffer paragraphBuf = encodeParagraph(paragraph);
+        int total = paragraphBuf.size;
+        int available = maxLength > 0 ? maxLength - questionBuf.size - 1 : total;
+        if (available >= total || available <= 0) {
+            int to = Math.max(Math.min(total, available), 0);
+            return Collections.singletonList(
+                    window(questionBuf, paragraphBuf, 0, to, 0, question, paragraph));
+        }
+        int stride = Math.max(Math.min(docStride, available), 1);
+        List<BertEncoding> windows = new ArrayList<>(total / stride + 1);
+        for (int from = 0; ; from += stride) {
+            int to = Math.min(from + available, total);
+            windows.add(window(questionBuf, paragraphBuf, from, to, 0, question, paragraph));
+            if (to == total) {
+                return windows;
+            }
+        }
+    }
+
+    private IdBuffer encodeQuestion(String question, int maxLength) {
+        if (vocabulary == null) {
+            throw new IllegalStateException("BertTokenizer was created without a vocabulary");
+        }
+        IdBuffer buf = new IdBuffer(question.length() + 2);
+        buf.add(clsId, -1, -1);
+        wordpiece(vocabulary.getTrie(), question, buf);
+        if (maxLength > 0 && buf.size + 2 >= maxLength) {
+            // a question that leaves no room for the paragraph is cut to half of the sequence
+            if (maxLength < 3) {
+                throw new IllegalArgumentException("maxLength must be at least 3: " + maxLength);
+            }
+            buf.size = Math.max(maxLength / 2, 2) - 1;
+        }
+        buf.add(sepId, -1, -1);
+        return buf;
+    }
+
+    private IdBuffer encodeParagraph(String paragraph) {
+        IdBuffer buf = new IdBuffer(paragraph.length() + 1);
+        wordpiece(vocabulary.getTrie(), paragraph, buf);
+        return buf;
+    }
+
+    private BertEncoding window(
+            IdBuffer questionBuf,
+            IdBuffer paragraphBuf,
+            int from,
+            int to,
+            int maxLength,
+            String question,
+            String paragraph) {
+        int questionLength = questionBuf.size;
+        int size = questionLength + to - from + 1;
+        int length = Math.max(maxLength, size);
+        long[] tokenIds = new long[length];
+        long[] tokenTypes = new long[length];
+        long[] attentionMask = new long[length];
+        int[] starts = new int[length];
+        int[] ends = new int[length];
+        System.arraycopy(questionBuf.ids, 0, tokenIds, 0, questionLength);
+        System.arraycopy(questionBuf.starts, 0, starts, 0, questionLength);
+        System.arraycopy(questionBuf.ends, 0, ends, 0, questionLength);
+        System.arraycopy(paragraphBuf.ids, from, tokenIds, questionLength, to - from);
+        System.arraycopy(paragraphBuf.starts, from, starts, questionLength, to - from);
+        System.arraycopy(paragraphBuf.ends, from, ends, questionLength, to - from);
+        tokenIds[size - 1] = sepId;
+        Arrays.fill(starts, size - 1, length, -1);
+        Arrays.fill(ends, size - 1, length, -1);
+        Arrays.fill(tokenIds, size, length, padId);
+        Arrays.fill(tokenTypes, questionLength, size, 1);
+        Arrays.fill(attentionMask, 0, size, 1);
+        return new BertEncoding(
+                tokenIds,
+                tokenTypes,
+                attentionMask,
+                size - 3,
+                starts,
+                ends,
+                question,
+                paragraph,
+                vocabulary,
+                unknownId);
+    }
+
+    private void wordpiece(WordpieceTrie trie, String text, IdBuffer buf) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isISOControl(c)) {
+                ++i;
+                continue;
+            }
+            int end = i + 1;
+            if (!isPunctuation(c)) {
+                while (end < length) {
+                    char next = text.charAt(end);
+                    if (Character.isWhitespace(next)
+                            || Character.isISOControl(next)
+                            || isPunctuation(next)) {
+                        break;
+                    }
+                    ++end;
+                }
+            }
+            wordpieceWord(trie, text, i, end, buf);
+            i = end;
+        }
+    }
+
+    private void wordpieceWord(WordpieceTrie trie, String text, int start, int end, IdBuffer buf) {
+        int mark = buf.size;
+        if (end - start <= MAX_CHARS_PER_WORD) {
+            int pos = start;
+            int root = trie.root();
+            while (pos < end) {
+                int node = root;
+                int matchEnd = -1;
+                int matchId = WordpieceTrie.NONE;
+                for (int i = pos; i < end && node != WordpieceTrie.NONE; ++i) {
+                    node = trie.child(node, text.charAt(i));
+                    if (node != WordpieceTrie.NONE && trie.tokenId(node) != WordpieceTrie.NONE) {
+                        matchEnd = i + 1;
+                        matchId = trie.tokenId(node);
+                    }
+                }
+                if (matchId == WordpieceTrie.NONE) {
+                    break;
+                }
+                buf.add(matchId, pos, matchEnd);
+                pos = matchEnd;
+                root = trie.continuationRoot();
+                if (root == WordpieceTrie.NONE && pos < end) {
+                    break;
+                }
+            }
+            if (pos == end) {
+                return;
+            }
+        }
+        // the word cannot be split into known pieces
+        buf.size = mark;
+        buf.add(unknownId, start, end);
+    }
+
+    private static boolean isPunctuation(char c) {
+        if ((c >= 33 && c <= 47) || (c >= 58 && c <= 64) || (c >= 91 && c <= 96)) {
+            return true;
+        }
+        if (c >= 123 && c <= 126) {
+            return true;
+        }
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return Character.UnicodeBlock.of(c)
+                        == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS;
+        }
+    }
+
+    /** A growable buffer of token indices and their character offsets. */
+    private static final class IdBuffer {
+
+        long[] ids;
+        int[] starts;
+        int[] ends;
+        int size;
+
+        IdBuffer(int capacity) {
+            ids = new long[capacity];
+            starts = new int[capacity];
+            ends = new int[capacity];
+        }
+
+        void add(long id, int start, int end) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+            }
+            ids[size] = id;
+            starts[size] = start;
+            ends[size] = end;
+            ++size;
+        }
+    }
 }
@@ -18,6 +18,8 @@ import java.io.InputStream;
 /** An interface to define BertVocabulary. */
 public abstract class BertVocabulary implements Vocabulary {
 
+    private transient volatile WordpieceTrie trie;
+
     /**
      * Parses the vocabulary file and create {@code BertVocabulary}.
      *
@@ -27,4 +29,32 @@ public abstract class BertVocabulary implements Vocabulary {
     static BertVocabulary parse(InputStream is) {
         return null;
     }
+
+    /**
+     * Returns the number of tokens in the vocabulary.
+     *
+     * <p>Tokens have indices from 0 to {@code size() - 1}.
+     *
+     * @return the number of tokens in the vocabulary
+     */
+    public abstract int size();
+
+    /**
+     * Returns the WordPiece trie of this vocabulary, building it on first use.
+     *
+     * @return the WordPiece trie of this vocabulary
+     */
+    WordpieceTrie getTrie() {
+        WordpieceTrie result = trie;
+        if (result == null) {
+            synchronized (this) {
+                result = trie;
+                if (result == null) {
+                    result = new WordpieceTrie(this);
+                    trie = result;
+                }
+            }
+        }
+        return result;
+    }
 }
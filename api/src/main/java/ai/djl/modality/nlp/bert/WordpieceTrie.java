@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.bert;
+
+import java.util.Arrays;
+
+/**
+ * A character trie over all tokens of a {@link BertVocabulary}.
+ *
+ * <p>Nodes are plain ints. The edges are stored in an open-addressing table keyed by {@code (node,
+ * char)}, and the token index of each node in an int array, so walking the trie does not allocate.
+ * Continuation pieces ({@code ##xyz}) are found by walking from the node of the {@code ##} prefix.
+ */
+final class WordpieceTrie {
+
+    static final int NONE = -1;
+
+    private static final String CONTINUATION_PREFIX = "##";
+
+    private long[] edgeKeys;
+    private int[] edgeValues;
+    private int edgeMask;
+    private int edgeCount;
+    private int[] tokenIds;
+    private int nodeCount;
+    private int continuationRoot;
+
+    WordpieceTrie(BertVocabulary vocabulary) {
+        int size = vocabulary.size();
+        int capacity = Integer.highestOneBit(Math.max(size * 8, 16) - 1) << 1;
+        edgeKeys = new long[capacity];
+        edgeValues = new int[capacity];
+        Arrays.fill(edgeValues, NONE);
+        edgeMask = capacity - 1;
+        tokenIds = new int[Math.max(size * 4, 16)];
+        Arrays.fill(tokenIds, NONE);
+        nodeCount = 1;
+        for (int i = 0; i < size; ++i) {
+            String token = vocabulary.getToken(i);
+            if (token == null || token.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int j = 0; j < token.length(); ++j) {
+                node = addChild(node, token.charAt(j));
+            }
+            if (tokenIds[node] == NONE) {
+                tokenIds[node] = i;
+            }
+        }
+        int node = 0;
+        for (int j = 0; j < CONTINUATION_PREFIX.length() && node != NONE; ++j) {
+            node = child(node, CONTINUATION_PREFIX.charAt(j));
+        }
+        continuationRoot = node;
+    }
+
+    /**
+     * Returns the root node for the first piece of a word.
+     *
+     * @return the root node
+     */
+    int root() {
+        return 0;
+    }
+
+    /**
+     * Returns the root node for the continuation pieces of a word.
+     *
+     * @return the continuation root node, or {@link #NONE}
+     */
+    int continuationRoot() {
+        return continuationRoot;
+    }
+
+    /**
+     * Returns the child of a node for the given character.
+     *
+     * @param node the parent node
+     * @param c the character
+     * @return the child node, or {@link #NONE}
+     */
+    int child(int node, char c) {
+        long key = key(node, c);
+        int slot = slot(key);
+        while (edgeValues[slot] != NONE) {
+            if (edgeKeys[slot] == key) {
+                return edgeValues[slot];
+            }
+            slot = (slot + 1) & edgeMask;
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns the token index of a node.
+     *
+     * @param node the node
+     * @return the token index, or {@link #NONE} if the node does not end a token
+     */
+    int tokenId(int node) {
+        return tokenIds[node];
+    }
+
+    private int addChild(int node, char c) {
+        long key = key(node, c);
+        int slot = slot(key);
+        while (edgeValues[slot] != NONE) {
+            if (edgeKeys[slot] == key) {
+                return edgeValues[slot];
+            }
+            slot = (slot + 1) & edgeMask;
+        }
+        int child = nodeCount++;
+        if (child == tokenIds.length) {
+            int[] grown = Arrays.copyOf(tokenIds, child * 2);
+            Arrays.fill(grown, child, grown.length, NONE);
+            tokenIds = grown;
+        }
+        edgeKeys[slot] = key;
+        edgeValues[slot] = child;
+        if (++edgeCount * 2 > edgeKeys.length) {
+            rehash();
+        }
+        return child;
+    }
+
+    private void rehash() {
+        long[] oldKeys = edgeKeys;
+        int[] oldValues = edgeValues;
+        edgeKeys = new long[oldKeys.length * 2];
+        edgeValues = new int[oldKeys.length * 2];
+        Arrays.fill(edgeValues, NONE);
+        edgeMask = edgeKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldValues[i] != NONE) {
+                int slot = slot(oldKeys[i]);
+                while (edgeValues[slot] != NONE) {
+                    slot = (slot + 1) & edgeMask;
+                }
+                edgeKeys[slot] = oldKeys[i];
+                edgeValues[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & edgeMask;
+    }
+
+    private static long key(int node, char c) {
+        return ((long) node << 16) | c;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.embedding;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+
+/** Helpers to embed a batch of sequences of word indices into a single {@link NDArray}. */
+public final class BulkEmbedding {
+
+    private BulkEmbedding() {}
+
+    /**
+     * Embeds a batch of sequences by copying the vector of every word into a single host array.
+     *
+     * <p>The embeddings past the end of a shorter sequence are zero.
+     *
+     * @param manager the manager for the embedding array
+     * @param indices the indices of the words to embed, one array per sequence
+     * @param vectors the function returning the vector of a word index
+     * @return the embedded words of shape {@code (batch, seqLength, dim)}
+     * @throws EmbeddingException if there is an error while trying to embed
+     * @see WordEmbedding#embedWords(NDManager, int[][])
+     */
+    public static NDArray embed(NDManager manager, int[][] indices, VectorFunction vectors)
+            throws EmbeddingException {
+        int seqLength = seqLength(indices);
+        float[] data = null;
+        int dim = 0;
+        for (int i = 0; i < indices.length; ++i) {
+            for (int j = 0; j < indices[i].length; ++j) {
+                float[] vector = vectors.apply(indices[i][j]);
+                if (data == null) {
+                    dim = vector.length;
+                    data = new float[indices.length * seqLength * dim];
+                }
+                System.arraycopy(vector, 0, data, (i * seqLength + j) * dim, dim);
+            }
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("There must be at least one word to embed");
+        }
+        return manager.create(data, new Shape(indices.length, seqLength, dim));
+    }
+
+    /**
+     * Returns the length of the longest sequence.
+     *
+     * @param indices the sequences of word indices
+     * @return the length of the longest sequence
+     */
+    static int seqLength(int[][] indices) {
+        int seqLength = 0;
+        for (int[] sequence : indices) {
+            seqLength = Math.max(seqLength, sequence.length);
+        }
+        return seqLength;
+    }
+
+    /**
+     * Packs the sequences into a {@code (batch, seqLength)} array, padding shorter sequences with
+     * index 0.
+     *
+     * @param manager the manager for the new array
+     * @param indices the sequences of word indices
+     * @param seqLength the length of the longest sequence
+     * @return the packed indices
+     */
+    static NDArray pack(NDManager manager, int[][] indices, int seqLength) {
+        int[] data = new int[indices.length * seqLength];
+        for (int i = 0; i < indices.length; ++i) {
+            System.arraycopy(indices[i], 0, data, i * seqLength, indices[i].length);
+        }
+        return manager.create(data, new Shape(indices.length, seqLength));
+    }
+
+    /**
+     * Zeroes the embeddings of the padding positions, if any sequence is shorter than the longest.
+     *
+     * @param embeddings the embeddings of shape {@code (batch, seqLength, dim)}
+     * @param indices the sequences of word indices
+     * @param seqLength the length of the longest sequence
+     * @return the embeddings with the padding positions set to zero
+     */
+    static NDArray mask(NDArray embeddings, int[][] indices, int seqLength) {
+        boolean ragged = false;
+        float[] mask = new float[indices.length * seqLength];
+        for (int i = 0; i < indices.length; ++i) {
+            ragged |= indices[i].length < seqLength;
+            for (int j = 0; j < indices[i].length; ++j) {
+                mask[i * seqLength + j] = 1f;
+            }
+        }
+        if (!ragged) {
+            return embeddings;
+        }
+        NDManager manager = embeddings.getManager();
+        try (NDArray array = manager.create(mask, new Shape(indices.length, seqLength, 1))) {
+            NDArray masked = embeddings.mul(array.toType(embeddings.getDataType(), false));
+            embeddings.close();
+            return masked;
+        }
+    }
+
+    /** A function returning the vector of a word index. */
+    @FunctionalInterface
+    public interface VectorFunction {
+
+        /**
+         * Returns the vector of a word index.
+         *
+         * @param index the index of the word
+         * @return the vector of the word
+         * @throws EmbeddingException if there is an error while trying to embed
+         */
+        float[] apply(int index) throws EmbeddingException;
+    }
+}
@@ -71,6 +71,22 @@ public class ModelZooWordEmbedding implements WordEmbedding, AutoCloseable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>All words are embedded with a single prediction.
+     */
+    @Override
+    public NDArray embedWords(NDManager manager, int[][] indices) throws EmbeddingException {
+        int seqLength = BulkEmbedding.seqLength(indices);
+        try (NDArray input = BulkEmbedding.pack(manager, indices, seqLength)) {
+            NDArray embeddings = predictor.predict(new NDList(input)).singletonOrThrow();
+            return BulkEmbedding.mask(embeddings, indices, seqLength);
+        } catch (TranslateException e) {
+            throw new EmbeddingException("Could not embed words", e);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public String unembedWord(NDArray word) {
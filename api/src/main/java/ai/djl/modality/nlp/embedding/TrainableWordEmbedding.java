@@ -14,8 +14,10 @@ package ai.djl.modality.nlp.embedding;
 
 import ai.djl.modality.nlp.SimpleVocabulary;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.nn.core.Embedding;
+import ai.djl.training.ParameterStore;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -81,18 +83,15 @@ public class TrainableWordEmbedding extends Embedding<String> implements WordEmb
     /** {@inheritDoc} */
     @Override
     public boolean vocabularyContains(String word) {
-        return embedder.containsKey(word);
+        return embedder.contains(word);
     }
 
     /** {@inheritDoc} */
     @Override
     public int preprocessWordToEmbed(String word) {
-        if (hasItem(word)) {
-            try {
-                return embed(word);
-            } catch (IllegalArgumentException e) {
-                return embed(unknownToken);
-            }
+        int index = embedder.indexOf(word);
+        if (index >= 0) {
+            return index;
         }
         return embed(unknownToken);
     }
@@ -100,7 +99,23 @@ public class TrainableWordEmbedding extends Embedding<String> implements WordEmb
     /** {@inheritDoc} */
     @Override
     public NDArray embedWord(NDManager manager, int index) {
-        throw new UnsupportedOperationException("This operation is not supported by this class.");
+        return embedWords(manager, new int[][] {{index}}).reshape(embeddingSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>All words are looked up with a single embedding operation on the embedding parameter.
+     */
+    @Override
+    public NDArray embedWords(NDManager manager, int[][] indices) {
+        int seqLength = BulkEmbedding.seqLength(indices);
+        try (NDArray input = BulkEmbedding.pack(manager, indices, seqLength)) {
+            ParameterStore parameterStore = new ParameterStore(manager, false);
+            NDArray embeddings =
+                    forward(parameterStore, new NDList(input), false).singletonOrThrow();
+            return BulkEmbedding.mask(embeddings, indices, seqLength);
+        }
     }
 
     /** {@inheritDoc} */
@@ -31,6 +31,10 @@ import ai.djl.ndarray.NDManager;
  * to better handle the current dataset. For this case, you need two methods. First, call {@link
  * #preprocessWordToEmbed(String)} within your dataset. Then, the first step in your model should be
  * to call {@link #embedWord(NDManager, int)}.
+ *
+ * <p>To embed many words at once, such as when featurizing a corpus, use {@link
+ * #embedWords(NDManager, int[][])}, which fills a single {@link NDArray} for a batch of sequences
+ * instead of creating one {@link NDArray} per word.
  */
 public interface WordEmbedding {
 
@@ -74,6 +78,33 @@ public interface WordEmbedding {
      */
     NDArray embedWord(NDManager manager, int index) throws EmbeddingException;
 
+    /**
+     * Embeds a batch of sequences of words preprocessed using {@link
+     * #preprocessWordToEmbed(String)}.
+     *
+     * <p>The sequences are embedded into a single {@link NDArray} of shape {@code (batch,
+     * seqLength, dim)}, where {@code seqLength} is the length of the longest sequence. The
+     * embeddings past the end of a shorter sequence are zero.
+     *
+     * <p>The default implementation embeds the words one at a time with {@link
+     * #embedWord(NDManager, int)}; implementations should override it with a bulk lookup.
+     *
+     * @param manager the manager for the embedding array
+     * @param indices the indices of the words to embed, one array per sequence
+     * @return the embedded words
+     * @throws EmbeddingException if there is an error while trying to embed
+     */
+    default NDArray embedWords(NDManager manager, int[][] indices) throws EmbeddingException {
+        return BulkEmbedding.embed(
+                manager,
+                indices,
+                index -> {
+                    try (NDArray vector = embedWord(manager, index)) {
+                        return vector.toFloatArray();
+                    }
+                });
+    }
+
     /**
      * Returns the closest matching word for the given index.
      *
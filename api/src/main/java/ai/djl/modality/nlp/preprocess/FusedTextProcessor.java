@@ -0,0 +1,239 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.preprocess;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A {@link TextProcessor} that applies a chain of {@link TextProcessor}s in a single pass over the
+ * tokens of a sentence.
+ *
+ * <p>Consecutive token-wise processors ({@link SimpleTokenizer}, {@link LowerCaseConvertor},
+ * {@link PunctuationSeparator}, {@link HyphenNormalizer}, {@link UnicodeNormalizer} and {@link
+ * TextTruncator}) are fused: each input token is passed through all of them and only the final
+ * tokens are collected, instead of creating an intermediate list per processor. A truncation stops
+ * the pass once enough tokens are produced. Other processors are applied as they are, between the
+ * fused runs.
+ *
+ * <p>A {@code FusedTextProcessor} does not modify its input and is safe to be shared between
+ * threads if the processors that are not fused are, so a corpus can be processed in parallel.
+ *
+ * @see #fuse(List)
+ */
+public final class FusedTextProcessor implements TextProcessor {
+
+    private List<TextProcessor> steps;
+    private String configuration;
+
+    private FusedTextProcessor(List<TextProcessor> steps, String configuration) {
+        this.steps = steps;
+        this.configuration = configuration;
+    }
+
+    /**
+     * Fuses a chain of {@link TextProcessor}s that are applied in order.
+     *
+     * @param processors the processors to fuse
+     * @return a {@code FusedTextProcessor} equivalent to applying the processors in order
+     */
+    public static FusedTextProcessor fuse(List<TextProcessor> processors) {
+        List<TextProcessor> steps = new ArrayList<>();
+        List<TokenStage> run = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean known = true;
+        for (TextProcessor processor : processors) {
+            TokenStage stage = toStage(processor);
+            if (stage != null) {
+                run.add(stage);
+            } else {
+                if (!run.isEmpty()) {
+                    steps.add(new FusedRun(run));
+                    run = new ArrayList<>();
+                }
+                steps.add(processor);
+            }
+            String description = describe(processor);
+            if (description == null) {
+                known = false;
+            } else {
+                sb.append(description).append('\n');
+            }
+        }
+        if (!run.isEmpty()) {
+            steps.add(new FusedRun(run));
+        }
+        return new FusedTextProcessor(steps, known ? sb.toString() : null);
+    }
+
+    /**
+     * Returns a description of the configuration of all processors in the chain.
+     *
+     * <p>Two chains with the same configuration produce the same tokens for the same input, so the
+     * configuration can be used as the key of a cache of processed text. It is {@code null} if the
+     * chain contains a processor whose configuration is not known.
+     *
+     * @return the configuration of the chain, or {@code null} if it is not known
+     */
+    public String getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Processes a sentence.
+     *
+     * @param sentence the sentence to process
+     * @return the processed tokens
+     */
+    public List<String> process(String sentence) {
+        return preprocess(Collections.singletonList(sentence));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> preprocess(List<String> tokens) {
+        List<String> result = tokens;
+        for (TextProcessor step : steps) {
+            if (!(step instanceof FusedRun) && result == tokens) {
+                // unfused processors may modify their input
+                result = new ArrayList<>(tokens);
+            }
+            result = step.preprocess(result);
+        }
+        return result == tokens ? new ArrayList<>(tokens) : result;
+    }
+
+    private static TokenStage toStage(TextProcessor processor) {
+        Class<?> type = processor.getClass();
+        if (type == SimpleTokenizer.class) {
+            return downstream ->
+                    token -> {
+                        for (String piece : token.split(" ")) {
+                            if (!downstream.accept(piece)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    };
+        } else if (type == LowerCaseConvertor.class) {
+            Locale locale = ((LowerCaseConvertor) processor).locale;
+            return downstream -> token -> downstream.accept(token.toLowerCase(locale));
+        } else if (type == PunctuationSeparator.class) {
+            String punctuations = ((PunctuationSeparator) processor).punctuations;
+            return downstream -> token -> separate(token, punctuations, downstream);
+        } else if (type == HyphenNormalizer.class) {
+            return downstream ->
+                    token -> downstream.accept(HyphenNormalizer.normalizeHyphens(token));
+        } else if (type == UnicodeNormalizer.class) {
+            Normalizer.Form form = ((UnicodeNormalizer) processor).normalForm;
+            return downstream -> token -> downstream.accept(Normalizer.normalize(token, form));
+        } else if (type == TextTruncator.class) {
+            int maxSize = ((TextTruncator) processor).maxSize;
+            return downstream -> {
+                int[] count = {0};
+                return token -> {
+                    if (count[0] >= maxSize) {
+                        return false;
+                    }
+                    ++count[0];
+                    return downstream.accept(token) && count[0] < maxSize;
+                };
+            };
+        }
+        return null;
+    }
+
+    private static String describe(TextProcessor processor) {
+        Class<?> type = processor.getClass();
+        String name = type.getSimpleName();
+        if (type == SimpleTokenizer.class || type == HyphenNormalizer.class) {
+            return name;
+        } else if (type == LowerCaseConvertor.class) {
+            return name + ' ' + ((LowerCaseConvertor) processor).locale.toLanguageTag();
+        } else if (type == PunctuationSeparator.class) {
+            return name + ' ' + ((PunctuationSeparator) processor).punctuations;
+        } else if (type == UnicodeNormalizer.class) {
+            return name + ' ' + ((UnicodeNormalizer) processor).normalForm;
+        } else if (type == TextTruncator.class) {
+            return name + ' ' + ((TextTruncator) processor).maxSize;
+        } else if (type == TextTerminator.class) {
+            TextTerminator terminator = (TextTerminator) processor;
+            return name
+                    + ' '
+                    + (terminator.addBosToken ? terminator.bosToken : "")
+                    + ' '
+                    + (terminator.addEosToken ? terminator.eosToken : "");
+        }
+        return null;
+    }
+
+    /** Separates the punctuations of a token into tokens, like {@link PunctuationSeparator}. */
+    private static boolean separate(String token, String punctuations, TokenSink downstream) {
+        int start = 0;
+        int length = token.length();
+        for (int i = 0; i < length; ++i) {
+            char c = token.charAt(i);
+            if (punctuations.indexOf(c) >= 0) {
+                if (i > start && !downstream.accept(token.substring(start, i))) {
+                    return false;
+                }
+                if (!downstream.accept(String.valueOf(c))) {
+                    return false;
+                }
+                start = i + 1;
+            }
+        }
+        return start >= length || downstream.accept(token.substring(start));
+    }
+
+    /** Receives the tokens produced by a stage, and returns whether to continue. */
+    private interface TokenSink {
+
+        boolean accept(String token);
+    }
+
+    /** A token-wise processor that passes its output tokens to a downstream sink. */
+    private interface TokenStage {
+
+        TokenSink wrap(TokenSink downstream);
+    }
+
+    /** A run of fused token-wise processors. */
+    private static final class FusedRun implements TextProcessor {
+
+        private List<TokenStage> stages;
+
+        FusedRun(List<TokenStage> stages) {
+            this.stages = stages;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<String> preprocess(List<String> tokens) {
+            List<String> result = new ArrayList<>();
+            TokenSink sink = result::add;
+            for (int i = stages.size() - 1; i >= 0; --i) {
+                sink = stages.get(i).wrap(sink);
+            }
+            for (String token : tokens) {
+                if (!sink.accept(token)) {
+                    break;
+                }
+            }
+            return result;
+        }
+    }
+}
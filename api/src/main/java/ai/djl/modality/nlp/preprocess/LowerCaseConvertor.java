@@ -23,7 +23,7 @@ public class LowerCaseConvertor implements TextProcessor {
 
     private static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
 
-    private Locale locale;
+    Locale locale;
 
     /**
      * Creates a {@link TextProcessor} that converts input text into lower case character given the
@@ -21,7 +21,7 @@ public class PunctuationSeparator implements TextProcessor {
 
     private static final String DEFAULT_PUNCTUATIONS = ".,!?";
 
-    private String punctuations;
+    String punctuations;
 
     /**
      * Creates a {@link TextProcessor} that separates the given punctuations into distinct tokens in
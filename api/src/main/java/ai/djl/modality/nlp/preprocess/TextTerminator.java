@@ -21,10 +21,10 @@ public class TextTerminator implements TextProcessor {
     private static final String DEFAULT_EOS_TOKEN = "<eos>";
     private static final String DEFAULT_BOS_TOKEN = "<bos>";
 
-    private boolean addBosToken;
-    private boolean addEosToken;
-    private String eosToken;
-    private String bosToken;
+    boolean addBosToken;
+    boolean addEosToken;
+    String eosToken;
+    String bosToken;
 
     /** Constructs a default {@link TextTerminator}. */
     public TextTerminator() {
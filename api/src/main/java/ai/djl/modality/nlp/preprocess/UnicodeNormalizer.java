@@ -24,7 +24,7 @@ public class UnicodeNormalizer implements TextProcessor {
 
     public static final Normalizer.Form DEFAULT_FORM = Normalizer.Form.NFKC;
 
-    private final Normalizer.Form normalForm;
+    final Normalizer.Form normalForm;
 
     /**
      * Unicode normalizer with a configurable normal form.
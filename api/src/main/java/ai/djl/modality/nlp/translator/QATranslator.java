@@ -10,26 +10,274 @@
  * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
  * and limitations under the License.
  */
-
 package ai.djl.modality.nlp.translator;
 
+import ai.djl.modality.nlp.bert.BertEncoding;
 import ai.djl.modality.nlp.qa.QAInput;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.index.NDIndex;
+import ai.djl.ndarray.types.Shape;
 import ai.djl.translate.Batchifier;
 import ai.djl.translate.Translator;
+import ai.djl.translate.TranslatorContext;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
 
-/** An abstract class to define the question answering translator. */
+/**
+ * An abstract class to define the question answering translator.
+ *
+ * <p>A {@code QATranslator} supports batched inference with {@link
+ * ai.djl.inference.Predictor#batchPredict(List)}. Each {@link QAInput} is encoded into one or more
+ * windows over its paragraph (see {@link BertEncoding}), and the windows of all inputs are padded
+ * to a shared length and concatenated, so that the whole batch runs in a single forward pass. The
+ * answer of each input is the best span over all of its windows.
+ */
 public abstract class QATranslator implements Translator<QAInput, String> {
 
+    private static final String WINDOWS = "qa.windows";
+
+    protected int docStride;
+    protected int bucketSize;
+    protected int maxAnswerLength;
+
+    private Batchifier batchifier;
+
+    /**
+     * Constructs a {@code QATranslator} with the given builder.
+     *
+     * @param builder the builder
+     */
+    @SuppressWarnings("rawtypes")
+    protected QATranslator(BaseBuilder builder) {
+        docStride = builder.docStride;
+        bucketSize = builder.bucketSize;
+        maxAnswerLength = builder.maxAnswerLength;
+        batchifier = new WindowBatchifier();
+    }
+
     /** {@inheritDoc} */
     @Override
     public Batchifier getBatchifier() {
-        return null;
+        return batchifier;
+    }
+
+    /**
+     * Keeps the windows of an input so that its output can be decoded in {@link
+     * #decode(TranslatorContext, float[], float[])}.
+     *
+     * <p>Inputs must be added in the same order as they are passed to {@link
+     * #processInput(TranslatorContext, Object)}.
+     *
+     * @param ctx the translator context
+     * @param windows the encoded windows of one input
+     */
+    @SuppressWarnings("unchecked")
+    protected void addWindows(TranslatorContext ctx, List<BertEncoding> windows) {
+        Deque<List<BertEncoding>> pending = (Deque<List<BertEncoding>>) ctx.getAttachment(WINDOWS);
+        if (pending == null) {
+            pending = new ArrayDeque<>();
+            ctx.setAttachment(WINDOWS, pending);
+        }
+        pending.add(windows);
+    }
+
+    /**
+     * Returns the length that the windows of a batch are padded to.
+     *
+     * @param length the length of the longest window
+     * @return the length rounded up to a multiple of the bucket size
+     */
+    protected int paddedLength(long length) {
+        return (int) ((length + bucketSize - 1) / bucketSize * bucketSize);
+    }
+
+    /**
+     * Packs one of the arrays of the given windows into a row-major {@code [windows, length]}
+     * array, padded with zeros.
+     *
+     * @param windows the windows
+     * @param length the padded length of each window
+     * @param getter the function that returns the array of a window
+     * @return the packed array
+     */
+    protected static long[] pack(
+            List<BertEncoding> windows, int length, Function<BertEncoding, long[]> getter) {
+        long[] packed = new long[windows.size() * length];
+        for (int i = 0; i < windows.size(); ++i) {
+            long[] array = getter.apply(windows.get(i));
+            System.arraycopy(array, 0, packed, i * length, Math.min(array.length, length));
+        }
+        return packed;
+    }
+
+    /**
+     * Decodes the answer of the next input from the start and end logits of its windows.
+     *
+     * <p>Only spans of paragraph tokens that end after they start and are at most {@code
+     * maxAnswerLength} tokens long are considered. The span with the highest sum of its start and
+     * end logits over all windows gives the answer.
+     *
+     * @param ctx the translator context
+     * @param startLogits the start logits, row-major {@code [windows, length]}
+     * @param endLogits the end logits, row-major {@code [windows, length]}
+     * @return the answer tokens
+     */
+    @SuppressWarnings("unchecked")
+    protected String decode(TranslatorContext ctx, float[] startLogits, float[] endLogits) {
+        Deque<List<BertEncoding>> pending = (Deque<List<BertEncoding>>) ctx.getAttachment(WINDOWS);
+        List<BertEncoding> windows = pending.poll();
+        int length = startLogits.length / windows.size();
+        BertEncoding best = null;
+        int bestStart = 0;
+        int bestEnd = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int w = 0; w < windows.size(); ++w) {
+            BertEncoding window = windows.get(w);
+            long[] tokenTypes = window.getTokenTypes();
+            int limit = Math.min(length, window.length()) - 1;
+            int offset = w * length;
+            for (int start = 0; start < limit; ++start) {
+                if (tokenTypes[start] != 1) {
+                    continue;
+                }
+                int last = Math.min(limit, start + maxAnswerLength);
+                for (int end = start; end < last && tokenTypes[end] == 1; ++end) {
+                    float score = startLogits[offset + start] + endLogits[offset + end];
+                    if (best == null || score > bestScore) {
+                        best = window;
+                        bestStart = start;
+                        bestEnd = end;
+                        bestScore = score;
+                    }
+                }
+            }
+        }
+        if (best == null) {
+            return "[]";
+        }
+        return best.getTokens(bestStart, bestEnd + 1).toString();
+    }
+
+    /**
+     * A {@link Batchifier} that pads the windows of all inputs to a shared length and concatenates
+     * them along the first axis.
+     *
+     * <p>The number of windows of each input is remembered per thread between {@link
+     * #batchify(NDList[])} and {@link #unbatchify(NDList)}, which {@link
+     * ai.djl.inference.Predictor} calls on the same thread.
+     */
+    private static final class WindowBatchifier implements Batchifier {
+
+        private ThreadLocal<int[]> windowCounts = new ThreadLocal<>();
+
+        /** {@inheritDoc} */
+        @Override
+        public NDList batchify(NDList[] inputs) {
+            int[] counts = new int[inputs.length];
+            for (int i = 0; i < inputs.length; ++i) {
+                counts[i] = (int) inputs[i].head().getShape().get(0);
+            }
+            windowCounts.set(counts);
+
+            int size = inputs[0].size();
+            NDList batch = new NDList(size);
+            for (int a = 0; a < size; ++a) {
+                long length = 0;
+                for (NDList input : inputs) {
+                    Shape shape = input.get(a).getShape();
+                    if (shape.dimension() > 1) {
+                        length = Math.max(length, shape.get(1));
+                    }
+                }
+                NDList arrays = new NDList(inputs.length);
+                for (NDList input : inputs) {
+                    NDArray array = input.get(a);
+                    Shape shape = array.getShape();
+                    if (shape.dimension() > 1 && shape.get(1) < length) {
+                        NDArray padding =
+                                array.getManager()
+                                        .zeros(
+                                                Shape.update(shape, 1, length - shape.get(1)),
+                                                array.getDataType());
+                        array = array.concat(padding, 1);
+                    }
+                    arrays.add(array);
+                }
+                NDArray batched = arrays.size() == 1 ? arrays.head() : NDArrays.concat(arrays);
+                batched.setName(inputs[0].get(a).getName());
+                batch.add(batched);
+            }
+            return batch;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDList[] unbatchify(NDList inputs) {
+            int[] counts = windowCounts.get();
+            windowCounts.remove();
+            NDList[] ret = new NDList[counts.length];
+            long from = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                NDIndex index = NDIndex.sliceAxis(0, from, from + counts[i]);
+                ret[i] = new NDList(inputs.size());
+                for (NDArray array : inputs) {
+                    ret[i].add(array.get(index));
+                }
+                from += counts[i];
+            }
+            return ret;
+        }
     }
 
     /** The builder for question answering translator. */
     @SuppressWarnings("rawtypes")
     public abstract static class BaseBuilder<T extends BaseBuilder> {
 
+        int docStride = 128;
+        int bucketSize = 1;
+        int maxAnswerLength = 30;
+
+        /**
+         * Sets the distance in tokens between two windows over a paragraph that does not fit into
+         * the maximum sequence length.
+         *
+         * @param docStride the distance in tokens between two windows
+         * @return this builder
+         */
+        public T optDocStride(int docStride) {
+            this.docStride = docStride;
+            return self();
+        }
+
+        /**
+         * Sets the granularity of the padded sequence length of a batch.
+         *
+         * <p>The sequence length is rounded up to a multiple of the bucket size, so that models
+         * which are optimized per input shape see fewer distinct shapes.
+         *
+         * @param bucketSize the granularity of the padded sequence length
+         * @return this builder
+         */
+        public T optBucketSize(int bucketSize) {
+            this.bucketSize = bucketSize;
+            return self();
+        }
+
+        /**
+         * Sets the maximum number of tokens of an answer.
+         *
+         * @param maxAnswerLength the maximum number of tokens of an answer
+         * @return this builder
+         */
+        public T optMaxAnswerLength(int maxAnswerLength) {
+            this.maxAnswerLength = maxAnswerLength;
+            return self();
+        }
+
         protected abstract T self();
     }
 }
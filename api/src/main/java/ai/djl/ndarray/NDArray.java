@@ -384,6 +384,10 @@ public interface NDArray extends AutoCloseable {
     /**
      * Converts this {@code NDArray} to a ByteBuffer.
      *
+     * <p>Depending on the engine, the returned buffer may be a view of the memory of this {@code
+     * NDArray} instead of a copy. It should not be modified, or used after this {@code NDArray} is
+     * closed.
+     *
      * @return a ByteBuffer
      */
     ByteBuffer toByteBuffer();
@@ -388,6 +388,9 @@ public interface NDManager extends AutoCloseable {
      *
      * <p>{@link DataType} of the NDArray will determined by type of Buffer.
      *
+     * <p>The caller must not modify the buffer after the {@code NDArray} is created, see {@link
+     * #create(Buffer, Shape, DataType)}.
+     *
      * @param data the data to initialize the {@code NDArray}
      * @param shape the {@link Shape} of the {@link NDArray}
      * @return a new instance of {@link NDArray}
@@ -413,6 +416,10 @@ public interface NDManager extends AutoCloseable {
      * Creates and initializes an instance of {@link NDArray} with specified {@link Shape} and
      * {@link DataType}.
      *
+     * <p>Engines may share the memory of a direct buffer with the {@code NDArray} instead of
+     * copying it, so the caller must not modify the buffer after the {@code NDArray} is created.
+     * Whether the memory is shared depends on the engine; the default implementation copies.
+     *
      * @param data the data to initialize the {@link NDArray}
      * @param shape the {@link Shape} of the {@link NDArray}
      * @param dataType the {@link DataType} of the {@link NDArray}
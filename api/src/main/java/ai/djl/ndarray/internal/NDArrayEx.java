@@ -428,6 +428,14 @@ public interface NDArrayEx {
         return array.get(sb.toString());
     }
 
+    /**
+     * Reverses the order of elements along the given axes.
+     *
+     * @param axes the axes to reverse
+     * @return the reversed {@link NDArray} with the same shape and data type
+     */
+    NDArray flip(int... axes);
+
     ////////////////////////////////////////
     // Miscellaneous
     ////////////////////////////////////////
@@ -463,6 +471,18 @@ public interface NDArrayEx {
         return pick(index, axis, keepDims, "clip");
     }
 
+    /**
+     * Takes the slices at the given indices along an axis.
+     *
+     * <p>The same index can be taken more than once. The axis of the result has the size of the
+     * indices, and the other axes keep their size.
+     *
+     * @param indices the 1-D integer array of the indices to take
+     * @param axis the axis to take the slices along
+     * @return the taken slices
+     */
+    NDArray take(NDArray indices, int axis);
+
     /**
      * Returns elements chosen from the {@code NDArray} or the other {@code NDArray} depending on
      * condition.
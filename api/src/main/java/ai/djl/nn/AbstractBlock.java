@@ -12,6 +12,7 @@
  */
 package ai.djl.nn;
 
+import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.training.initializer.Initializer;
@@ -20,6 +21,7 @@ import ai.djl.util.PairList;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -108,7 +110,68 @@ public abstract class AbstractBlock implements Block {
     /** {@inheritDoc} */
     @Override
     public void cast(DataType dataType) {
-        throw new UnsupportedOperationException("Not implemented yet.");
+        List<Pair<Parameter, NDArray>> originals = new ArrayList<>();
+        try {
+            castParameters(dataType, originals);
+        } catch (RuntimeException e) {
+            // puts the original arrays back so the block is never left partially cast
+            for (int i = originals.size() - 1; i >= 0; --i) {
+                Parameter parameter = originals.get(i).getKey();
+                NDArray cast = parameter.getArray();
+                parameter.setArray(originals.get(i).getValue());
+                cast.close();
+            }
+            throw e;
+        }
+        for (Pair<Parameter, NDArray> original : originals) {
+            original.getValue().close();
+        }
+    }
+
+    /**
+     * Casts the parameters of this block and its children without closing the original arrays.
+     *
+     * <p>Each cast parameter is added to {@code originals} together with its original array, so
+     * {@link #cast(DataType)} can close them once the whole block is cast, or restore them if the
+     * cast fails.
+     *
+     * @param dataType the data type to cast to
+     * @param originals the list to add the cast parameters and their original arrays to
+     */
+    protected void castParameters(DataType dataType, List<Pair<Parameter, NDArray>> originals) {
+        for (Parameter parameter : getDirectParameters()) {
+            if (!parameter.isInitialized()) {
+                continue;
+            }
+            NDArray array = parameter.getArray();
+            DataType type = array.getDataType();
+            if (type == dataType || !type.isFloating()) {
+                continue;
+            }
+            if (dataType.getNumOfBytes() < type.getNumOfBytes() && keepsFullPrecision(parameter)) {
+                continue;
+            }
+            NDArray cast = array.toType(dataType, false);
+            originals.add(new Pair<>(parameter, array));
+            parameter.setArray(cast);
+        }
+        for (Block child : getChildren().values()) {
+            if (child instanceof AbstractBlock) {
+                ((AbstractBlock) child).castParameters(dataType, originals);
+            } else {
+                child.cast(dataType);
+            }
+        }
+    }
+
+    /**
+     * Returns whether a parameter keeps its precision when the block is cast to a lower precision.
+     *
+     * @param parameter the parameter of this block
+     * @return {@code true} if the parameter is not cast to a lower precision
+     */
+    protected boolean keepsFullPrecision(Parameter parameter) {
+        return false;
     }
 
     protected void saveInputShapes(DataOutputStream os) throws IOException {
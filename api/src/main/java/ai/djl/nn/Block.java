@@ -168,10 +168,14 @@ public interface Block {
     boolean isInitialized();
 
     /**
-     * Guaranteed to throw an exception. Not yet implemented
+     * Casts the floating point parameters of this block and its children to the given data type.
+     *
+     * <p>When casting to a lower precision, the parameters of batch normalization layers keep
+     * their precision for numerical stability. If the cast fails, the parameters are left as they
+     * were before the cast.
      *
      * @param dataType the data type to cast to
-     * @throws UnsupportedOperationException always
+     * @throws UnsupportedOperationException if the block cannot be cast
      */
     void cast(DataType dataType);
 
@@ -26,23 +26,23 @@ import ai.djl.nn.Parameter;
 import ai.djl.nn.ParameterBlock;
 import ai.djl.nn.ParameterType;
 import ai.djl.training.ParameterStore;
+import ai.djl.util.ItemIndex;
 import ai.djl.util.PairList;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An Embedding block map a collection of items to 1-Dimensional representative {@link NDArray}s.
  *
+ * <p>The mapping between items and embedding indices is kept in a read-only {@link ItemIndex}, so
+ * looking up an item neither boxes the index nor allocates.
+ *
  * @param <T> the type of item that should be embedded and map to the array
  */
 public abstract class Embedding<T> extends ParameterBlock {
@@ -53,8 +53,7 @@ public abstract class Embedding<T> extends ParameterBlock {
     protected boolean useDefault;
     protected boolean sparseGrad;
     protected DataType dataType;
-    protected Map<T, Integer> embedder;
-    protected Map<Integer, T> unembedder;
+    protected ItemIndex<T> embedder;
     protected int numItems;
 
     protected Parameter embedding;
@@ -71,15 +70,9 @@ public abstract class Embedding<T> extends ParameterBlock {
                         ParameterType.WEIGHT,
                         true,
                         sparseGrad ? SparseFormat.ROW_SPARSE : SparseFormat.DENSE);
-        embedder = new ConcurrentHashMap<>();
-        unembedder = new ConcurrentHashMap<>();
-        if (useDefault) {
-            numItems++;
-        }
-        for (T item : baseBuilder.items) {
-            embedder.put(item, numItems);
-            unembedder.put(numItems++, item);
-        }
+        int offset = useDefault ? 1 : 0;
+        embedder = ItemIndex.of(baseBuilder.items, offset);
+        numItems = baseBuilder.items.size() + offset;
         inputShapes = new Shape[] {new Shape(-1)};
     }
 
@@ -114,12 +107,7 @@ public abstract class Embedding<T> extends ParameterBlock {
                         sparseGrad ? SparseFormat.ROW_SPARSE : SparseFormat.DENSE);
         this.embedding.setArray(embedding);
         numItems = items.size();
-        embedder = new ConcurrentHashMap<>(numItems);
-        unembedder = new ConcurrentHashMap<>(numItems);
-        for (int i = 1; i <= items.size(); i++) {
-            embedder.put(items.get(i), i);
-            unembedder.put(i, items.get(i));
-        }
+        embedder = ItemIndex.of(items, 0);
         inputShapes = new Shape[] {new Shape(-1)};
     }
 
@@ -189,13 +177,17 @@ public abstract class Embedding<T> extends ParameterBlock {
         os.writeBoolean(useDefault);
         os.writeBoolean(sparseGrad);
         os.writeUTF(dataType.toString());
-        Set<Map.Entry<T, Integer>> embedderEntrySet = embedder.entrySet();
-        os.writeInt(embedderEntrySet.size());
-        for (Map.Entry<T, Integer> entry : embedderEntrySet) {
-            byte[] encodedKey = encode(entry.getKey());
+        int indexSize = embedder.indexSize();
+        os.writeInt(embedder.size());
+        for (int i = 0; i < indexSize; i++) {
+            T item = embedder.get(i);
+            if (item == null || embedder.indexOf(item) != i) {
+                continue;
+            }
+            byte[] encodedKey = encode(item);
             os.writeInt(encodedKey.length);
             os.write(encodedKey);
-            os.writeInt(embedder.get(entry.getKey()));
+            os.writeInt(i);
         }
         embedding.save(os);
     }
@@ -210,19 +202,26 @@ public abstract class Embedding<T> extends ParameterBlock {
             useDefault = is.readBoolean();
             sparseGrad = is.readBoolean();
             dataType = DataType.valueOf(is.readUTF().toUpperCase(Locale.ENGLISH));
-            embedder = new ConcurrentHashMap<>();
-            unembedder = new ConcurrentHashMap<>();
             int embedderSize = is.readInt();
+            List<T> items = new ArrayList<>(embedderSize);
+            int[] indices = new int[embedderSize];
+            int indexSize = 0;
             for (int i = 0; i < embedderSize; i++) {
                 int encodedKeySize = is.readInt();
                 byte[] encodedKey = new byte[encodedKeySize];
                 if (is.read(encodedKey) != encodedKey.length) {
                     throw new MalformedModelException("Model data is malformed");
                 }
-                int value = is.readInt();
-                embedder.put(decode(encodedKey), value);
-                unembedder.put(value, decode(encodedKey));
+                items.add(decode(encodedKey));
+                indices[i] = is.readInt();
+                indexSize = Math.max(indexSize, indices[i] + 1);
             }
+            @SuppressWarnings("unchecked")
+            T[] itemsByIndex = (T[]) new Object[indexSize];
+            for (int i = 0; i < embedderSize; i++) {
+                itemsByIndex[indices[i]] = items.get(i);
+            }
+            embedder = ItemIndex.of(itemsByIndex);
         } else if (version == 2) {
             readInputShapes(is);
         } else if (version != 1) {
@@ -240,7 +239,7 @@ public abstract class Embedding<T> extends ParameterBlock {
      * @return true if the item is in the embedding
      */
     public boolean hasItem(T item) {
-        return embedder.containsKey(item);
+        return embedder.contains(item);
     }
 
     private NDList opInputs(ParameterStore parameterStore, NDList inputs) {
@@ -265,7 +264,11 @@ public abstract class Embedding<T> extends ParameterBlock {
      * @return the embedding {@link NDArray} of Shape(items.length)
      */
     public NDArray embed(NDManager manager, T[] items) {
-        return manager.create(Arrays.stream(items).mapToInt(this::embedHelper).toArray());
+        int[] indices = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            indices[i] = embedHelper(items[i]);
+        }
+        return manager.create(indices);
     }
 
     /**
@@ -285,19 +288,18 @@ public abstract class Embedding<T> extends ParameterBlock {
      * @return the item corresponding to the given index
      */
     public Optional<T> unembed(int index) {
-        return Optional.ofNullable(unembedder.get(index));
+        return Optional.ofNullable(embedder.get(index));
     }
 
-    private Integer embedHelper(T value) {
-        if (embedder.containsKey(value)) {
-            return embedder.get(value);
-        } else {
-            if (useDefault) {
-                return 0;
-            } else {
-                throw new IllegalArgumentException("The provided item was not found");
-            }
+    private int embedHelper(T value) {
+        int index = embedder.indexOf(value);
+        if (index >= 0) {
+            return index;
+        }
+        if (useDefault) {
+            return 0;
         }
+        throw new IllegalArgumentException("The provided item was not found");
     }
 
     /**
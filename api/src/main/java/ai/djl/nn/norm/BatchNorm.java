@@ -18,6 +18,7 @@ import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.internal.NDArrayEx;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.Parameter;
 import ai.djl.nn.ParameterBlock;
@@ -99,9 +100,15 @@ public class BatchNorm extends ParameterBlock {
             NDList inputs,
             boolean training,
             PairList<String, Object> params) {
+        DataType dataType = inputs.head().getDataType();
         inputs = opInputs(parameterStore, inputs);
         NDArrayEx ex = inputs.head().getNDArrayInternal();
-        return ex.batchNorm(inputs, epsilon, momentum, axis, center, scale, params);
+        NDList result = ex.batchNorm(inputs, epsilon, momentum, axis, center, scale, params);
+        if (result.head().getDataType() != dataType) {
+            // computed in the precision of the parameters, see opInputs
+            result.set(0, result.head().toType(dataType, false));
+        }
+        return result;
     }
 
     /** {@inheritDoc} */
@@ -147,9 +154,20 @@ public class BatchNorm extends ParameterBlock {
         NDArray betaValue = parameterStore.getValue(beta, device);
         NDArray runningMeanValue = parameterStore.getValue(runningMean, device);
         NDArray runningVarValue = parameterStore.getValue(runningVar, device);
+        // the parameters are kept in full precision when the block is cast to a lower precision
+        DataType dataType = gammaValue.getDataType();
+        if (data.getDataType() != dataType) {
+            data = data.toType(dataType, false);
+        }
         return new NDList(data, gammaValue, betaValue, runningMeanValue, runningVarValue);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected boolean keepsFullPrecision(Parameter parameter) {
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void saveParameters(DataOutputStream os) throws IOException {
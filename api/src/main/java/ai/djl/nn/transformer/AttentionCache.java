@@ -0,0 +1,248 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.nn.transformer;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.index.NDIndex;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Pair;
+import ai.djl.util.PairList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An {@code AttentionCache} keeps the projected keys and values of each {@link
+ * ScaledDotProductAttentionBlock} during incremental (autoregressive) inference.
+ *
+ * <p>Pass the cache to the blocks with the forward parameters returned by {@link #toParams()}.
+ * For self attention, a block then only projects the keys and values of the new tokens, appends
+ * them to its cache entry, and attends over all cached positions, so that each generation step
+ * costs O(n) instead of recomputing the whole sequence. For attention with separate keys and values
+ * (e.g. the encoder output in a decoder), the projected keys and values are computed on the first
+ * step and reused afterwards.
+ *
+ * <p>The keys and values are stored in buffers of shape (B, N, capacity, H) that are preallocated
+ * and grow by doubling. Sequences that are finished can be removed from all buffers with {@link
+ * #evict(int[])}; the caller must then remove them from its inputs as well.
+ *
+ * <p>An {@code AttentionCache} is only used in inference mode and is not thread safe.
+ */
+public class AttentionCache implements AutoCloseable {
+
+    /** The key of the cache in the forward parameters. */
+    public static final String KEY = "attentionCache";
+
+    private NDManager manager;
+    private int capacity;
+    private Map<ScaledDotProductAttentionBlock, Entry> entries;
+
+    /**
+     * Creates an {@code AttentionCache}.
+     *
+     * @param manager the manager to allocate the buffers with
+     * @param capacity the initial number of positions of the buffers
+     */
+    public AttentionCache(NDManager manager, int capacity) {
+        this.manager = manager.newSubManager();
+        this.capacity = capacity;
+        entries = new HashMap<>();
+    }
+
+    /**
+     * Returns forward parameters that pass this cache to the attention blocks.
+     *
+     * @return forward parameters holding this cache
+     */
+    public PairList<String, Object> toParams() {
+        PairList<String, Object> params = new PairList<>();
+        params.add(KEY, this);
+        return params;
+    }
+
+    /**
+     * Returns the number of positions cached by self-attention blocks.
+     *
+     * @return the number of positions cached
+     */
+    public int length() {
+        for (Entry entry : entries.values()) {
+            if (!entry.fixed) {
+                return entry.length;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Keeps only the given sequences of the batch in all buffers.
+     *
+     * @param keep the indices of the sequences to keep, in ascending order
+     */
+    public void evict(int[] keep) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long batchSize = entries.values().iterator().next().keys.getShape().get(0);
+        boolean[] mask = new boolean[(int) batchSize];
+        for (int index : keep) {
+            mask[index] = true;
+        }
+        NDArray maskArray = manager.create(mask);
+        for (Entry entry : entries.values()) {
+            NDArray keys = entry.keys.booleanMask(maskArray, 0);
+            NDArray values = entry.values.booleanMask(maskArray, 0);
+            entry.keys.close();
+            entry.values.close();
+            entry.keys = keys;
+            entry.values = values;
+        }
+        maskArray.close();
+    }
+
+    /** Removes all cached keys and values. */
+    public void clear() {
+        for (Entry entry : entries.values()) {
+            entry.keys.close();
+            entry.values.close();
+        }
+        entries.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        entries.clear();
+        manager.close();
+    }
+
+    /**
+     * Returns the cache passed with the given forward parameters.
+     *
+     * @param params the forward parameters
+     * @return the cache, or {@code null} if there is none
+     */
+    static AttentionCache fromParams(PairList<String, Object> params) {
+        if (params == null) {
+            return null;
+        }
+        for (Pair<String, Object> pair : params) {
+            if (KEY.equals(pair.getKey())) {
+                return (AttentionCache) pair.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends the keys and values of new positions and returns the keys and values of all
+     * positions.
+     *
+     * @param block the block the keys and values belong to
+     * @param keyHeads the new keys, of shape (B, N, T, H)
+     * @param valueHeads the new values, of shape (B, N, T, H)
+     * @return the keys and values of all positions, of shape (B, N, F, H)
+     */
+    NDList append(ScaledDotProductAttentionBlock block, NDArray keyHeads, NDArray valueHeads) {
+        Shape shape = keyHeads.getShape();
+        int steps = (int) shape.get(2);
+        Entry entry = entries.get(block);
+        if (entry == null) {
+            int positions = Math.max(capacity, steps);
+            DataType dataType = keyHeads.getDataType();
+            entry =
+                    new Entry(
+                            allocate(shape, positions, dataType),
+                            allocate(shape, positions, dataType),
+                            false);
+            entries.put(block, entry);
+        } else if (entry.length + steps > entry.keys.getShape().get(2)) {
+            long size = entry.keys.getShape().get(2);
+            int newCapacity = (int) Math.max(size * 2, entry.length + steps);
+            entry.keys = grow(entry.keys, entry.length, newCapacity);
+            entry.values = grow(entry.values, entry.length, newCapacity);
+        }
+        NDIndex index = positions(entry.length, entry.length + steps);
+        entry.keys.set(index, keyHeads);
+        entry.values.set(index, valueHeads);
+        entry.length += steps;
+        // the slices belong to the manager of the current step, not to the cache
+        NDIndex all = positions(0, entry.length);
+        NDArray keys = entry.keys.get(all);
+        NDArray values = entry.values.get(all);
+        keys.attach(keyHeads.getManager());
+        values.attach(keyHeads.getManager());
+        return new NDList(keys, values);
+    }
+
+    /**
+     * Returns the fixed keys and values of a block, which are computed once per cache.
+     *
+     * @param block the block the keys and values belong to
+     * @return the keys and values, or {@code null} if they are not cached yet
+     */
+    NDList getFixed(ScaledDotProductAttentionBlock block) {
+        Entry entry = entries.get(block);
+        return entry == null ? null : new NDList(entry.keys, entry.values);
+    }
+
+    /**
+     * Caches the fixed keys and values of a block.
+     *
+     * @param block the block the keys and values belong to
+     * @param keyHeads the keys, of shape (B, N, F, H)
+     * @param valueHeads the values, of shape (B, N, F, H)
+     */
+    void putFixed(ScaledDotProductAttentionBlock block, NDArray keyHeads, NDArray valueHeads) {
+        NDArray keys = keyHeads.duplicate();
+        NDArray values = valueHeads.duplicate();
+        keys.attach(manager);
+        values.attach(manager);
+        entries.put(block, new Entry(keys, values, true));
+    }
+
+    private NDArray allocate(Shape shape, int positions, DataType dataType) {
+        return manager.zeros(
+                new Shape(shape.get(0), shape.get(1), positions, shape.get(3)), dataType);
+    }
+
+    private NDArray grow(NDArray buffer, int length, int newCapacity) {
+        NDArray grown = allocate(buffer.getShape(), newCapacity, buffer.getDataType());
+        NDIndex filled = positions(0, length);
+        try (NDArray slice = buffer.get(filled)) {
+            grown.set(filled, slice);
+        }
+        buffer.close();
+        return grown;
+    }
+
+    private static NDIndex positions(int from, int to) {
+        return new NDIndex(":, :, " + from + ':' + to);
+    }
+
+    private static final class Entry {
+
+        NDArray keys;
+        NDArray values;
+        boolean fixed;
+        int length;
+
+        Entry(NDArray keys, NDArray values, boolean fixed) {
+            this.keys = keys;
+            this.values = values;
+            this.fixed = fixed;
+        }
+    }
+}
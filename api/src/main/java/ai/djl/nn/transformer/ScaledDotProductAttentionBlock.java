@@ -56,6 +56,10 @@ import ai.djl.util.PairList;
  * </ul>
  *
  * <p>Attention masks must contain a 1 for positions to keep and a 0 for positions to mask.
+ *
+ * <p>For incremental decoding, pass an {@link AttentionCache} with the forward parameters. In
+ * inference mode, self attention then only takes the new positions as input, and F is the number
+ * of cached positions including the new ones.
  */
 // We name local variables for tensor dimensions as in the paper and the reference code.
 // While against the general code style, it makes things much easier readable here.
@@ -232,16 +236,38 @@ public final class ScaledDotProductAttentionBlock extends TransformerBaseBlock {
         } else {
             attentionMask = null;
         }
-        // apply projection for key, query and value: (B * S, E)
-        NDList keys = keyProjection.forward(parameterStore, flattenedKeyInput, training, params);
+        // in inference mode, an attention cache holds the keys and values of earlier steps
+        AttentionCache cache = training ? null : AttentionCache.fromParams(params);
+        // apply projection for query: (B * T, E), and reshape to (B, N, T, H)
         NDList queries =
                 queryProjection.forward(parameterStore, flattenedQueryInput, training, params);
-        NDList values =
-                valueProjection.forward(parameterStore, flattenedValueInput, training, params);
-        // reshape to (B, N, S, H)
-        NDArray keyHeads = createAttentionHeadsFromEmbeddings(keys.head(), B, F, N, H);
         NDArray queryHeads = createAttentionHeadsFromEmbeddings(queries.head(), B, T, N, H);
-        NDArray valueHeads = createAttentionHeadsFromEmbeddings(values.head(), B, F, N, H);
+        NDArray keyHeads;
+        NDArray valueHeads;
+        NDList fixed = cache != null && inputs.size() >= 3 ? cache.getFixed(this) : null;
+        if (fixed != null) {
+            // separate keys & values (e.g. encoder output) do not change between steps
+            keyHeads = fixed.get(0);
+            valueHeads = fixed.get(1);
+        } else {
+            // apply projection for key and value: (B * F, E)
+            NDList keys =
+                    keyProjection.forward(parameterStore, flattenedKeyInput, training, params);
+            NDList values =
+                    valueProjection.forward(parameterStore, flattenedValueInput, training, params);
+            // reshape to (B, N, F, H)
+            keyHeads = createAttentionHeadsFromEmbeddings(keys.head(), B, F, N, H);
+            valueHeads = createAttentionHeadsFromEmbeddings(values.head(), B, F, N, H);
+            if (cache != null && inputs.size() < 3) {
+                // self attention: append the new positions and attend over all of them
+                NDList cached = cache.append(this, keyHeads, valueHeads);
+                keyHeads = cached.get(0);
+                valueHeads = cached.get(1);
+            } else if (cache != null) {
+                cache.putFixed(this, keyHeads, valueHeads);
+            }
+        }
+        F = keyHeads.getShape().get(2);
         // Apply attention by multiplying the key and query vectors: (B, N, T, F)
         // (For each entry in the sequence there is a weight for each other head in the sequence)
         NDArray attentionScores = queryHeads.matMul(keyHeads.transpose(0, 1, 3, 2));
@@ -15,6 +15,7 @@ package ai.djl.repository.zoo;
 import ai.djl.Application;
 import ai.djl.Device;
 import ai.djl.engine.Engine;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.translate.Translator;
 import ai.djl.util.Progress;
 import java.util.HashMap;
@@ -40,6 +41,9 @@ public class Criteria<I, O> {
     private Map<String, Object> options;
     private Translator<I, O> translator;
     private Progress progress;
+    private int intraOpThreads;
+    private int interOpThreads;
+    private DataType mixedPrecision;
 
     Criteria(Builder<I, O> builder) {
         this.application = builder.application;
@@ -54,6 +58,9 @@ public class Criteria<I, O> {
         this.options = builder.options;
         this.translator = builder.translator;
         this.progress = builder.progress;
+        this.intraOpThreads = builder.intraOpThreads;
+        this.interOpThreads = builder.interOpThreads;
+        this.mixedPrecision = builder.mixedPrecision;
     }
 
     /**
@@ -164,6 +171,34 @@ public class Criteria<I, O> {
         return progress;
     }
 
+    /**
+     * Returns the number of threads used within an operator.
+     *
+     * @return the number of threads used within an operator, not positive for the engine default
+     */
+    public int getIntraOpThreads() {
+        return intraOpThreads;
+    }
+
+    /**
+     * Returns the number of threads used to run operators concurrently.
+     *
+     * @return the number of threads used to run operators concurrently, not positive for the
+     *     engine default
+     */
+    public int getInterOpThreads() {
+        return interOpThreads;
+    }
+
+    /**
+     * Returns the reduced precision data type the model runs inference with.
+     *
+     * @return the reduced precision data type, or {@code null} to keep the model precision
+     */
+    public DataType getMixedPrecision() {
+        return mixedPrecision;
+    }
+
     /**
      * Creates a builder to build a {@code Criteria}.
      *
@@ -188,6 +223,9 @@ public class Criteria<I, O> {
         Map<String, Object> options;
         Translator<I, O> translator;
         Progress progress;
+        int intraOpThreads;
+        int interOpThreads;
+        DataType mixedPrecision;
 
         Builder() {
             engine = Engine.getInstance().getEngineName();
@@ -204,6 +242,9 @@ public class Criteria<I, O> {
             arguments = parent.arguments;
             options = parent.options;
             progress = parent.progress;
+            intraOpThreads = parent.intraOpThreads;
+            interOpThreads = parent.interOpThreads;
+            mixedPrecision = parent.mixedPrecision;
         }
 
         /**
@@ -380,6 +421,42 @@ public class Criteria<I, O> {
             return this;
         }
 
+        /**
+         * Sets the number of threads the engine uses to run operators.
+         *
+         * <p>The setting applies to the whole engine of this criteria when the model is loaded. A
+         * value that is not positive keeps the engine default.
+         *
+         * @param intraOpThreads the number of threads used within an operator
+         * @param interOpThreads the number of threads used to run operators concurrently
+         * @return this {@code Builder}
+         * @see Engine#setNumThreads(int, int)
+         */
+        public Builder<I, O> optNumThreads(int intraOpThreads, int interOpThreads) {
+            this.intraOpThreads = intraOpThreads;
+            this.interOpThreads = interOpThreads;
+            return this;
+        }
+
+        /**
+         * Sets the reduced precision data type to run inference with, such as {@link
+         * DataType#FLOAT16}.
+         *
+         * <p>The parameters of the model are cast once when the model is loaded, except the
+         * normalization parameters which stay in full precision. The {@link
+         * ai.djl.inference.Predictor} casts the float32 inputs to the reduced precision and the
+         * outputs back to float32, so the translator is unchanged. If the engine cannot cast the
+         * model, it keeps running in full precision.
+         *
+         * @param dataType the reduced precision data type
+         * @return this {@code Builder}
+         * @see ai.djl.Model#cast(DataType)
+         */
+        public Builder<I, O> optMixedPrecision(DataType dataType) {
+            this.mixedPrecision = dataType;
+            return this;
+        }
+
         /**
          * Builds a {@link Criteria} instance.
          *
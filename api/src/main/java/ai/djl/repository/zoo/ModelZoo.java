@@ -14,6 +14,8 @@ package ai.djl.repository.zoo;
 
 import ai.djl.Application;
 import ai.djl.MalformedModelException;
+import ai.djl.engine.Engine;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.repository.Artifact;
 import java.io.IOException;
 import java.lang.reflect.Field;
@@ -24,6 +26,8 @@ import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** An interface represents a collection of models. */
 public interface ModelZoo {
@@ -93,6 +97,12 @@ public interface ModelZoo {
      */
     static <I, O> ZooModel<I, O> loadModel(Criteria<I, O> criteria)
             throws IOException, ModelNotFoundException, MalformedModelException {
+        int intraOpThreads = criteria.getIntraOpThreads();
+        int interOpThreads = criteria.getInterOpThreads();
+        if (intraOpThreads > 0 || interOpThreads > 0) {
+            Engine.getEngine(criteria.getEngine()).setNumThreads(intraOpThreads, interOpThreads);
+        }
+
         String groupId = criteria.getGroupId();
         ServiceLoader<ZooProvider> providers = ServiceLoader.load(ZooProvider.class);
         for (ZooProvider provider : providers) {
@@ -125,11 +135,27 @@ public interface ModelZoo {
                     continue;
                 }
 
+                ZooModel<I, O> model;
                 try {
-                    return loader.loadModel(criteria);
+                    model = loader.loadModel(criteria);
                 } catch (ModelNotFoundException e) {
                     // ignore
+                    continue;
+                }
+                DataType mixedPrecision = criteria.getMixedPrecision();
+                if (mixedPrecision != null) {
+                    try {
+                        model.cast(mixedPrecision);
+                    } catch (UnsupportedOperationException e) {
+                        Logger logger = LoggerFactory.getLogger(ModelZoo.class);
+                        logger.warn(
+                                "Model {} cannot be cast to {}, using {}.",
+                                model.getName(),
+                                mixedPrecision,
+                                model.getDataType());
+                    }
                 }
+                return model;
             }
         }
         throw new ModelNotFoundException(
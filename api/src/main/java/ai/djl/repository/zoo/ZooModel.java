@@ -124,6 +124,15 @@ public class ZooModel<I, O> implements Model {
         return translator;
     }
 
+    /**
+     * Returns the engine specific model wrapped by this {@code ZooModel}.
+     *
+     * @return the engine specific model
+     */
+    public Model getWrappedModel() {
+        return model;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PairList<String, Shape> describeInput() {
@@ -106,8 +106,13 @@ public class ParameterStore {
         ParameterData data =
                 parameterMap.computeIfAbsent(parameterId, k -> new ParameterData(parameter));
 
+        if (data.isStale()) {
+            // the parameter array has been replaced, for example cast to another data type
+            data.reset();
+        }
         if (data.isEmpty()) {
             NDArray array = parameter.getArray();
+            data.setSource(array);
 
             if (parameterServer != null) {
                 // initialize on parameter store for first time
@@ -149,6 +154,7 @@ public class ParameterStore {
     private final class ParameterData {
 
         private Parameter parameter;
+        private NDArray source;
         private List<NDArray> list;
 
         private ParameterData(Parameter parameter) {
@@ -164,6 +170,24 @@ public class ParameterStore {
             return list.isEmpty();
         }
 
+        private void setSource(NDArray source) {
+            this.source = source;
+        }
+
+        private boolean isStale() {
+            return source != null && parameter.getArray() != source;
+        }
+
+        private void reset() {
+            for (NDArray array : list) {
+                if (array != source) {
+                    array.close();
+                }
+            }
+            list.clear();
+            source = null;
+        }
+
         private void add(NDArray array) {
             list.add(array);
         }
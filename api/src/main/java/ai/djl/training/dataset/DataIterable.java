@@ -174,6 +174,11 @@ public class DataIterable implements Iterable<Batch>, Iterator<Batch> {
         Arrays.stream(data).forEach(NDList::close);
         Arrays.stream(labels).forEach(NDList::close);
 
+        // apply batch transform once on the stacked batch
+        if (pipeline != null) {
+            batchData = pipeline.transformBatch(batchData);
+        }
+
         // apply label transform
         if (targetPipeline != null) {
             batchLabels = targetPipeline.transform(batchLabels);
@@ -19,14 +19,23 @@ import ai.djl.util.PairList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-/** {@code Pipeline} allows applying multiple transforms on an input {@link NDList}. */
+/**
+ * {@code Pipeline} allows applying multiple transforms on an input {@link NDList}.
+ *
+ * <p>A {@code Pipeline} can also hold batch transforms, which are applied by {@link
+ * #transformBatch(NDList)} once on the stacked batch produced by a {@link Batchifier} instead of on
+ * every record. Batch transforms receive an {@link NDArray} with an extra leading batch axis, and
+ * run as a few vectorized operations over the whole batch.
+ */
 public class Pipeline {
 
     private PairList<IndexKey, Transform> transforms;
+    private PairList<IndexKey, Transform> batchTransforms;
 
     /** Creates a new instance of {@code Pipeline} that has no {@link Transform} defined yet. */
     public Pipeline() {
         transforms = new PairList<>();
+        batchTransforms = new PairList<>();
     }
 
     /**
@@ -41,6 +50,7 @@ public class Pipeline {
      */
     public Pipeline(Transform... transforms) {
         this.transforms = new PairList<>();
+        batchTransforms = new PairList<>();
         for (Transform transform : transforms) {
             this.transforms.add(new IndexKey(0), transform);
         }
@@ -147,7 +157,75 @@ public class Pipeline {
      * @return the output {@link NDList} after applying the tranforms
      */
     public NDList transform(NDList input) {
-        if (transforms.isEmpty() || input.isEmpty()) {
+        return apply(input, transforms);
+    }
+
+    /**
+     * Adds the given batch {@link Transform} to be applied on the first element of a batched
+     * {@link NDList} when the {@link #transformBatch(NDList) transformBatch} method is called on
+     * this object.
+     *
+     * @param transform the batch {@link Transform} to be added
+     * @return this {@code Pipeline}
+     */
+    public Pipeline addBatchTransform(Transform transform) {
+        batchTransforms.add(new IndexKey(0), transform);
+        return this;
+    }
+
+    /**
+     * Adds the given batch {@link Transform} to be applied on the {@link NDArray} at the given
+     * index in a batched {@link NDList}.
+     *
+     * @param index the index corresponding to the {@link NDArray} in the batched {@link NDList} on
+     *     which the given transform must be applied to
+     * @param transform the batch {@link Transform} to be added
+     * @return this {@code Pipeline}
+     */
+    public Pipeline addBatchTransform(int index, Transform transform) {
+        batchTransforms.add(new IndexKey(index), transform);
+        return this;
+    }
+
+    /**
+     * Adds the given batch {@link Transform} to be applied on the {@link NDArray} with the given
+     * key as name in a batched {@link NDList}.
+     *
+     * @param name the key corresponding to the {@link NDArray} in the batched {@link NDList} on
+     *     which the given transform must be applied to
+     * @param transform the batch {@link Transform} to be added
+     * @return this {@code Pipeline}
+     */
+    public Pipeline addBatchTransform(String name, Transform transform) {
+        batchTransforms.add(new IndexKey(name), transform);
+        return this;
+    }
+
+    /**
+     * Returns {@code true} if this {@code Pipeline} has batch transforms.
+     *
+     * @return {@code true} if this {@code Pipeline} has batch transforms
+     */
+    public boolean hasBatchTransforms() {
+        return !batchTransforms.isEmpty();
+    }
+
+    /**
+     * Applies the batch transforms configured in this object on a batched {@link NDList}.
+     *
+     * <p>Each {@link NDArray} of the input has a leading batch axis, as produced by {@link
+     * Batchifier#batchify(NDList[])}. The keys of batch transforms are resolved the same way as in
+     * {@link #transform(NDList)}.
+     *
+     * @param input the batched {@link NDList} on which the batch transforms are to be applied
+     * @return the output {@link NDList} after applying the batch transforms
+     */
+    public NDList transformBatch(NDList input) {
+        return apply(input, batchTransforms);
+    }
+
+    private NDList apply(NDList input, PairList<IndexKey, Transform> list) {
+        if (list.isEmpty() || input.isEmpty()) {
             return input;
         }
 
@@ -163,7 +241,7 @@ public class Pipeline {
             map.put(new IndexKey(i), i);
         }
         // apply transform
-        for (Pair<IndexKey, Transform> transform : transforms) {
+        for (Pair<IndexKey, Transform> transform : list) {
             IndexKey key = transform.getKey();
             int index = map.get(key);
             NDArray array = arrays[index];
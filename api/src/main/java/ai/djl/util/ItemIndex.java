@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code ItemIndex} is an immutable, read-optimized two-way mapping between items and int indices.
+ *
+ * <p>The item to index direction is an open-addressing hash table stored in two parallel arrays,
+ * and the index to item direction is a plain array. Lookups do not box the index or allocate, and
+ * the whole index costs a few references and ints per item instead of map entry objects.
+ *
+ * <p>An {@code ItemIndex} is safe to be shared between threads.
+ *
+ * @param <T> the type of the items
+ */
+public final class ItemIndex<T> {
+
+    private Object[] items;
+    private Object[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    private ItemIndex(Object[] items) {
+        this.items = items;
+        int capacity = Integer.highestOneBit(Math.max(items.length, 1) * 2 - 1) << 1;
+        keys = new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < items.length; ++i) {
+            Object item = items[i];
+            if (item == null) {
+                continue;
+            }
+            int slot = find(item);
+            if (keys[slot] == null) {
+                ++size;
+            }
+            keys[slot] = item;
+            values[slot] = i;
+        }
+    }
+
+    /**
+     * Creates an {@code ItemIndex} where each item is mapped to its position in the list plus the
+     * given offset.
+     *
+     * @param items the items in index order
+     * @param offset the index of the first item
+     * @param <T> the type of the items
+     * @return a new {@code ItemIndex}
+     */
+    public static <T> ItemIndex<T> of(List<T> items, int offset) {
+        Object[] array = new Object[items.size() + offset];
+        for (int i = 0; i < items.size(); ++i) {
+            array[i + offset] = items.get(i);
+        }
+        return new ItemIndex<>(array);
+    }
+
+    /**
+     * Creates an {@code ItemIndex} from an array indexed by item index.
+     *
+     * <p>{@code null} elements of the array are unused indices. If an item occurs more than once,
+     * it is mapped to its last index.
+     *
+     * @param itemsByIndex the items, at their index position
+     * @param <T> the type of the items
+     * @return a new {@code ItemIndex}
+     */
+    public static <T> ItemIndex<T> of(T[] itemsByIndex) {
+        return new ItemIndex<>(itemsByIndex.clone());
+    }
+
+    /**
+     * Returns the index of the given item.
+     *
+     * @param item the item
+     * @return the index of the item, or -1 if the item is not in this {@code ItemIndex}
+     */
+    public int indexOf(T item) {
+        int slot = find(item);
+        return keys[slot] == null ? -1 : values[slot];
+    }
+
+    /**
+     * Returns whether the given item is in this {@code ItemIndex}.
+     *
+     * @param item the item
+     * @return {@code true} if the item is in this {@code ItemIndex}
+     */
+    public boolean contains(T item) {
+        return keys[find(item)] != null;
+    }
+
+    /**
+     * Returns the item at the given index.
+     *
+     * @param index the index
+     * @return the item at the given index, or {@code null} if the index is not used
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= items.length) {
+            return null;
+        }
+        return (T) items[index];
+    }
+
+    /**
+     * Returns the number of distinct items.
+     *
+     * @return the number of distinct items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of indices, which is one more than the largest index in use.
+     *
+     * @return the number of indices
+     */
+    public int indexSize() {
+        return items.length;
+    }
+
+    /**
+     * Returns the items in index order, skipping unused indices.
+     *
+     * @return the items in index order
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        List<T> list = new ArrayList<>(size);
+        for (Object item : items) {
+            if (item != null) {
+                list.add((T) item);
+            }
+        }
+        return list;
+    }
+
+    private int find(Object item) {
+        int h = item.hashCode() * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (keys[slot] != null && !keys[slot].equals(item)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
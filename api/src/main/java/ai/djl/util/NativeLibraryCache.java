@@ -0,0 +1,209 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code NativeLibraryCache} extracts native libraries of an engine into a cache directory.
+ *
+ * <p>The files are extracted in parallel into a temporary directory, together with a manifest that
+ * records the size and CRC32 checksum of each file, and the directory is then moved into place.
+ * On later starts {@link #isCached(Path, String)} only compares the file sizes against the
+ * manifest, so a complete cache is reused without reading or hashing the libraries. Set the
+ * {@code ai.djl.native.verify_checksum} system property to {@code true} to also verify the
+ * checksums.
+ */
+public final class NativeLibraryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeLibraryCache.class);
+
+    static final String MANIFEST = ".manifest";
+
+    private NativeLibraryCache() {}
+
+    /**
+     * Returns whether the directory holds a complete copy of the extracted libraries.
+     *
+     * <p>A directory without manifest, extracted by an earlier version, is complete if it contains
+     * the main library.
+     *
+     * @param dir the cache directory
+     * @param libName the file name of the main library
+     * @return {@code true} if the libraries can be loaded from the directory
+     */
+    public static boolean isCached(Path dir, String libName) {
+        Path manifestFile = dir.resolve(MANIFEST);
+        if (Files.notExists(manifestFile)) {
+            return Files.exists(dir.resolve(libName));
+        }
+        Properties manifest = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifestFile)) {
+            manifest.load(reader);
+        } catch (IOException e) {
+            logger.debug("Failed to read native library manifest: {}", manifestFile, e);
+            return false;
+        }
+        boolean verify = Boolean.getBoolean("ai.djl.native.verify_checksum");
+        for (String name : manifest.stringPropertyNames()) {
+            String[] tokens = manifest.getProperty(name).split(",");
+            Path file = dir.resolve(name);
+            try {
+                if (Files.notExists(file) || Files.size(file) != Long.parseLong(tokens[0])) {
+                    logger.debug("Native library does not match the manifest: {}", file);
+                    return false;
+                }
+                if (verify && !tokens[1].equals(checksum(file))) {
+                    logger.debug("Native library checksum does not match the manifest: {}", file);
+                    return false;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Invalid native library manifest entry: {}", name, e);
+                return false;
+            }
+        }
+        return manifest.containsKey(libName);
+    }
+
+    /**
+     * Extracts the files into the cache directory, replacing an incomplete cache.
+     *
+     * <p>If another process completes the cache directory first, its copy is kept and this
+     * extraction is discarded.
+     *
+     * @param dir the cache directory
+     * @param libName the file name of the main library
+     * @param sources the sources of the files to extract, by file name
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void extract(Path dir, String libName, Map<String, Source> sources)
+            throws IOException {
+        long begin = System.nanoTime();
+        Path parent = dir.toAbsolutePath().getParent();
+        if (parent == null) {
+            throw new IllegalArgumentException("Invalid cache directory: " + dir);
+        }
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempDirectory(parent, "tmp");
+        int threads = Math.min(sources.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        try {
+            List<String> names = new ArrayList<>(sources.keySet());
+            List<Future<String>> futures = new ArrayList<>(names.size());
+            for (String name : names) {
+                Source source = sources.get(name);
+                futures.add(executor.submit(() -> copy(source, tmp.resolve(name))));
+            }
+            Properties manifest = new Properties();
+            for (int i = 0; i < names.size(); ++i) {
+                manifest.setProperty(names.get(i), get(futures.get(i)));
+            }
+            // the manifest is written last, only a complete extraction has one
+            try (OutputStream os = Files.newOutputStream(tmp.resolve(MANIFEST))) {
+                manifest.store(os, null);
+            }
+
+            if (isCached(dir, libName)) {
+                // another process has completed the cache in the meantime, keep its copy
+                return;
+            }
+            if (Files.exists(dir)) {
+                // move the incomplete cache out of the way before it is deleted
+                Path stale = Files.createTempDirectory(parent, "stale");
+                Files.move(dir, stale.resolve("dir"));
+                Utils.deleteQuietly(stale);
+            }
+            Utils.moveQuietly(tmp, dir);
+        } finally {
+            executor.shutdownNow();
+            Utils.deleteQuietly(tmp);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "Extracted {} native libraries to {} in {} ms.",
+                    sources.size(),
+                    dir,
+                    String.format("%.3f", (System.nanoTime() - begin) / 1_000_000f));
+        }
+    }
+
+    private static String copy(Source source, Path target) throws IOException {
+        long begin = System.nanoTime();
+        try (CheckedInputStream is = new CheckedInputStream(source.open(), new CRC32())) {
+            long size = Files.copy(is, target);
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "Extracted {} in {} ms.",
+                        target.getFileName(),
+                        String.format("%.3f", (System.nanoTime() - begin) / 1_000_000f));
+            }
+            return size + "," + Long.toHexString(is.getChecksum().getValue());
+        }
+    }
+
+    private static String get(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Native library extraction was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to extract native library", cause);
+        }
+    }
+
+    static String checksum(Path file) throws IOException {
+        byte[] buf = new byte[81920];
+        InputStream fis = Files.newInputStream(file);
+        try (CheckedInputStream is = new CheckedInputStream(fis, new CRC32())) {
+            int read;
+            do {
+                read = is.read(buf);
+            } while (read != -1);
+            return Long.toHexString(is.getChecksum().getValue());
+        }
+    }
+
+    /** A source of a native library file. */
+    public interface Source {
+
+        /**
+         * Opens a new stream of the file content.
+         *
+         * @return a new stream of the file content
+         * @throws IOException if the stream cannot be opened
+         */
+        InputStream open() throws IOException;
+    }
+}
@@ -21,5 +21,20 @@ public class EngineTest {
     public void testGetEngine() {
         Engine engine = Engine.getEngine("MockEngine");
         Assert.assertNotNull(engine);
+        Assert.assertSame(Engine.getEngine("MockEngine"), engine);
+    }
+
+    @Test
+    public void testGetAllEngines() {
+        Assert.assertTrue(Engine.getAllEngines().contains("MockEngine"));
+    }
+
+    @Test
+    public void testDefaultEngineName() {
+        EngineProvider provider = () -> Engine.getEngine("MockEngine");
+        Assert.assertEquals(provider.getEngineName(), "MockEngine");
+
+        EngineProvider failed = () -> null;
+        Assert.assertNull(failed.getEngineName());
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv.util;
+
+import ai.djl.modality.cv.output.Mask;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DetectionUtilsTest {
+
+    @Test
+    public void testTopK() {
+        float[] scores = {0.1f, 0.9f, 0.5f, 0.7f, 0.3f, 0.8f};
+        Assert.assertEquals(DetectionUtils.topK(scores, 3, 0f), new int[] {1, 5, 3});
+        Assert.assertEquals(DetectionUtils.topK(scores, -1, 0.4f), new int[] {1, 5, 3, 2});
+        Assert.assertEquals(DetectionUtils.topK(scores, 10, 0.95f), new int[0]);
+    }
+
+    @Test
+    public void testNms() {
+        float[] boxes = {
+            0f, 0f, 1f, 1f, // 0
+            0.1f, 0f, 1.1f, 1f, // 1, overlaps 0
+            2f, 2f, 3f, 3f, // 2
+            0f, 0.05f, 1f, 1.05f // 3, overlaps 0 but another class
+        };
+        int[] classIds = {0, 0, 0, 1};
+        int[] candidates = {0, 1, 2, 3};
+
+        Assert.assertEquals(
+                DetectionUtils.nms(boxes, classIds, candidates, 0.5f, -1), new int[] {0, 2, 3});
+        Assert.assertEquals(
+                DetectionUtils.nms(boxes, null, candidates, 0.5f, -1), new int[] {0, 2});
+        Assert.assertEquals(
+                DetectionUtils.nms(boxes, classIds, candidates, 0.5f, 2), new int[] {0, 2});
+        Assert.assertEquals(DetectionUtils.iou(boxes, 0, 2), 0f);
+        Assert.assertEquals(DetectionUtils.iou(boxes, 0, 1), 0.9f / 1.1f, 1e-6f);
+    }
+
+    @Test
+    public void testNmsManyBoxes() {
+        int count = 5000;
+        Random random = new Random(42);
+        float[] boxes = new float[count * 4];
+        float[] scores = new float[count];
+        int[] classIds = new int[count];
+        for (int i = 0; i < count; ++i) {
+            float x = random.nextFloat();
+            float y = random.nextFloat();
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + 0.05f + random.nextFloat() * 0.2f;
+            boxes[i * 4 + 3] = y + 0.05f + random.nextFloat() * 0.2f;
+            scores[i] = random.nextFloat();
+            classIds[i] = random.nextInt(10);
+        }
+
+        int[] candidates = DetectionUtils.topK(scores, 1000, 0.05f);
+        Assert.assertEquals(candidates.length, 1000);
+        float[] sortedScores = scores.clone();
+        Arrays.sort(sortedScores);
+        for (int i = 1; i < candidates.length; ++i) {
+            Assert.assertTrue(scores[candidates[i - 1]] >= scores[candidates[i]]);
+        }
+        Assert.assertEquals(scores[candidates[0]], sortedScores[count - 1]);
+        Assert.assertEquals(scores[candidates[999]], sortedScores[count - 1000]);
+
+        int[] kept = DetectionUtils.nms(boxes, classIds, candidates, 0.45f, 100);
+        Assert.assertTrue(kept.length > 0 && kept.length <= 100);
+        for (int i = 0; i < kept.length; ++i) {
+            for (int j = i + 1; j < kept.length; ++j) {
+                if (classIds[kept[i]] == classIds[kept[j]]) {
+                    Assert.assertTrue(DetectionUtils.iou(boxes, kept[i], kept[j]) <= 0.45f);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDecodeBoxes() {
+        float[] anchors = {0.2f, 0.2f, 0.6f, 0.4f};
+        float[] variances = {0.1f, 0.1f, 0.2f, 0.2f};
+
+        float[] boxes = DetectionUtils.decodeBoxes(anchors, new float[4], variances, false);
+        for (int i = 0; i < 4; ++i) {
+            Assert.assertEquals(boxes[i], anchors[i], 1e-6f);
+        }
+
+        float[] offsets = {10f, 0f, (float) (5 * Math.log(2)), 0f};
+        boxes = DetectionUtils.decodeBoxes(anchors, offsets, variances, true);
+        Assert.assertEquals(boxes[0], 0.4f, 1e-6f);
+        Assert.assertEquals(boxes[1], 0.2f, 1e-6f);
+        Assert.assertEquals(boxes[2], 1f, 1e-6f);
+        Assert.assertEquals(boxes[3], 0.4f, 1e-6f);
+    }
+
+    @Test
+    public void testResizeMask() {
+        // two 2x2 masks in one array, the second one has its left column set
+        float[] masks = {0f, 0f, 0f, 0f, 1f, 0f, 1f, 0f};
+        BitSet bits = DetectionUtils.resizeMask(masks, 4, 2, 2, 4, 3, 0.5f);
+        Mask mask = new Mask(0, 0, 1, 1, 4, 3, bits);
+        Assert.assertTrue(mask.isBinary());
+        Assert.assertEquals(mask.getArea(), 6);
+        for (int y = 0; y < 3; ++y) {
+            Assert.assertTrue(mask.contains(0, y));
+            Assert.assertTrue(mask.contains(1, y));
+            Assert.assertFalse(mask.contains(2, y));
+            Assert.assertFalse(mask.contains(3, y));
+        }
+        float[][] dist = mask.getProbDist();
+        Assert.assertEquals(dist.length, 4);
+        Assert.assertEquals(dist[1], new float[] {1f, 1f, 1f});
+        Assert.assertEquals(dist[2], new float[] {0f, 0f, 0f});
+
+        Assert.assertTrue(DetectionUtils.resizeMask(masks, 0, 2, 2, 5, 5, 0.5f).isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SimpleVocabularyTest {
+
+    @Test
+    public void testBuild() {
+        List<List<String>> sentences =
+                Arrays.asList(
+                        Arrays.asList("b", "a", "c", "a"),
+                        Arrays.asList("c", "b", "a", "<eos>"),
+                        Arrays.asList("d", "b", "c"));
+        SimpleVocabulary vocabulary =
+                new SimpleVocabulary.VocabularyBuilder()
+                        .optMinFrequency(2)
+                        .optReservedTokens(Collections.singletonList("<eos>"))
+                        .addAll(sentences)
+                        .build();
+
+        Assert.assertEquals(vocabulary.size(), 5);
+        Assert.assertEquals(
+                vocabulary.getAllTokens(), Arrays.asList("<unk>", "<eos>", "a", "b", "c"));
+        Assert.assertEquals(vocabulary.getIndex("<unk>"), 0);
+        Assert.assertEquals(vocabulary.getIndex("a"), 2);
+        Assert.assertEquals(vocabulary.getIndex("d"), 0);
+        Assert.assertEquals(vocabulary.getToken(4), "c");
+        Assert.assertEquals(vocabulary.getToken(10), "<unk>");
+        Assert.assertTrue(vocabulary.isKnownToken("<eos>"));
+        Assert.assertFalse(vocabulary.isKnownToken("d"));
+    }
+
+    @Test
+    public void testParallelStream() {
+        List<List<String>> sentences = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            sentences.add(Arrays.asList("token" + (i % 100), "token" + (i % 7), "common"));
+        }
+        SimpleVocabulary.VocabularyBuilder builder =
+                new SimpleVocabulary.VocabularyBuilder().optMinFrequency(1);
+        for (List<String> sentence : sentences) {
+            builder.add(sentence);
+        }
+        SimpleVocabulary sequential = builder.build();
+        SimpleVocabulary parallel =
+                new SimpleVocabulary.VocabularyBuilder()
+                        .optMinFrequency(1)
+                        .addAll(sentences.parallelStream())
+                        .build();
+
+        Assert.assertEquals(parallel.size(), 102);
+        Assert.assertEquals(parallel.getAllTokens(), sequential.getAllTokens());
+        Assert.assertEquals(parallel.getToken(1), "common");
+    }
+}
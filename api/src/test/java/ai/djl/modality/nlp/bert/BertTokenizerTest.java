@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.bert;
+
+import java.util.Arrays;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BertTokenizerTest {
+
+    private static final List<String> TOKENS =
+            Arrays.asList(
+                    "[PAD]", "[UNK]", "[CLS]", "[SEP]", "what", "is", "un", "##aff", "##able",
+                    "play", "##ing", "he", "?", ".", "##s");
+
+    @Test
+    public void testEncodeIds() {
+        BertTokenizer tokenizer = new BertTokenizer(new ListVocabulary());
+        BertEncoding encoding = tokenizer.encodeIds("What is?", "he is unaffable, playings.", 0);
+
+        Assert.assertEquals(
+                encoding.getTokenIds(),
+                new long[] {2, 1, 5, 12, 3, 11, 5, 6, 7, 8, 1, 9, 10, 14, 13, 3});
+        Assert.assertEquals(
+                encoding.getTokenTypes(),
+                new long[] {0, 0, 0, 0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1});
+        Assert.assertEquals(encoding.getValidLength(), 13);
+        Assert.assertEquals(
+                encoding.getTokens(5, 11),
+                Arrays.asList("he", "is", "un", "##aff", "##able", ","));
+        Assert.assertEquals(encoding.getTokens(1, 2), Arrays.asList("What"));
+    }
+
+    @Test
+    public void testTruncateAndPad() {
+        BertTokenizer tokenizer = new BertTokenizer(new ListVocabulary());
+        BertEncoding encoding = tokenizer.encodeIds("what", "he is playing", 6);
+        Assert.assertEquals(encoding.getTokenIds(), new long[] {2, 4, 3, 11, 5, 3});
+        Assert.assertEquals(encoding.getValidLength(), 3);
+
+        encoding = tokenizer.encodeIds("what", "he", 8);
+        Assert.assertEquals(encoding.getTokenIds(), new long[] {2, 4, 3, 11, 3, 0, 0, 0});
+        Assert.assertEquals(encoding.getAttentionMask(), new long[] {1, 1, 1, 1, 1, 0, 0, 0});
+        Assert.assertEquals(encoding.length(), 8);
+    }
+
+    @Test
+    public void testEncodeWindows() {
+        BertTokenizer tokenizer = new BertTokenizer(new ListVocabulary());
+        List<BertEncoding> windows =
+                tokenizer.encodeWindows("what", "he is playing he is.", 7, 2);
+        Assert.assertEquals(windows.size(), 3);
+        Assert.assertEquals(windows.get(0).getTokenIds(), new long[] {2, 4, 3, 11, 5, 9, 3});
+        Assert.assertEquals(windows.get(1).getTokenIds(), new long[] {2, 4, 3, 9, 10, 11, 3});
+        Assert.assertEquals(windows.get(2).getTokenIds(), new long[] {2, 4, 3, 11, 5, 13, 3});
+        Assert.assertEquals(windows.get(2).getTokens(3, 6), Arrays.asList("he", "is", "."));
+
+        windows = tokenizer.encodeWindows("what", "he is", 7, 2);
+        Assert.assertEquals(windows.size(), 1);
+        Assert.assertEquals(windows.get(0).getTokenIds(), new long[] {2, 4, 3, 11, 5, 3});
+
+        // the question is cut to half of the window to leave room for the paragraph
+        windows = tokenizer.encodeWindows("what is what is what", "he is playing", 6, 2);
+        Assert.assertEquals(windows.size(), 2);
+        Assert.assertEquals(windows.get(0).getTokenIds(), new long[] {2, 4, 3, 11, 5, 3});
+        Assert.assertEquals(windows.get(1).getTokenIds(), new long[] {2, 4, 3, 9, 10, 3});
+    }
+
+    private static final class ListVocabulary extends BertVocabulary {
+
+        /** {@inheritDoc} */
+        @Override
+        public String getToken(long index) {
+            return TOKENS.get((int) index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long getIndex(String token) {
+            int index = TOKENS.indexOf(token);
+            return index < 0 ? 1 : index;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return TOKENS.size();
+        }
+    }
+}
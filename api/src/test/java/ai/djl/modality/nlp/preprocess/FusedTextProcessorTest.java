@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.preprocess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FusedTextProcessorTest {
+
+    private static final String[] SENTENCES = {
+        "Hello. How are you?!",
+        "  Leading spaces, and ... dots",
+        "Trailing spaces   ",
+        "",
+        "?",
+        "Non\u2011breaking hyphen and soft\u00ADhyphen",
+        "A fairly long sentence that is going to be truncated after a few tokens ."
+    };
+
+    @Test
+    public void testFusedChain() {
+        List<TextProcessor> processors =
+                Arrays.asList(
+                        new SimpleTokenizer(),
+                        new LowerCaseConvertor(Locale.ENGLISH),
+                        new HyphenNormalizer(),
+                        new PunctuationSeparator(),
+                        new TextTruncator(8),
+                        new TextTerminator());
+        FusedTextProcessor fused = FusedTextProcessor.fuse(processors);
+        for (String sentence : SENTENCES) {
+            Assert.assertEquals(fused.process(sentence), applyInOrder(processors, sentence));
+        }
+        Assert.assertEquals(
+                fused.process("Hello. How are you?!"),
+                Arrays.asList("<bos>", "hello", ".", "how", "are", "you", "?", "!", "<eos>"));
+        Assert.assertNotNull(fused.getConfiguration());
+        Assert.assertEquals(
+                FusedTextProcessor.fuse(processors).getConfiguration(), fused.getConfiguration());
+    }
+
+    @Test
+    public void testConfiguration() {
+        String configuration =
+                FusedTextProcessor.fuse(
+                                Arrays.asList(new SimpleTokenizer(), new TextTruncator(8)))
+                        .getConfiguration();
+        Assert.assertNotEquals(
+                FusedTextProcessor.fuse(
+                                Arrays.asList(new SimpleTokenizer(), new TextTruncator(9)))
+                        .getConfiguration(),
+                configuration);
+
+        TextProcessor custom = tokens -> tokens;
+        FusedTextProcessor fused =
+                FusedTextProcessor.fuse(Arrays.asList(new SimpleTokenizer(), custom));
+        Assert.assertNull(fused.getConfiguration());
+        Assert.assertEquals(fused.process("a b"), Arrays.asList("a", "b"));
+    }
+
+    private static List<String> applyInOrder(List<TextProcessor> processors, String sentence) {
+        List<String> tokens = new ArrayList<>(Collections.singletonList(sentence));
+        for (TextProcessor processor : processors) {
+            tokens = processor.preprocess(tokens);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.translator;
+
+import ai.djl.Model;
+import ai.djl.metric.Metrics;
+import ai.djl.modality.nlp.bert.BertEncoding;
+import ai.djl.modality.nlp.bert.BertTokenizer;
+import ai.djl.modality.nlp.bert.BertVocabulary;
+import ai.djl.modality.nlp.qa.QAInput;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.translate.TranslatorContext;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class QATranslatorTest {
+
+    private static final List<String> TOKENS =
+            Arrays.asList("[PAD]", "[UNK]", "[CLS]", "[SEP]", "what", "is", "he", "play", ".");
+
+    @Test
+    public void testDecode() {
+        BertTokenizer tokenizer = new BertTokenizer(new ListVocabulary());
+        // [CLS] what [SEP] he is play he is . [SEP]
+        List<BertEncoding> windows = tokenizer.encodeWindows("what", "he is play he is.", 0, 0);
+        float[] startLogits = new float[10];
+        float[] endLogits = new float[10];
+        startLogits[3] = 4;
+        startLogits[6] = 5;
+        endLogits[4] = 5;
+        endLogits[7] = 3;
+
+        // the best start comes after the best end, so the best valid span is taken instead
+        QATranslator translator = new TestTranslator(new Builder());
+        TranslatorContext ctx = new TestContext();
+        translator.addWindows(ctx, windows);
+        Assert.assertEquals(translator.decode(ctx, startLogits, endLogits), "[he, is]");
+
+        translator = new TestTranslator(new Builder().optMaxAnswerLength(1));
+        translator.addWindows(ctx, windows);
+        Assert.assertEquals(translator.decode(ctx, startLogits, endLogits), "[is]");
+    }
+
+    private static final class TestTranslator extends QATranslator {
+
+        TestTranslator(Builder builder) {
+            super(builder);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDList processInput(TranslatorContext ctx, QAInput input) {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String processOutput(TranslatorContext ctx, NDList list) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class Builder extends QATranslator.BaseBuilder<Builder> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+
+    private static final class TestContext implements TranslatorContext {
+
+        private Map<String, Object> attachments = new HashMap<>();
+
+        /** {@inheritDoc} */
+        @Override
+        public Model getModel() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDManager getNDManager() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Metrics getMetrics() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Object getAttachment(String key) {
+            return attachments.get(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setAttachment(String key, Object value) {
+            attachments.put(key, value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {}
+    }
+
+    private static final class ListVocabulary extends BertVocabulary {
+
+        /** {@inheritDoc} */
+        @Override
+        public String getToken(long index) {
+            return TOKENS.get((int) index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long getIndex(String token) {
+            int index = TOKENS.indexOf(token);
+            return index < 0 ? 1 : index;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return TOKENS.size();
+        }
+    }
+}
@@ -19,6 +19,12 @@ public class MockEngineProvider implements EngineProvider {
 
     private static final Engine ENGINE = new MockEngine();
 
+    /** {@inheritDoc} */
+    @Override
+    public String getEngineName() {
+        return ENGINE.getEngineName();
+    }
+
     /** {@inheritDoc} */
     @Override
     public Engine getEngine() {
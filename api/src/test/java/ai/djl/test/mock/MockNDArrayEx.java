@@ -379,12 +379,24 @@ public class MockNDArrayEx implements NDArrayEx {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDArray flip(int... axes) {
+        return null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDArray pick(NDArray index, int axis, boolean keepDims, String mode) {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDArray take(NDArray indices, int axis) {
+        return null;
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDArray where(NDArray condition, NDArray other) {
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ItemIndexTest {
+
+    @Test
+    public void testIndex() {
+        ItemIndex<String> index = ItemIndex.of(Arrays.asList("a", "b", "c", "b"), 1);
+        Assert.assertEquals(index.size(), 3);
+        Assert.assertEquals(index.indexSize(), 5);
+        Assert.assertEquals(index.indexOf("a"), 1);
+        Assert.assertEquals(index.indexOf("b"), 4);
+        Assert.assertEquals(index.indexOf("d"), -1);
+        Assert.assertTrue(index.contains("c"));
+        Assert.assertFalse(index.contains("d"));
+        Assert.assertNull(index.get(0));
+        Assert.assertEquals(index.get(3), "c");
+        Assert.assertNull(index.get(5));
+
+        index = ItemIndex.of(new String[] {"x", null, "z"});
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertEquals(index.toList(), Arrays.asList("x", "z"));
+        Assert.assertEquals(index.indexOf("z"), 2);
+    }
+
+    @Test
+    public void testLargeIndex() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 100000; ++i) {
+            items.add(i * 31);
+        }
+        ItemIndex<Integer> index = ItemIndex.of(items, 0);
+        Assert.assertEquals(index.size(), items.size());
+        for (int i = 0; i < items.size(); ++i) {
+            Assert.assertEquals(index.indexOf(items.get(i)), i);
+        }
+        Assert.assertEquals(index.indexOf(1), -1);
+    }
+}
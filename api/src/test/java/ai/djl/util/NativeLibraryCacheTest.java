@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class NativeLibraryCacheTest {
+
+    private static final Path CACHE_DIR = Paths.get("build/tmp/nativeCache/");
+
+    @BeforeClass
+    public void preprocess() {
+        Utils.deleteQuietly(CACHE_DIR);
+    }
+
+    @AfterClass
+    public void postprocess() {
+        Utils.deleteQuietly(CACHE_DIR);
+    }
+
+    @Test
+    public void testExtract() throws IOException {
+        Path dir = CACHE_DIR.resolve("1.0.0cpu-linux-x86_64");
+        Assert.assertFalse(NativeLibraryCache.isCached(dir, "libtest.so"));
+
+        Map<String, NativeLibraryCache.Source> sources = new LinkedHashMap<>();
+        sources.put("libtest.so", () -> stream("main library"));
+        sources.put("libdep.so", () -> stream("dependency"));
+        NativeLibraryCache.extract(dir, "libtest.so", sources);
+        Assert.assertTrue(NativeLibraryCache.isCached(dir, "libtest.so"));
+        Assert.assertFalse(NativeLibraryCache.isCached(dir, "libother.so"));
+        Assert.assertEquals(Files.readAllBytes(dir.resolve("libdep.so")), bytes("dependency"));
+
+        // a truncated file invalidates the cache
+        Files.write(dir.resolve("libdep.so"), bytes("dep"));
+        Assert.assertFalse(NativeLibraryCache.isCached(dir, "libtest.so"));
+
+        // a changed file of the same size only fails the checksum verification
+        Files.write(dir.resolve("libdep.so"), bytes("Dependency"));
+        Assert.assertTrue(NativeLibraryCache.isCached(dir, "libtest.so"));
+        System.setProperty("ai.djl.native.verify_checksum", "true");
+        try {
+            Assert.assertFalse(NativeLibraryCache.isCached(dir, "libtest.so"));
+        } finally {
+            System.clearProperty("ai.djl.native.verify_checksum");
+        }
+
+        // extracting again replaces the invalid cache
+        Files.write(dir.resolve("libdep.so"), bytes("dep"));
+        NativeLibraryCache.extract(dir, "libtest.so", sources);
+        Assert.assertEquals(Files.readAllBytes(dir.resolve("libdep.so")), bytes("dependency"));
+    }
+
+    @Test
+    public void testKeepCompleteCache() throws IOException {
+        Path dir = CACHE_DIR.resolve("2.0.0cpu-linux-x86_64");
+        Map<String, NativeLibraryCache.Source> sources = new LinkedHashMap<>();
+        sources.put("libtest.so", () -> stream("main library"));
+        NativeLibraryCache.extract(dir, "libtest.so", sources);
+
+        // a cache completed by another process in the meantime is kept
+        sources.put("libtest.so", () -> stream("main-library"));
+        NativeLibraryCache.extract(dir, "libtest.so", sources);
+        Assert.assertEquals(Files.readAllBytes(dir.resolve("libtest.so")), bytes("main library"));
+        try (Stream<Path> stream = Files.list(CACHE_DIR)) {
+            Assert.assertTrue(stream.noneMatch(p -> p.getFileName().toString().startsWith("tmp")));
+        }
+    }
+
+    @Test
+    public void testLegacyCache() throws IOException {
+        Path dir = CACHE_DIR.resolve("legacy");
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("libtest.so"), bytes("main library"));
+        Assert.assertTrue(NativeLibraryCache.isCached(dir, "libtest.so"));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(bytes(content));
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -13,27 +13,31 @@
 package ai.djl.basicdataset;
 
 import ai.djl.Application.CV;
-import ai.djl.engine.Engine;
+import ai.djl.basicdataset.utils.MappedFiles;
 import ai.djl.modality.cv.transform.ToTensor;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
-import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.repository.Artifact;
 import ai.djl.repository.MRL;
 import ai.djl.repository.Repository;
 import ai.djl.repository.dataset.ZooDataset;
 import ai.djl.training.dataset.ArrayDataset;
+import ai.djl.training.dataset.Record;
 import ai.djl.translate.Pipeline;
-import ai.djl.util.Utils;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
  * CIFAR10 image classification dataset from https://www.cs.toronto.edu/~kriz/cifar.html.
  *
  * <p>Each sample is an image (in 3-D {@link NDArray}) with shape (32, 32, 3).
+ *
+ * <p>The raw binary file is memory-mapped, and the {@link NDArray}s of a sample are only created
+ * when the sample is retrieved, so the dataset is never fully loaded into the Java heap or native
+ * memory.
  */
 public final class Cifar10 extends ArrayDataset implements ZooDataset {
 
@@ -44,10 +48,13 @@ public final class Cifar10 extends ArrayDataset implements ZooDataset {
     public static final float[] NORMALIZE_STD = {0.2023f, 0.1994f, 0.2010f};
 
     private static final String ARTIFACT_ID = "cifar10";
+    private static final int PLANE_SIZE = IMAGE_HEIGHT * IMAGE_WIDTH;
     // 3072 = 32 * 32 * 3, i.e. one image size, +1 here is label
-    private static final int DATA_AND_LABEL_SIZE = IMAGE_HEIGHT * IMAGE_WIDTH * 3 + 1;
+    private static final int DATA_AND_LABEL_SIZE = PLANE_SIZE * 3 + 1;
+    private static final Shape IMAGE_SHAPE = new Shape(IMAGE_HEIGHT, IMAGE_WIDTH, 3);
 
-    private NDManager manager;
+    private ByteBuffer buffer;
+    private long length;
     private Repository repository;
     private Artifact artifact;
     private Usage usage;
@@ -55,7 +62,6 @@ public final class Cifar10 extends ArrayDataset implements ZooDataset {
 
     Cifar10(Builder builder) {
         super(builder);
-        this.manager = builder.manager;
         this.repository = builder.repository;
         this.artifact = builder.artifact;
         this.usage = builder.usage;
@@ -128,41 +134,40 @@ public final class Cifar10 extends ArrayDataset implements ZooDataset {
             default:
                 throw new UnsupportedOperationException("Validation data not available.");
         }
-        NDArray dataAndLabels = readData(item);
-        data =
-                new NDArray[] {
-                    dataAndLabels
-                            .get(":, 1:")
-                            .reshape(-1, 3, IMAGE_HEIGHT, IMAGE_WIDTH)
-                            .transpose(0, 2, 3, 1)
-                };
-        labels = new NDArray[] {dataAndLabels.get(":,0")};
-        // check if data and labels have the same size
-        if (data[0].size(0) != labels[0].size(0)) {
-            throw new IOException(
-                    "the size of data "
-                            + data[0].size(0)
-                            + " didn't match with the size of labels "
-                            + labels[0].size(0));
+        buffer = MappedFiles.map(repository.getFile(item, null), 0);
+        if (buffer.capacity() % DATA_AND_LABEL_SIZE != 0) {
+            throw new IOException("Invalid CIFAR10 data file size: " + buffer.capacity());
         }
+        length = buffer.capacity() / DATA_AND_LABEL_SIZE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected long availableSize() {
+        return length;
     }
 
-    private NDArray readData(Artifact.Item item) throws IOException {
-        try (InputStream is = repository.openStream(item, null)) {
-            byte[] buf = Utils.toByteArray(is);
-            int length = buf.length / DATA_AND_LABEL_SIZE;
-            try (NDArray array =
-                    manager.create(new Shape(length, DATA_AND_LABEL_SIZE), DataType.UINT8)) {
-                array.set(buf);
-                return array.toType(DataType.FLOAT32, false);
-            }
+    /** {@inheritDoc} */
+    @Override
+    public Record get(NDManager manager, long index) {
+        int offset = Math.toIntExact(index * DATA_AND_LABEL_SIZE);
+        float label = buffer.get(offset) & 0xFF;
+        // the raw record is stored as CHW, the sample is returned as HWC
+        int planes = offset + 1;
+        float[] image = new float[PLANE_SIZE * 3];
+        for (int i = 0; i < PLANE_SIZE; ++i) {
+            image[i * 3] = buffer.get(planes + i) & 0xFF;
+            image[i * 3 + 1] = buffer.get(planes + PLANE_SIZE + i) & 0xFF;
+            image[i * 3 + 2] = buffer.get(planes + 2 * PLANE_SIZE + i) & 0xFF;
         }
+        NDList datum = new NDList(manager.create(image, IMAGE_SHAPE));
+        NDList labelList = new NDList(manager.create(label));
+        return new Record(datum, labelList);
     }
 
     /** A builder to construct a {@link Cifar10}. */
     public static final class Builder extends BaseBuilder<Builder> {
 
-        private NDManager manager;
         private Repository repository;
         private Artifact artifact;
         private Usage usage;
@@ -172,7 +177,6 @@ public final class Cifar10 extends ArrayDataset implements ZooDataset {
             repository = BasicDatasets.REPOSITORY;
             usage = Usage.TRAIN;
             pipeline = new Pipeline(new ToTensor());
-            manager = Engine.getInstance().newBaseManager();
         }
 
         /** {@inheritDoc} */
@@ -182,13 +186,16 @@ public final class Cifar10 extends ArrayDataset implements ZooDataset {
         }
 
         /**
-         * Sets the optional manager for the dataset (default follows engine default).
+         * Sets the optional manager for the dataset.
+         *
+         * <p>The dataset is memory-mapped and samples are created with the manager passed to
+         * {@link Cifar10#get(NDManager, long)}, so this manager is not used. It is kept for
+         * compatibility.
          *
          * @param manager the new manager
          * @return this builder
          */
         public Builder optManager(NDManager manager) {
-            this.manager = manager;
             return this;
         }
 
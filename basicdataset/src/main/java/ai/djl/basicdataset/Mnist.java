@@ -13,27 +13,31 @@
 package ai.djl.basicdataset;
 
 import ai.djl.Application.CV;
-import ai.djl.engine.Engine;
+import ai.djl.basicdataset.utils.MappedFiles;
 import ai.djl.modality.cv.transform.ToTensor;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
-import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.repository.Artifact;
 import ai.djl.repository.MRL;
 import ai.djl.repository.Repository;
 import ai.djl.repository.dataset.ZooDataset;
 import ai.djl.training.dataset.ArrayDataset;
+import ai.djl.training.dataset.Record;
 import ai.djl.translate.Pipeline;
-import ai.djl.util.Utils;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
  * MNIST handwritten digits dataset from http://yann.lecun.com/exdb/mnist.
  *
  * <p>Each sample is an image (in 3-D NDArray) with shape (28, 28, 1).
+ *
+ * <p>The raw image and label files are memory-mapped, and the {@link NDArray}s of a sample are only
+ * created when the sample is retrieved, so the dataset is never fully loaded into the Java heap or
+ * native memory.
  */
 public final class Mnist extends ArrayDataset implements ZooDataset {
 
@@ -42,8 +46,12 @@ public final class Mnist extends ArrayDataset implements ZooDataset {
     public static final int NUM_CLASSES = 10;
 
     private static final String ARTIFACT_ID = "mnist";
+    private static final int IMAGE_SIZE = IMAGE_WIDTH * IMAGE_HEIGHT;
+    private static final Shape IMAGE_SHAPE = new Shape(IMAGE_HEIGHT, IMAGE_WIDTH, 1);
 
-    private NDManager manager;
+    private ByteBuffer imageBuffer;
+    private ByteBuffer labelBuffer;
+    private long length;
     private Repository repository;
     private Artifact artifact;
     private Usage usage;
@@ -51,7 +59,6 @@ public final class Mnist extends ArrayDataset implements ZooDataset {
 
     private Mnist(Builder builder) {
         super(builder);
-        this.manager = builder.manager;
         this.repository = builder.repository;
         this.artifact = builder.artifact;
         this.usage = builder.usage;
@@ -127,42 +134,41 @@ public final class Mnist extends ArrayDataset implements ZooDataset {
             default:
                 throw new UnsupportedOperationException("Validation data not available.");
         }
-        labels = new NDArray[] {readLabel(labelItem)};
-        data = new NDArray[] {readData(imageItem, labels[0].size())};
+        labelBuffer = MappedFiles.map(repository.getFile(labelItem, null), 8);
+        imageBuffer = MappedFiles.map(repository.getFile(imageItem, null), 16);
+        length = labelBuffer.capacity();
+        if (imageBuffer.capacity() != length * IMAGE_SIZE) {
+            throw new IOException(
+                    "the size of data "
+                            + imageBuffer.capacity() / IMAGE_SIZE
+                            + " didn't match with the size of labels "
+                            + length);
+        }
     }
 
-    private NDArray readData(Artifact.Item item, long length) throws IOException {
-        try (InputStream is = repository.openStream(item, null)) {
-            if (is.skip(16) != 16) {
-                throw new AssertionError("Failed skip data.");
-            }
-
-            byte[] buf = Utils.toByteArray(is);
-            try (NDArray array = manager.create(new Shape(length, 28, 28, 1), DataType.UINT8)) {
-                array.set(buf);
-                return array.toType(DataType.FLOAT32, false);
-            }
-        }
+    /** {@inheritDoc} */
+    @Override
+    protected long availableSize() {
+        return length;
     }
 
-    private NDArray readLabel(Artifact.Item item) throws IOException {
-        try (InputStream is = repository.openStream(item, null)) {
-            if (is.skip(8) != 8) {
-                throw new AssertionError("Failed skip data.");
-            }
-
-            byte[] buf = Utils.toByteArray(is);
-            try (NDArray array = manager.create(new Shape(buf.length), DataType.UINT8)) {
-                array.set(buf);
-                return array.toType(DataType.FLOAT32, false);
-            }
+    /** {@inheritDoc} */
+    @Override
+    public Record get(NDManager manager, long index) {
+        int offset = Math.toIntExact(index * IMAGE_SIZE);
+        float[] image = new float[IMAGE_SIZE];
+        for (int i = 0; i < IMAGE_SIZE; ++i) {
+            image[i] = imageBuffer.get(offset + i) & 0xFF;
         }
+        float label = labelBuffer.get(Math.toIntExact(index)) & 0xFF;
+        NDList datum = new NDList(manager.create(image, IMAGE_SHAPE));
+        NDList labelList = new NDList(manager.create(label));
+        return new Record(datum, labelList);
     }
 
     /** A builder for a {@link Mnist}. */
     public static final class Builder extends BaseBuilder<Builder> {
 
-        private NDManager manager;
         private Repository repository;
         private Artifact artifact;
         private Usage usage;
@@ -172,7 +178,6 @@ public final class Mnist extends ArrayDataset implements ZooDataset {
             repository = BasicDatasets.REPOSITORY;
             usage = Usage.TRAIN;
             pipeline = new Pipeline(new ToTensor());
-            manager = Engine.getInstance().newBaseManager();
         }
 
         /** {@inheritDoc} */
@@ -182,13 +187,16 @@ public final class Mnist extends ArrayDataset implements ZooDataset {
         }
 
         /**
-         * Sets the optional manager for the dataset (default follows engine default).
+         * Sets the optional manager for the dataset.
+         *
+         * <p>The dataset is memory-mapped and samples are created with the manager passed to
+         * {@link Mnist#get(NDManager, long)}, so this manager is not used. It is kept for
+         * compatibility.
          *
          * @param manager the manager
          * @return this builder
          */
         public Builder optManager(NDManager manager) {
-            this.manager = manager.newSubManager();
             return this;
         }
 
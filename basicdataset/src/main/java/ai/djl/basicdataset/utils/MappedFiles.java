@@ -0,0 +1,47 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** A utility to memory-map raw dataset files. */
+public final class MappedFiles {
+
+    private MappedFiles() {}
+
+    /**
+     * Maps a file read-only into memory, starting after the given header.
+     *
+     * <p>The content is paged in by the operating system on first access, so the file is neither
+     * read upfront nor copied to the Java heap. The returned buffer remains valid after the
+     * underlying channel is closed, and is safe to read concurrently with absolute get methods.
+     *
+     * @param path the file to map
+     * @param headerSize the number of leading bytes to skip
+     * @return a read-only {@link ByteBuffer} over the file content after the header
+     * @throws IOException if the file cannot be mapped or is shorter than the header
+     */
+    public static ByteBuffer map(Path path, int headerSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < headerSize) {
+                throw new IOException("Invalid data file: " + path);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, headerSize, size - headerSize);
+        }
+    }
+}
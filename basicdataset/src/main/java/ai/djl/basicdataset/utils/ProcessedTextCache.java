@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An on-disk cache of the tokens produced by a {@link
+ * ai.djl.modality.nlp.preprocess.FusedTextProcessor} for a corpus.
+ *
+ * <p>A cache file is named after a digest of the processor configuration and of the corpus, and
+ * stores each distinct token once followed by the token ids of each sentence. The cache is best
+ * effort: a missing or unreadable file is a miss, and a file that cannot be written is skipped.
+ */
+final class ProcessedTextCache {
+
+    private static final int VERSION = 1;
+
+    private ProcessedTextCache() {}
+
+    /**
+     * Returns the cache file for the given processor configuration and corpus.
+     *
+     * @param cacheDir the cache directory
+     * @param configuration the configuration of the processors
+     * @param texts the corpus
+     * @return the cache file
+     */
+    static Path getCacheFile(Path cacheDir, String configuration, List<String> texts) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 is not supported", e);
+        }
+        md.update(configuration.getBytes(StandardCharsets.UTF_8));
+        byte[] separator = {0};
+        for (String text : texts) {
+            md.update(separator);
+            md.update(text.getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder sb = new StringBuilder("text-");
+        for (byte b : md.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return cacheDir.resolve(sb.append(".bin").toString());
+    }
+
+    /**
+     * Loads the processed sentences from a cache file.
+     *
+     * @param file the cache file
+     * @return the processed sentences, or {@code null} if the file is missing or unreadable
+     */
+    static List<List<String>> load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream dis =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (dis.readInt() != VERSION) {
+                return null;
+            }
+            String[] tokens = new String[dis.readInt()];
+            for (int i = 0; i < tokens.length; ++i) {
+                tokens[i] = dis.readUTF();
+            }
+            int size = dis.readInt();
+            List<List<String>> sentences = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                int length = dis.readInt();
+                List<String> sentence = new ArrayList<>(length);
+                for (int j = 0; j < length; ++j) {
+                    sentence.add(tokens[dis.readInt()]);
+                }
+                sentences.add(sentence);
+            }
+            return sentences;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Saves the processed sentences to a cache file.
+     *
+     * @param file the cache file
+     * @param sentences the processed sentences
+     */
+    static void save(Path file, List<List<String>> sentences) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> tokens = new ArrayList<>();
+        for (List<String> sentence : sentences) {
+            for (String token : sentence) {
+                if (ids.putIfAbsent(token, tokens.size()) == null) {
+                    tokens.add(token);
+                }
+            }
+        }
+
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream dos =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                dos.writeInt(VERSION);
+                dos.writeInt(tokens.size());
+                for (String token : tokens) {
+                    dos.writeUTF(token);
+                }
+                dos.writeInt(sentences.size());
+                for (List<String> sentence : sentences) {
+                    dos.writeInt(sentence.size());
+                    for (String token : sentence) {
+                        dos.writeInt(ids.get(token));
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // the cache is an optimization, the processed text is still used
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignore) {
+                    // ignore
+                }
+            }
+        }
+    }
+}
@@ -17,17 +17,19 @@ import ai.djl.modality.nlp.embedding.EmbeddingException;
 import ai.djl.modality.nlp.embedding.TextEmbedding;
 import ai.djl.modality.nlp.embedding.TrainableTextEmbedding;
 import ai.djl.modality.nlp.embedding.TrainableWordEmbedding;
+import ai.djl.modality.nlp.preprocess.FusedTextProcessor;
 import ai.djl.modality.nlp.preprocess.LowerCaseConvertor;
 import ai.djl.modality.nlp.preprocess.PunctuationSeparator;
 import ai.djl.modality.nlp.preprocess.SimpleTokenizer;
 import ai.djl.modality.nlp.preprocess.TextProcessor;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
  * {@link TextData} is a utility for managing textual data within a {@link
@@ -46,6 +48,7 @@ public class TextData {
     private String unknownToken;
     private boolean trainEmbedding;
     private int embeddingSize;
+    private Path cacheDir;
     private int size;
 
     /**
@@ -60,6 +63,7 @@ public class TextData {
         this.embeddingSize = config.embeddingSize;
         this.unknownToken = config.unknownToken;
         this.reservedTokens = config.reservedTokens;
+        this.cacheDir = config.cacheDir;
     }
 
     /**
@@ -97,15 +101,25 @@ public class TextData {
                 .optMinFrequency(3)
                 .optReservedTokens(reservedTokens)
                 .optUnknownToken(unknownToken);
-        List<List<String>> textData = new ArrayList<>();
-        for (String textDatum : newTextData) {
-            List<String> tokens = Collections.singletonList(textDatum);
-            for (TextProcessor processor : textProcessors) {
-                tokens = processor.preprocess(tokens);
+        FusedTextProcessor processor = FusedTextProcessor.fuse(textProcessors);
+        String configuration = processor.getConfiguration();
+        Path cacheFile = null;
+        List<List<String>> textData = null;
+        if (cacheDir != null && configuration != null) {
+            cacheFile = ProcessedTextCache.getCacheFile(cacheDir, configuration, newTextData);
+            textData = ProcessedTextCache.load(cacheFile);
+        }
+        if (textData == null) {
+            textData =
+                    newTextData
+                            .parallelStream()
+                            .map(processor::process)
+                            .collect(Collectors.toList());
+            if (cacheFile != null) {
+                ProcessedTextCache.save(cacheFile, textData);
             }
-            vocabularyBuilder.add(tokens);
-            textData.add(tokens);
         }
+        vocabularyBuilder.addAll(textData);
         vocabulary = vocabularyBuilder.build();
         if (textEmbedding == null) {
             textEmbedding =
@@ -114,14 +128,17 @@ public class TextData {
         }
         size = textData.size();
         textEmbeddingList = new ArrayList<>();
+        textData.parallelStream()
+                .forEach(
+                        tokens -> {
+                            for (int j = 0; j < tokens.size(); j++) {
+                                if (!vocabulary.isKnownToken(tokens.get(j))) {
+                                    tokens.set(j, vocabulary.getUnknownToken());
+                                }
+                            }
+                        });
         for (int i = 0; i < size; i++) {
             List<String> tokenizedTextDatum = textData.get(i);
-            for (int j = 0; j < tokenizedTextDatum.size(); j++) {
-                if (!vocabulary.isKnownToken(tokenizedTextDatum.get(j))) {
-                    tokenizedTextDatum.set(j, vocabulary.getUnknownToken());
-                }
-            }
-            textData.set(i, tokenizedTextDatum);
             if (trainEmbedding) {
                 textEmbeddingList.add(
                         manager.create(textEmbedding.preprocessTextToEmbed(tokenizedTextDatum)));
@@ -233,6 +250,7 @@ public class TextData {
         private Integer embeddingSize;
         private String unknownToken;
         private List<String> reservedTokens;
+        private Path cacheDir;
 
         /**
          * Sets the {@link TextProcessor}s to use for the text data.
@@ -300,6 +318,22 @@ public class TextData {
             return this;
         }
 
+        /**
+         * Sets the directory to cache the processed text in.
+         *
+         * <p>The tokens produced by the {@link TextProcessor}s are saved in the directory, keyed by
+         * the configuration of the processors and the text, and reused on the next preprocess of
+         * the same text. The text is not cached if a processor's configuration is not known to
+         * {@link FusedTextProcessor}. By default, there is no cache.
+         *
+         * @param cacheDir the directory to cache the processed text in
+         * @return this configuration
+         */
+        public Configuration setCacheDir(Path cacheDir) {
+            this.cacheDir = cacheDir;
+            return this;
+        }
+
         /**
          * Updates this {@link Configuration} with the non-null values from another configuration.
          *
@@ -313,6 +347,7 @@ public class TextData {
             embeddingSize = other.embeddingSize != null ? other.embeddingSize : embeddingSize;
             unknownToken = other.unknownToken != null ? other.unknownToken : unknownToken;
             reservedTokens = other.reservedTokens != null ? other.reservedTokens : reservedTokens;
+            cacheDir = other.cacheDir != null ? other.cacheDir : cacheDir;
             return this;
         }
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.examples.inference;
+
+import ai.djl.Application;
+import ai.djl.ModelException;
+import ai.djl.inference.Predictor;
+import ai.djl.modality.nlp.qa.QAInput;
+import ai.djl.repository.zoo.Criteria;
+import ai.djl.repository.zoo.ModelZoo;
+import ai.djl.repository.zoo.ZooModel;
+import ai.djl.training.util.ProgressBar;
+import ai.djl.translate.TranslateException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A throughput benchmark of BertQA, comparing one forward pass per question with batched
+ * inference.
+ *
+ * <p>The benchmark answers the same set of questions twice: first with {@link
+ * Predictor#predict(Object)} for each question, then with {@link Predictor#batchPredict(List)} in
+ * batches. The paragraphs are long enough to be split into several windows.
+ *
+ * @see BertQaInference
+ */
+public final class BertQaBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(BertQaBenchmark.class);
+
+    private static final String[] QUESTIONS = {
+        "When did BBC Japan start broadcasting?",
+        "When did BBC Japan stop broadcasting?",
+        "Why did BBC Japan cease operations?",
+        "What kind of channel was BBC Japan?"
+    };
+
+    private BertQaBenchmark() {}
+
+    public static void main(String[] args) throws IOException, TranslateException, ModelException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        BertQaBenchmark.run(count, batchSize);
+    }
+
+    public static double[] run(int count, int batchSize)
+            throws IOException, TranslateException, ModelException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; ++i) {
+            sb.append("BBC Japan was a general entertainment Channel.\n")
+                    .append("Which operated between December 2004 and April 2006.\n")
+                    .append("It ceased operations after its Japanese distributor folded.\n");
+        }
+        String paragraph = sb.toString();
+        List<QAInput> inputs = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            inputs.add(new QAInput(QUESTIONS[i % QUESTIONS.length], paragraph));
+        }
+
+        Criteria<QAInput, String> criteria =
+                Criteria.builder()
+                        .optApplication(Application.NLP.QUESTION_ANSWER)
+                        .setTypes(QAInput.class, String.class)
+                        .optFilter("backbone", "bert")
+                        .optProgress(new ProgressBar())
+                        .build();
+
+        try (ZooModel<QAInput, String> model = ModelZoo.loadModel(criteria);
+                Predictor<QAInput, String> predictor = model.newPredictor()) {
+            // warm up
+            predictor.batchPredict(inputs.subList(0, Math.min(batchSize, count)));
+
+            long begin = System.nanoTime();
+            for (QAInput input : inputs) {
+                predictor.predict(input);
+            }
+            double single = throughput(count, begin);
+            logger.info("Sequential: {} questions/s", String.format("%.2f", single));
+
+            begin = System.nanoTime();
+            for (int i = 0; i < count; i += batchSize) {
+                predictor.batchPredict(inputs.subList(i, Math.min(i + batchSize, count)));
+            }
+            double batched = throughput(count, begin);
+            logger.info(
+                    "Batch size {}: {} questions/s", batchSize, String.format("%.2f", batched));
+            return new double[] {single, batched};
+        }
+    }
+
+    private static double throughput(int count, long begin) {
+        return count * 1_000_000_000d / (System.nanoTime() - begin);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.examples.inference;
+
+import ai.djl.modality.cv.util.DetectionUtils;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A latency benchmark of the detection post-processing in {@link DetectionUtils}.
+ *
+ * <p>The benchmark decodes random offsets against random anchors, selects the top-k candidates and
+ * runs class-aware non-maximum suppression, which is the work done for each image by a detection
+ * translator.
+ */
+public final class NmsBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(NmsBenchmark.class);
+
+    private NmsBenchmark() {}
+
+    public static void main(String[] args) {
+        int boxes = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        NmsBenchmark.run(boxes, iterations);
+    }
+
+    public static double run(int count, int iterations) {
+        Random random = new Random(42);
+        float[] anchors = new float[count * 4];
+        float[] offsets = new float[count * 4];
+        float[] scores = new float[count];
+        int[] classIds = new int[count];
+        for (int i = 0; i < count; ++i) {
+            float x = random.nextFloat() * 0.9f;
+            float y = random.nextFloat() * 0.9f;
+            anchors[i * 4] = x;
+            anchors[i * 4 + 1] = y;
+            anchors[i * 4 + 2] = x + 0.1f;
+            anchors[i * 4 + 3] = y + 0.1f;
+            for (int j = 0; j < 4; ++j) {
+                offsets[i * 4 + j] = (float) random.nextGaussian();
+            }
+            scores[i] = random.nextFloat();
+            classIds[i] = random.nextInt(80);
+        }
+        float[] variances = {0.1f, 0.1f, 0.2f, 0.2f};
+
+        int kept = 0;
+        // warm up
+        for (int i = 0; i < iterations / 10 + 1; ++i) {
+            kept += process(anchors, offsets, variances, scores, classIds);
+        }
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            kept += process(anchors, offsets, variances, scores, classIds);
+        }
+        double latency = (System.nanoTime() - begin) / 1_000_000d / iterations;
+        logger.info(
+                "{} boxes: {} ms per image, {} detections",
+                count,
+                String.format("%.3f", latency),
+                kept / (iterations + iterations / 10 + 1));
+        return latency;
+    }
+
+    private static int process(
+            float[] anchors, float[] offsets, float[] variances, float[] scores, int[] classIds) {
+        float[] boxes = DetectionUtils.decodeBoxes(anchors, offsets, variances, true);
+        int[] candidates = DetectionUtils.topK(scores, 1000, 0.01f);
+        return DetectionUtils.nms(boxes, classIds, candidates, 0.45f, 100).length;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.examples.inference;
+
+import ai.djl.mxnet.engine.MxNDArray;
+import ai.djl.mxnet.engine.MxNDManager;
+import ai.djl.mxnet.engine.MxOpParams;
+import ai.djl.mxnet.jna.FunctionInfo;
+import ai.djl.mxnet.jna.JnaUtils;
+import ai.djl.mxnet.jna.PointerArray;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.ndarray.types.SparseFormat;
+import ai.djl.util.PairList;
+import com.sun.jna.Pointer;
+import com.sun.jna.ptr.PointerByReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A latency benchmark of MXNet imperative operator calls on small arrays.
+ *
+ * <p>The benchmark reshapes a small array over and over, once through the generic {@link
+ * JnaUtils#imperativeInvoke(Pointer, PointerArray, PointerByReference, PairList)} path, with the
+ * parameters converted to strings on every call and the outputs returned as a {@link PairList},
+ * and once through {@link FunctionInfo#invoke(NDManager, NDArray[], PairList)}, which encodes the
+ * parameters through the cache and reuses the native output arguments of the thread.
+ */
+public final class OpInvokeBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpInvokeBenchmark.class);
+
+    private OpInvokeBenchmark() {}
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        OpInvokeBenchmark.run(iterations);
+    }
+
+    public static double[] run(int iterations) {
+        try (MxNDManager manager = (MxNDManager) NDManager.newBaseManager()) {
+            MxNDArray array = (MxNDArray) manager.arange(12f);
+            Shape shape = new Shape(3, 4);
+            FunctionInfo op = JnaUtils.op("_np_reshape");
+
+            // warm up
+            for (int i = 0; i < iterations / 10 + 1; ++i) {
+                invokeGeneric(manager, op, array, shape);
+                invokeCached(manager, op, array, shape);
+            }
+
+            long begin = System.nanoTime();
+            for (int i = 0; i < iterations; ++i) {
+                invokeGeneric(manager, op, array, shape);
+            }
+            double generic = (System.nanoTime() - begin) / 1000d / iterations;
+
+            begin = System.nanoTime();
+            for (int i = 0; i < iterations; ++i) {
+                invokeCached(manager, op, array, shape);
+            }
+            double cached = (System.nanoTime() - begin) / 1000d / iterations;
+
+            logger.info(
+                    "generic: {} us per call, cached: {} us per call",
+                    String.format("%.3f", generic),
+                    String.format("%.3f", cached));
+            return new double[] {generic, cached};
+        }
+    }
+
+    private static void invokeGeneric(
+            MxNDManager manager, FunctionInfo op, MxNDArray array, Shape shape) {
+        PairList<String, Object> params = new PairList<>();
+        params.add("newshape", shape.toString());
+        PointerArray src = new PointerArray(array.getHandle());
+        PairList<Pointer, SparseFormat> outputs =
+                JnaUtils.imperativeInvoke(op.getHandle(), src, new PointerByReference(), params);
+        for (Pointer handle : outputs.keys()) {
+            manager.create(handle).close();
+        }
+    }
+
+    private static void invokeCached(
+            MxNDManager manager, FunctionInfo op, MxNDArray array, Shape shape) {
+        MxOpParams params = new MxOpParams();
+        params.addParam("newshape", shape);
+        for (NDArray output : op.invoke(manager, new NDArray[] {array}, params)) {
+            output.close();
+        }
+    }
+}
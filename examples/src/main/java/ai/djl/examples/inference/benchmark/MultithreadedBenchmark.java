@@ -49,8 +49,25 @@ public class MultithreadedBenchmark extends AbstractBenchmark {
             throws IOException, ModelException, ClassNotFoundException {
         Object inputData = arguments.getInputData();
         ZooModel<?, ?> model = loadModel(arguments, metrics);
+        return predict(model, inputData, metrics, iteration, arguments.getThreads());
+    }
 
-        int numOfThreads = arguments.getThreads();
+    /**
+     * Runs the given number of predictions on a model, shared between inference threads.
+     *
+     * @param model the model to run
+     * @param inputData the input of each prediction
+     * @param metrics {@link Metrics} to collect statistic information
+     * @param iteration number of prediction iteration to run
+     * @param numOfThreads number of inference threads
+     * @return prediction result
+     */
+    protected Object predict(
+            ZooModel<?, ?> model,
+            Object inputData,
+            Metrics metrics,
+            int iteration,
+            int numOfThreads) {
         AtomicInteger counter = new AtomicInteger(iteration);
         logger.info("Multithreaded inference with {} threads.", numOfThreads);
 
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.examples.inference.benchmark;
+
+import ai.djl.ModelException;
+import ai.djl.engine.Engine;
+import ai.djl.examples.inference.benchmark.util.Arguments;
+import ai.djl.metric.Metrics;
+import ai.djl.repository.zoo.ZooModel;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A benchmark that measures the throughput for an increasing number of inference threads.
+ *
+ * <p>The number of inference threads doubles from 1 up to {@code --threads}. Unless {@code
+ * --intra-op-threads} is given, the engine gets an equal share of the cores for each inference
+ * thread, so the engine threads do not oversubscribe the machine.
+ */
+public class ThreadScalingBenchmark extends MultithreadedBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadScalingBenchmark.class);
+
+    public static void main(String[] args) {
+        if (new ThreadScalingBenchmark().runBenchmark(args)) {
+            System.exit(0); // NOPMD
+        }
+        System.exit(-1); // NOPMD
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Object predict(Arguments arguments, Metrics metrics, int iteration)
+            throws IOException, ModelException, ClassNotFoundException {
+        Object inputData = arguments.getInputData();
+        Engine engine = Engine.getInstance();
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = arguments.getThreads();
+
+        Object result = null;
+        int threads = 0;
+        do {
+            threads = Math.min(Math.max(threads * 2, 1), maxThreads);
+            int intraOpThreads = arguments.getIntraOpThreads();
+            if (intraOpThreads <= 0) {
+                intraOpThreads = Math.max(1, cores / threads);
+            }
+            engine.setNumThreads(intraOpThreads, arguments.getInterOpThreads());
+
+            Metrics stepMetrics = new Metrics();
+            try (ZooModel<?, ?> model = loadModel(arguments, stepMetrics)) {
+                long begin = System.nanoTime();
+                result = predict(model, inputData, stepMetrics, iteration, threads);
+                long delta = System.nanoTime() - begin;
+                logger.info(
+                        String.format(
+                                "inference threads: %d, intra-op threads: %d, throughput: %.2f",
+                                threads, intraOpThreads, iteration * 1_000_000_000d / delta));
+            }
+        } while (threads < maxThreads);
+        return result;
+    }
+}
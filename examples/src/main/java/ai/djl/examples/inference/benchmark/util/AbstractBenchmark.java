@@ -248,6 +248,8 @@ public abstract class AbstractBenchmark {
                         .setTypes(input, output)
                         .optFilters(arguments.getCriteria())
                         .optArtifactId(artifactId)
+                        .optNumThreads(
+                                arguments.getIntraOpThreads(), arguments.getInterOpThreads())
                         .optProgress(new ProgressBar());
 
         if (shape != null) {
@@ -45,6 +45,8 @@ public class Arguments {
     private int duration;
     private int iteration;
     private int threads;
+    private int intraOpThreads;
+    private int interOpThreads;
     private String inputClass;
     private String outputClass;
     private Shape inputShape;
@@ -68,6 +70,12 @@ public class Arguments {
         } else {
             threads = Runtime.getRuntime().availableProcessors() * 2 - 1;
         }
+        if (cmd.hasOption("intra-op-threads")) {
+            intraOpThreads = Integer.parseInt(cmd.getOptionValue("intra-op-threads"));
+        }
+        if (cmd.hasOption("inter-op-threads")) {
+            interOpThreads = Integer.parseInt(cmd.getOptionValue("inter-op-threads"));
+        }
         if (cmd.hasOption("criteria")) {
             Type type = new TypeToken<Map<String, String>>() {}.getType();
             criteria = new Gson().fromJson(cmd.getOptionValue("criteria"), type);
@@ -147,6 +155,20 @@ public class Arguments {
                         .argName("NUMBER_THREADS")
                         .desc("Number of inference threads.")
                         .build());
+        options.addOption(
+                Option.builder()
+                        .longOpt("intra-op-threads")
+                        .hasArg()
+                        .argName("INTRA_OP_THREADS")
+                        .desc("Number of engine threads used within an operator.")
+                        .build());
+        options.addOption(
+                Option.builder()
+                        .longOpt("inter-op-threads")
+                        .hasArg()
+                        .argName("INTER_OP_THREADS")
+                        .desc("Number of engine threads used to run operators concurrently.")
+                        .build());
         options.addOption(
                 Option.builder("o")
                         .longOpt("output-dir")
@@ -219,6 +241,14 @@ public class Arguments {
         return threads;
     }
 
+    public int getIntraOpThreads() {
+        return intraOpThreads;
+    }
+
+    public int getInterOpThreads() {
+        return interOpThreads;
+    }
+
     public String getOutputDir() {
         return outputDir;
     }
@@ -20,6 +20,12 @@ public class FtEngineProvider implements EngineProvider {
 
     private static final Engine ENGINE = new FtEngine();
 
+    /** {@inheritDoc} */
+    @Override
+    public String getEngineName() {
+        return FtEngine.ENGINE_NAME;
+    }
+
     /** {@inheritDoc} */
     @Override
     public Engine getEngine() {
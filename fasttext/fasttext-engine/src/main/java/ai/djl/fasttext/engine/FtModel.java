@@ -16,6 +16,7 @@ import ai.djl.MalformedModelException;
 import ai.djl.Model;
 import ai.djl.fasttext.dataset.FtDataset;
 import ai.djl.inference.Predictor;
+import ai.djl.modality.Classifications;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
@@ -32,8 +33,12 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import org.bytedeco.javacpp.CharPointer;
 import org.bytedeco.javacpp.PointerPointer;
@@ -42,6 +47,11 @@ import org.bytedeco.javacpp.PointerPointer;
  * {@code FtModel} is the fastText implementation of {@link Model}.
  *
  * <p>FtModel contains all the methods in Model to load and process a model.
+ *
+ * <p>A loaded fastText model keeps its prediction state in the native model, so predictions on
+ * the same native model are serialized. {@link #classify(List, int, Executor, int)} classifies in
+ * parallel on replicas of the native model, each loaded from the same model file and used by one
+ * thread at a time.
  */
 public class FtModel implements Model {
 
@@ -50,11 +60,18 @@ public class FtModel implements Model {
     private Path modelDir;
     private String modelName;
     private Map<String, String> properties;
+    private String modelFilePath;
+    private int labelPrefixLength = 9;
+    private Map<String, String> labels;
+    private List<FastTextWrapper.FastTextApi> replicas;
 
     /** Constructs a new Model. */
     FtModel() {
         fta = new FastTextWrapper.FastTextApi();
         properties = new ConcurrentHashMap<>();
+        labels = new ConcurrentHashMap<>();
+        replicas = new ArrayList<>();
+        replicas.add(fta);
     }
 
     /**
@@ -96,8 +113,132 @@ public class FtModel implements Model {
             throw new MalformedModelException("Malformed FastText model file:" + modelFilePath);
         }
         fta.loadModel(modelFilePath);
+        this.modelFilePath = modelFilePath;
 
         properties.put("model-type", fta.getModelName().getString());
+        labelPrefixLength = fta.getLabelPrefix().getString().length();
+    }
+
+    /**
+     * Classifies a text.
+     *
+     * @param input the text to classify
+     * @param topK the maximum number of classes to return
+     * @return the {@code topK} most likely classes of the text
+     */
+    public Classifications classify(String input, int topK) {
+        synchronized (fta) {
+            return classify(fta, input, topK);
+        }
+    }
+
+    /**
+     * Classifies a list of texts.
+     *
+     * @param inputs the texts to classify
+     * @param topK the maximum number of classes to return for each text
+     * @return the {@code topK} most likely classes of each text, in the order of the inputs
+     */
+    public List<Classifications> classify(List<String> inputs, int topK) {
+        synchronized (fta) {
+            return classify(fta, inputs, topK);
+        }
+    }
+
+    /**
+     * Classifies a list of texts in parallel.
+     *
+     * <p>The inputs are split into {@code parallelism} contiguous chunks that are classified on
+     * the given executor, each on its own replica of the native model. Replicas are loaded from the
+     * model file on first use and kept until the model is closed, so each one costs the memory of
+     * a loaded model.
+     *
+     * @param inputs the texts to classify
+     * @param topK the maximum number of classes to return for each text
+     * @param executor the executor to classify the chunks on
+     * @param parallelism the number of chunks to classify in parallel
+     * @return the {@code topK} most likely classes of each text, in the order of the inputs
+     */
+    public List<Classifications> classify(
+            List<String> inputs, int topK, Executor executor, int parallelism) {
+        int chunks = Math.max(1, Math.min(parallelism, inputs.size()));
+        if (chunks == 1) {
+            return classify(inputs, topK);
+        }
+        List<FastTextWrapper.FastTextApi> apis = getReplicas(chunks);
+        List<CompletableFuture<List<Classifications>>> futures = new ArrayList<>(chunks);
+        int size = inputs.size();
+        for (int i = 0; i < chunks; ++i) {
+            FastTextWrapper.FastTextApi api = apis.get(i);
+            List<String> chunk = inputs.subList(size * i / chunks, size * (i + 1) / chunks);
+            futures.add(
+                    CompletableFuture.supplyAsync(
+                            () -> {
+                                synchronized (api) {
+                                    return classify(api, chunk, topK);
+                                }
+                            },
+                            executor));
+        }
+        List<Classifications> ret = new ArrayList<>(size);
+        for (CompletableFuture<List<Classifications>> future : futures) {
+            ret.addAll(future.join());
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the vector of a word.
+     *
+     * @param word the word
+     * @return the vector of the word
+     */
+    public float[] getWordVector(String word) {
+        FastTextWrapper.RealVector rv;
+        synchronized (fta) {
+            rv = fta.getVector(word);
+        }
+        int size = (int) rv.size();
+        float[] vec = new float[size];
+        for (int i = 0; i < size; ++i) {
+            vec[i] = rv.get(i);
+        }
+        return vec;
+    }
+
+    private List<Classifications> classify(
+            FastTextWrapper.FastTextApi api, List<String> inputs, int topK) {
+        List<Classifications> ret = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            ret.add(classify(api, input, topK));
+        }
+        return ret;
+    }
+
+    private Classifications classify(FastTextWrapper.FastTextApi api, String input, int topK) {
+        FastTextWrapper.FloatStringPairVector fspv = api.predictProba(input, topK);
+        int size = Math.min((int) fspv.size(), topK);
+        List<String> classNames = new ArrayList<>(size);
+        List<Double> probabilities = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            probabilities.add(Math.exp(fspv.first(i)));
+            classNames.add(
+                    labels.computeIfAbsent(
+                            fspv.second(i).getString(), l -> l.substring(labelPrefixLength)));
+        }
+        return new Classifications(classNames, probabilities);
+    }
+
+    private synchronized List<FastTextWrapper.FastTextApi> getReplicas(int count) {
+        if (modelFilePath == null) {
+            throw new IllegalStateException("Parallel classification requires a loaded model");
+        }
+        while (replicas.size() < count) {
+            FastTextWrapper.FastTextApi api = new FastTextWrapper.FastTextApi();
+            api.loadModel(modelFilePath);
+            replicas.add(api);
+        }
+        return new ArrayList<>(replicas.subList(0, count));
     }
 
     /**
@@ -243,9 +384,12 @@ public class FtModel implements Model {
 
     /** {@inheritDoc} */
     @Override
-    public void close() {
-        fta.unloadModel();
-        fta.close();
+    public synchronized void close() {
+        for (FastTextWrapper.FastTextApi api : replicas) {
+            api.unloadModel();
+            api.close();
+        }
+        replicas.clear();
     }
 
     /** {@inheritDoc} */
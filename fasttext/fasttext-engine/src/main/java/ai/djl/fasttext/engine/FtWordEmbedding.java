@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.fasttext.engine;
+
+import ai.djl.modality.nlp.embedding.BulkEmbedding;
+import ai.djl.modality.nlp.embedding.EmbeddingException;
+import ai.djl.modality.nlp.embedding.WordEmbedding;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link WordEmbedding} using the word vectors of a fastText model.
+ *
+ * <p>fastText computes a vector for any word from its character n-grams, so every word can be
+ * embedded. Words are given indices in the order they are first preprocessed, and an index stays
+ * valid for the lifetime of the embedding. The vectors of the most recently used words are kept in
+ * an optional bounded LRU cache, so that embedding a corpus does not call into the native model
+ * again for frequent words.
+ */
+public class FtWordEmbedding implements WordEmbedding {
+
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private FtModel model;
+    private Map<String, Integer> indices;
+    private List<String> words;
+    private Map<Integer, float[]> cache;
+
+    /**
+     * Constructs a {@code FtWordEmbedding} with the default cache size.
+     *
+     * @param model the fastText model
+     */
+    public FtWordEmbedding(FtModel model) {
+        this(model, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs a {@code FtWordEmbedding}.
+     *
+     * @param model the fastText model
+     * @param cacheSize the number of word vectors to cache, or 0 to disable the cache
+     */
+    public FtWordEmbedding(FtModel model, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("The cache size must not be negative");
+        }
+        this.model = model;
+        indices = new ConcurrentHashMap<>();
+        words = new ArrayList<>();
+        if (cacheSize > 0) {
+            int capacity = Math.min(cacheSize, 1024) * 2;
+            cache =
+                    new LinkedHashMap<Integer, float[]>(capacity, 0.75f, true) {
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<Integer, float[]> eldest) {
+                            return size() > cacheSize;
+                        }
+                    };
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean vocabularyContains(String word) {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int preprocessWordToEmbed(String word) {
+        return indices.computeIfAbsent(
+                word,
+                w -> {
+                    synchronized (words) {
+                        words.add(w);
+                        return words.size() - 1;
+                    }
+                });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray embedWord(NDManager manager, int index) {
+        return manager.create(getVector(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The vectors are copied into a single array on the host, and the {@link NDArray} is
+     * created once.
+     */
+    @Override
+    public NDArray embedWords(NDManager manager, int[][] indices) throws EmbeddingException {
+        return BulkEmbedding.embed(manager, indices, this::getVector);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String unembedWord(NDArray word) {
+        if (!word.isScalar()) {
+            throw new IllegalArgumentException("NDArray word must be scalar index");
+        }
+        return getWord(word.toIntArray()[0]);
+    }
+
+    private String getWord(int index) {
+        synchronized (words) {
+            if (index < 0 || index >= words.size()) {
+                throw new IllegalArgumentException("Unknown word index: " + index);
+            }
+            return words.get(index);
+        }
+    }
+
+    private float[] getVector(int index) {
+        String word = getWord(index);
+        if (cache == null) {
+            return model.getWordVector(word);
+        }
+        float[] vector;
+        synchronized (cache) {
+            vector = cache.get(index);
+        }
+        if (vector == null) {
+            vector = model.getWordVector(word);
+            synchronized (cache) {
+                cache.put(index, vector);
+            }
+        }
+        return vector;
+    }
+}
@@ -17,11 +17,14 @@ import ai.djl.ndarray.NDList;
 import ai.djl.translate.Batchifier;
 import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
-import com.github.jfasttext.FastTextWrapper;
-import java.util.ArrayList;
 import java.util.List;
 
-/** A text classification @{link Translator} for fastText. */
+/**
+ * A text classification @{link Translator} for fastText.
+ *
+ * <p>To classify many texts at once, use {@link FtModel#classify(List, int)} or its parallel
+ * variant directly.
+ */
 public class TextClassificationTranslator implements Translator<String, Classifications> {
 
     private int topK;
@@ -53,16 +56,7 @@ public class TextClassificationTranslator implements Translator<String, Classifi
     public Classifications processOutput(TranslatorContext ctx, NDList list) {
         String input = (String) ctx.getAttachment("input");
         FtModel model = (FtModel) ctx.getModel();
-        FastTextWrapper.FloatStringPairVector fspv = model.fta.predictProba(input, topK);
-
-        int size = Math.min((int) fspv.size(), topK);
-        List<String> classNames = new ArrayList<>(size);
-        List<Double> probabilities = new ArrayList<>(size);
-        for (int i = 0; i < size; ++i) {
-            probabilities.add(Math.exp(fspv.first(i)));
-            classNames.add(fspv.second(i).getString().substring(9));
-        }
-        return new Classifications(classNames, probabilities);
+        return model.classify(input, topK);
     }
 
     /** {@inheritDoc} */
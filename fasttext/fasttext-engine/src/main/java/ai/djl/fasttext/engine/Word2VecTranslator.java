@@ -16,9 +16,12 @@ import ai.djl.ndarray.NDList;
 import ai.djl.translate.Batchifier;
 import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
-import com.github.jfasttext.FastTextWrapper;
 
-/** A word2vec @{link Translator} for fastText. */
+/**
+ * A word2vec @{link Translator} for fastText.
+ *
+ * <p>To embed many words at once, use {@link FtWordEmbedding}.
+ */
 public class Word2VecTranslator implements Translator<String, float[]> {
 
     /** {@inheritDoc} */
@@ -33,14 +36,7 @@ public class Word2VecTranslator implements Translator<String, float[]> {
     public float[] processOutput(TranslatorContext ctx, NDList list) {
         String input = (String) ctx.getAttachment("input");
         FtModel model = (FtModel) ctx.getModel();
-        FastTextWrapper.RealVector rv = model.fta.getVector(input);
-
-        int size = (int) rv.size();
-        float[] vec = new float[size];
-        for (int i = 0; i < size; ++i) {
-            vec[i] = rv.get(i);
-        }
-        return vec;
+        return model.getWordVector(input);
     }
 
     /** {@inheritDoc} */
@@ -18,11 +18,15 @@ import ai.djl.ModelException;
 import ai.djl.fasttext.dataset.CookingStackExchange;
 import ai.djl.fasttext.engine.FtModel;
 import ai.djl.fasttext.engine.FtTrainingConfig;
+import ai.djl.fasttext.engine.FtWordEmbedding;
 import ai.djl.fasttext.engine.TextClassificationTranslator;
 import ai.djl.fasttext.engine.Word2VecTranslator;
 import ai.djl.fasttext.zoo.FtModelZoo;
 import ai.djl.inference.Predictor;
 import ai.djl.modality.Classifications;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
 import ai.djl.repository.zoo.ModelNotFoundException;
 import ai.djl.repository.zoo.ZooModel;
 import ai.djl.training.dataset.Dataset;
@@ -34,6 +38,10 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
@@ -78,6 +86,35 @@ public class TrainCookingStackExchange {
         }
     }
 
+    @Test
+    public void testBatchClassification()
+            throws IOException, MalformedModelException, ModelNotFoundException {
+        try (ZooModel<String, Classifications> model =
+                FtModelZoo.COOKING_STACKEXCHANGE.loadModel()) {
+            FtModel ftModel = (FtModel) model.getWrappedModel();
+            List<String> inputs = new ArrayList<>();
+            for (int i = 0; i < 100; ++i) {
+                inputs.add("Which baking dish is best to bake a banana bread ?");
+                inputs.add("Why not put knives in the dishwasher?");
+            }
+
+            List<Classifications> expected = ftModel.classify(inputs, 3);
+            Assert.assertEquals(expected.size(), inputs.size());
+            Assert.assertEquals(expected.get(0).item(0).getClassName(), "bread");
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Classifications> result = ftModel.classify(inputs, 3, executor, 4);
+                Assert.assertEquals(result.size(), inputs.size());
+                for (int i = 0; i < inputs.size(); ++i) {
+                    Assert.assertEquals(result.get(i).toString(), expected.get(i).toString());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
     @Test
     public void testWord2Vec()
             throws IOException, TranslateException, MalformedModelException,
@@ -93,6 +130,44 @@ public class TrainCookingStackExchange {
         }
     }
 
+    @Test
+    public void testWordEmbedding()
+            throws IOException, MalformedModelException, ModelNotFoundException,
+                    TranslateException {
+        try (ZooModel<String, Classifications> model =
+                        FtModelZoo.COOKING_STACKEXCHANGE.loadModel();
+                NDManager manager = NDManager.newBaseManager()) {
+            FtModel ftModel = (FtModel) model.getWrappedModel();
+            FtWordEmbedding embedding = new FtWordEmbedding(ftModel, 2);
+            int bread = embedding.preprocessWordToEmbed("bread");
+            int banana = embedding.preprocessWordToEmbed("banana");
+            Assert.assertEquals(embedding.preprocessWordToEmbed("bread"), bread);
+
+            NDArray result = embedding.embedWords(manager, new int[][] {{bread, banana}, {bread}});
+            Assert.assertEquals(result.getShape(), new Shape(2, 2, 100));
+            Assert.assertEquals(result.get("0, 0"), manager.create(ftModel.getWordVector("bread")));
+            Assert.assertEquals(result.get("1, 0"), result.get("0, 0"));
+            Assert.assertEquals(result.get("1, 1").sum().getFloat(), 0f);
+
+            // the indices stay valid after their vectors are evicted from the cache
+            int apple = embedding.preprocessWordToEmbed("apple");
+            result = embedding.embedWords(manager, new int[][] {{apple, banana, bread}});
+            Assert.assertEquals(result.getShape(), new Shape(1, 3, 100));
+            NDArray expected = manager.create(ftModel.getWordVector("banana"));
+            Assert.assertEquals(result.get("0, 1"), expected);
+            Assert.assertEquals(embedding.preprocessWordToEmbed("banana"), banana);
+            Assert.assertEquals(embedding.unembedWord(manager.create(apple)), "apple");
+            Assert.assertEquals(embedding.unembedWord(manager.create(banana)), "banana");
+            Assert.assertThrows(
+                    IllegalArgumentException.class, () -> embedding.embedWord(manager, 3));
+
+            FtWordEmbedding uncached = new FtWordEmbedding(ftModel, 0);
+            int word = uncached.preprocessWordToEmbed("bread");
+            expected = manager.create(ftModel.getWordVector("bread"));
+            Assert.assertEquals(uncached.embedWord(manager, word), expected);
+        }
+    }
+
     @Test(enabled = false)
     public void testBlazingText() throws IOException, ModelException, TranslateException {
         if (!Boolean.getBoolean("nightly")) {
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.modality.cv;
+
+import ai.djl.modality.cv.transform.CenterCrop;
+import ai.djl.modality.cv.transform.ImagePreprocess;
+import ai.djl.modality.cv.transform.Normalize;
+import ai.djl.modality.cv.transform.Resize;
+import ai.djl.modality.cv.transform.ToTensor;
+import ai.djl.modality.cv.util.NDImageUtils;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.testing.Assertions;
+import ai.djl.translate.Pipeline;
+import ai.djl.translate.Transform;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ImagePreprocessTest {
+
+    private static final float[] MEAN = {0.485f, 0.456f, 0.406f};
+    private static final float[] STD = {0.229f, 0.224f, 0.225f};
+
+    @Test
+    public void testFuse() {
+        List<Transform> transforms =
+                Arrays.asList(
+                        new Resize(32),
+                        new CenterCrop(24, 24),
+                        new ToTensor(),
+                        new Normalize(MEAN, STD));
+        List<Transform> fused = ImagePreprocess.fuse(transforms);
+        Assert.assertEquals(fused.size(), 1);
+        Assert.assertTrue(fused.get(0) instanceof ImagePreprocess);
+
+        // a single transform is never fused
+        fused = ImagePreprocess.fuse(Arrays.asList(new Resize(32), new CenterCrop()));
+        Assert.assertEquals(fused.size(), 2);
+    }
+
+    @Test
+    public void testCropToTensorNormalize() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray image = manager.randomUniform(0, 255, new Shape(40, 30, 3));
+            NDArray expected = NDImageUtils.centerCrop(image, 20, 16);
+            expected = NDImageUtils.toTensor(expected);
+            expected = NDImageUtils.normalize(expected, MEAN, STD);
+
+            NDArray result =
+                    ImagePreprocess.builder()
+                            .optCenterCrop(20, 16)
+                            .optNormalize(MEAN, STD)
+                            .build()
+                            .transform(image);
+            Assert.assertEquals(result.getShape(), new Shape(3, 16, 20));
+            Assertions.assertAlmostEquals(result, expected);
+        }
+    }
+
+    @Test
+    public void testResize() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray image = manager.randomUniform(0, 255, new Shape(100, 50, 3));
+            image = image.toType(DataType.UINT8, false);
+            NDArray expected = NDImageUtils.resize(image, 64, 48);
+            expected = NDImageUtils.centerCrop(expected, 32, 32);
+            expected = NDImageUtils.toTensor(expected);
+            expected = NDImageUtils.normalize(expected, MEAN, STD);
+
+            NDArray result =
+                    ImagePreprocess.builder()
+                            .optResize(64, 48)
+                            .optCenterCrop(32, 32)
+                            .optNormalize(MEAN, STD)
+                            .build()
+                            .transform(image);
+            Assert.assertEquals(result.getShape(), new Shape(3, 32, 32));
+            Assertions.assertAlmostEquals(result, expected);
+        }
+    }
+
+    @Test
+    public void testPipeline() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray image = manager.randomUniform(0, 255, new Shape(100, 50, 3));
+            Pipeline pipeline =
+                    new Pipeline(
+                            new Resize(64),
+                            new CenterCrop(32, 32),
+                            new ToTensor(),
+                            new Normalize(MEAN, STD));
+            NDArray expected = pipeline.transform(new NDList(image)).singletonOrThrow();
+
+            pipeline =
+                    new Pipeline(
+                            ImagePreprocess.builder()
+                                    .optResize(64, 64)
+                                    .optCenterCrop(32, 32)
+                                    .optNormalize(MEAN, STD)
+                                    .build());
+            NDArray result = pipeline.transform(new NDList(image)).singletonOrThrow();
+            Assert.assertEquals(result.getShape(), new Shape(3, 32, 32));
+            Assertions.assertAlmostEquals(result, expected);
+        }
+    }
+
+    @Test
+    public void testFuseExactClassOnly() {
+        Resize custom =
+                new Resize(32) {
+                    /** {@inheritDoc} */
+                    @Override
+                    public NDArray transform(NDArray array) {
+                        return array;
+                    }
+                };
+        List<Transform> fused = ImagePreprocess.fuse(Arrays.asList(custom, new ToTensor()));
+        Assert.assertSame(fused.get(0), custom);
+    }
+}
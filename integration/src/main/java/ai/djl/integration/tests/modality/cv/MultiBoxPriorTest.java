@@ -15,6 +15,7 @@ package ai.djl.integration.tests.modality.cv;
 import ai.djl.modality.cv.MultiBoxPrior;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import java.util.Arrays;
 import java.util.List;
@@ -36,4 +37,60 @@ public class MultiBoxPriorTest {
             Assert.assertEquals(anchors.getShape(), new Shape(1, 1048576, 4));
         }
     }
+
+    @Test
+    public void testAnchorCache() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            List<Float> sizes = Arrays.asList(0.2f, 0.272f);
+            List<Float> ratios = Arrays.asList(1f, 2f, 0.5f);
+            MultiBoxPrior cached =
+                    MultiBoxPrior.builder().setSizes(sizes).setRatios(ratios).build();
+            MultiBoxPrior uncached =
+                    MultiBoxPrior.builder()
+                            .setSizes(sizes)
+                            .setRatios(ratios)
+                            .optCacheSize(0)
+                            .build();
+            NDArray input = manager.ones(new Shape(2, 3, 16, 32));
+            NDArray expected = uncached.generateAnchorBoxes(input);
+            NDArray anchors = cached.generateAnchorBoxes(input);
+            Assert.assertEquals(anchors, expected);
+            try (NDManager batchManager = manager.newSubManager()) {
+                // the cached anchors are shared and do not belong to the input's manager
+                NDArray shared = cached.generateAnchorBoxes(batchManager.zeros(input.getShape()));
+                Assert.assertSame(shared, anchors);
+            }
+            Assert.assertEquals(cached.generateAnchorBoxes(input), expected);
+
+            NDArray other = manager.ones(new Shape(2, 3, 8, 8));
+            Assert.assertEquals(
+                    cached.generateAnchorBoxes(other), uncached.generateAnchorBoxes(other));
+
+            // the anchors are cached separately for each data type
+            NDArray float64 = manager.ones(input.getShape(), DataType.FLOAT64);
+            NDArray expected64 = uncached.generateAnchorBoxes(float64);
+            Assert.assertEquals(expected64.getDataType(), DataType.FLOAT64);
+            Assert.assertEquals(cached.generateAnchorBoxes(float64), expected64);
+            Assert.assertEquals(cached.generateAnchorBoxes(float64), expected64);
+            Assert.assertEquals(cached.generateAnchorBoxes(input).getDataType(), DataType.FLOAT32);
+
+            // once the cache is full, the anchors are generated in the input's manager
+            MultiBoxPrior single =
+                    MultiBoxPrior.builder()
+                            .setSizes(sizes)
+                            .setRatios(ratios)
+                            .optCacheSize(1)
+                            .build();
+            Assert.assertSame(single.generateAnchorBoxes(input), single.generateAnchorBoxes(input));
+            NDArray generated = single.generateAnchorBoxes(other);
+            Assert.assertEquals(generated.getManager(), manager);
+            Assert.assertNotSame(single.generateAnchorBoxes(other), generated);
+
+            // the cache is filled again after it is released
+            cached.close();
+            single.close();
+            Assert.assertEquals(cached.generateAnchorBoxes(input), expected);
+            cached.close();
+        }
+    }
 }
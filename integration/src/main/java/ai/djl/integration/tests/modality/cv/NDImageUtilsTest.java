@@ -138,4 +138,33 @@ public class NDImageUtilsTest {
             Assert.assertEquals(result, expected);
         }
     }
+
+    @Test
+    public void testFlip() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            // test 3D H, W, C
+            NDArray image = manager.arange(6f).reshape(2, 3, 1);
+            NDArray result = NDImageUtils.flipLeftRight(image);
+            NDArray expected = manager.create(new float[] {2, 1, 0, 5, 4, 3}, new Shape(2, 3, 1));
+            Assertions.assertAlmostEquals(result, expected);
+            result = NDImageUtils.flipTopBottom(image);
+            expected = manager.create(new float[] {3, 4, 5, 0, 1, 2}, new Shape(2, 3, 1));
+            Assertions.assertAlmostEquals(result, expected);
+
+            // test 4D N, H, W, C
+            NDArray batchImages = manager.arange(12f).reshape(2, 2, 3, 1);
+            result = NDImageUtils.flipLeftRight(batchImages);
+            expected =
+                    manager.create(
+                            new float[] {2, 1, 0, 5, 4, 3, 8, 7, 6, 11, 10, 9},
+                            new Shape(2, 2, 3, 1));
+            Assertions.assertAlmostEquals(result, expected);
+
+            // test integer image with several channels
+            image = manager.create(new int[] {0, 1, 2, 3, 4, 5}, new Shape(1, 3, 2));
+            result = NDImageUtils.flipLeftRight(image);
+            expected = manager.create(new int[] {4, 5, 2, 3, 0, 1}, new Shape(1, 3, 2));
+            Assert.assertEquals(result, expected);
+        }
+    }
 }
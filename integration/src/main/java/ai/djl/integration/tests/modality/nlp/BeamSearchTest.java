@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.modality.nlp;
+
+import ai.djl.basicmodelzoo.nlp.SimpleSequenceDecoder;
+import ai.djl.basicmodelzoo.nlp.SimpleSequenceEncoder;
+import ai.djl.integration.util.TestUtils;
+import ai.djl.modality.nlp.BeamSearch;
+import ai.djl.modality.nlp.Decoder;
+import ai.djl.modality.nlp.Encoder;
+import ai.djl.modality.nlp.EncoderDecoder;
+import ai.djl.modality.nlp.embedding.TrainableTextEmbedding;
+import ai.djl.modality.nlp.embedding.TrainableWordEmbedding;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.recurrent.LSTM;
+import ai.djl.training.ParameterStore;
+import ai.djl.training.initializer.XavierInitializer;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class BeamSearchTest {
+
+    private static final int MAX_LENGTH = 6;
+    private static final List<String> VOCABULARY =
+            Arrays.asList("0 1 2 3 4 5 6 7 8 9".split(" "));
+
+    @Test
+    public void testSearch() {
+        EncoderDecoder model =
+                new EncoderDecoder(
+                        new SimpleSequenceEncoder(embedding(), lstm()),
+                        new SimpleSequenceDecoder(embedding(), lstm(), VOCABULARY.size()));
+        try (NDManager manager = NDManager.newBaseManager(TestUtils.getDevices()[0])) {
+            model.setInitializer(new XavierInitializer());
+            model.initialize(manager, DataType.FLOAT32, new Shape(3, 5), new Shape(3, 1));
+            ParameterStore parameterStore = new ParameterStore(manager, false);
+            NDList inputs =
+                    new NDList(
+                            manager.create(
+                                    new float[] {1, 2, 3, 4, 5, 5, 4, 3, 2, 1, 1, 1, 2, 2, 3},
+                                    new Shape(3, 5)));
+
+            BeamSearch greedy = BeamSearch.builder().setBosIndex(0).setEosIndex(9).build();
+            List<long[]> greedyOutputs = greedy.search(parameterStore, model, inputs);
+            Assert.assertEquals(greedyOutputs.size(), 3);
+
+            BeamSearch beam =
+                    BeamSearch.builder()
+                            .optBeamSize(4)
+                            .optMaxLength(6)
+                            .setBosIndex(0)
+                            .setEosIndex(9)
+                            .build();
+            List<long[]> beamOutputs = beam.search(parameterStore, model, inputs);
+            Assert.assertEquals(beamOutputs.size(), 3);
+            for (long[] output : beamOutputs) {
+                Assert.assertTrue(output.length <= 6);
+                for (long token : output) {
+                    Assert.assertTrue(token >= 0 && token < 9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGreedyMatchesArgMax() {
+        EncoderDecoder model =
+                new EncoderDecoder(
+                        new SimpleSequenceEncoder(embedding(), lstm()),
+                        new SimpleSequenceDecoder(embedding(), lstm(), VOCABULARY.size()));
+        try (NDManager manager = NDManager.newBaseManager(TestUtils.getDevices()[0])) {
+            model.setInitializer(new XavierInitializer());
+            model.initialize(manager, DataType.FLOAT32, new Shape(3, 5), new Shape(3, 1));
+            ParameterStore parameterStore = new ParameterStore(manager, false);
+            NDArray inputs =
+                    manager.create(
+                            new float[] {1, 2, 3, 4, 5, 5, 4, 3, 2, 1, 1, 1, 2, 2, 3},
+                            new Shape(3, 5));
+
+            // end the first sequence after its first token, so it leaves the batch early
+            long[] first = argMaxDecode(parameterStore, model, inputs.get("0:1"), 10);
+            long eos = first[first.length > 1 ? 1 : 0];
+
+            BeamSearch greedy =
+                    BeamSearch.builder()
+                            .optBeamSize(1)
+                            .optMaxLength(MAX_LENGTH)
+                            .setBosIndex(0)
+                            .setEosIndex(eos)
+                            .build();
+            List<long[]> outputs = greedy.search(parameterStore, model, new NDList(inputs));
+            Assert.assertEquals(outputs.size(), 3);
+            for (int i = 0; i < 3; ++i) {
+                NDArray input = inputs.get(i + ":" + (i + 1));
+                long[] expected = argMaxDecode(parameterStore, model, input, eos);
+                Assert.assertEquals(Arrays.toString(outputs.get(i)), Arrays.toString(expected));
+            }
+        }
+    }
+
+    /** Decodes a single sequence by taking the token with the highest score at every step. */
+    private static long[] argMaxDecode(
+            ParameterStore parameterStore, EncoderDecoder model, NDArray input, long eos) {
+        Encoder encoder = model.getEncoder();
+        Decoder decoder = model.getDecoder();
+        NDList encoderOutputs = encoder.forward(parameterStore, new NDList(input), false);
+        NDList states = encoder.getStates(encoderOutputs);
+        NDManager manager = input.getManager();
+        long[] tokens = new long[MAX_LENGTH];
+        long last = 0;
+        int length = 0;
+        while (length < MAX_LENGTH) {
+            NDArray token = manager.create(new float[] {last}, new Shape(1, 1));
+            NDList output = decoder.step(parameterStore, new NDList(token), states);
+            states = output.subNDList(1);
+            last = output.head().reshape(-1).argMax().toType(DataType.INT64, false).getLong();
+            if (last == eos) {
+                break;
+            }
+            tokens[length++] = last;
+        }
+        return Arrays.copyOf(tokens, length);
+    }
+
+    private static TrainableTextEmbedding embedding() {
+        return new TrainableTextEmbedding(
+                TrainableWordEmbedding.builder()
+                        .setEmbeddingSize(8)
+                        .setItems(VOCABULARY)
+                        .build());
+    }
+
+    private static LSTM lstm() {
+        return LSTM.builder()
+                .setNumStackedLayers(1)
+                .setSequenceLength(false)
+                .setStateSize(16)
+                .build();
+    }
+}
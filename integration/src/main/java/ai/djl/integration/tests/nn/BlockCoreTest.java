@@ -15,6 +15,7 @@ package ai.djl.integration.tests.nn;
 import ai.djl.MalformedModelException;
 import ai.djl.Model;
 import ai.djl.engine.Engine;
+import ai.djl.inference.Predictor;
 import ai.djl.integration.util.TestUtils;
 import ai.djl.modality.nlp.embedding.TrainableWordEmbedding;
 import ai.djl.ndarray.NDArray;
@@ -27,6 +28,7 @@ import ai.djl.nn.Block;
 import ai.djl.nn.LambdaBlock;
 import ai.djl.nn.ParallelBlock;
 import ai.djl.nn.Parameter;
+import ai.djl.nn.ParameterType;
 import ai.djl.nn.SequentialBlock;
 import ai.djl.nn.convolutional.Conv1D;
 import ai.djl.nn.convolutional.Conv2D;
@@ -44,6 +46,9 @@ import ai.djl.training.TrainingConfig;
 import ai.djl.training.initializer.Initializer;
 import ai.djl.training.loss.Loss;
 import ai.djl.training.loss.SoftmaxCrossEntropyLoss;
+import ai.djl.translate.NoopTranslator;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Pair;
 import ai.djl.util.PairList;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -51,6 +56,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.List;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -199,6 +205,84 @@ public class BlockCoreTest {
         }
     }
 
+    @Test
+    public void testMixedPrecision() throws TranslateException {
+        TrainingConfig config =
+                new DefaultTrainingConfig(Loss.l2Loss()).optInitializer(Initializer.ONES);
+
+        Block block =
+                new SequentialBlock()
+                        .add(Linear.builder().setOutChannels(2).build())
+                        .add(BatchNorm.builder().build());
+        try (Model model = Model.newInstance()) {
+            model.setBlock(block);
+
+            Shape inputShape = new Shape(1, 2);
+            try (Trainer trainer = model.newTrainer(config)) {
+                trainer.initialize(inputShape);
+            }
+
+            NDManager manager = model.getNDManager();
+            NDArray data = manager.create(new float[] {1, 2}, inputShape);
+            NDList expected;
+            try (Predictor<NDList, NDList> predictor = model.newPredictor(new NoopTranslator())) {
+                expected = predictor.predict(new NDList(data));
+            }
+
+            model.cast(DataType.FLOAT16);
+            for (Parameter parameter : block.getParameters().values()) {
+                DataType dataType = parameter.getArray().getDataType();
+                if (parameter.getType() == ParameterType.WEIGHT) {
+                    Assert.assertEquals(dataType, DataType.FLOAT16);
+                } else if (parameter.getType() == ParameterType.GAMMA) {
+                    Assert.assertEquals(dataType, DataType.FLOAT32);
+                }
+            }
+
+            try (Predictor<NDList, NDList> predictor = model.newPredictor(new NoopTranslator())) {
+                NDList result = predictor.predict(new NDList(data));
+                Assert.assertEquals(result.head().getDataType(), DataType.FLOAT32);
+                Assertions.assertAlmostEquals(result, expected);
+            }
+        }
+    }
+
+    @Test
+    public void testCastRollback() {
+        TrainingConfig config =
+                new DefaultTrainingConfig(Loss.l2Loss()).optInitializer(Initializer.ONES);
+
+        Block block =
+                new SequentialBlock()
+                        .add(Linear.builder().setOutChannels(2).build())
+                        .add(
+                                new LambdaBlock(x -> x) {
+                                    @Override
+                                    protected void castParameters(
+                                            DataType dataType,
+                                            List<Pair<Parameter, NDArray>> originals) {
+                                        throw new UnsupportedOperationException("Cannot cast");
+                                    }
+                                });
+        try (Model model = Model.newInstance()) {
+            model.setBlock(block);
+            try (Trainer trainer = model.newTrainer(config)) {
+                trainer.initialize(new Shape(1, 2));
+            }
+
+            try {
+                model.cast(DataType.FLOAT16);
+                Assert.fail("The cast should fail");
+            } catch (UnsupportedOperationException ignore) {
+                // expected
+            }
+            Assert.assertEquals(model.getDataType(), DataType.FLOAT32);
+            for (Parameter parameter : block.getParameters().values()) {
+                Assert.assertEquals(parameter.getArray().getDataType(), DataType.FLOAT32);
+            }
+        }
+    }
+
     @Test
     public void testDropout() throws IOException, MalformedModelException {
         TrainingConfig config =
@@ -256,6 +340,25 @@ public class BlockCoreTest {
         }
     }
 
+    @Test
+    public void testEmbedWords() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray weight = manager.arange(6f).reshape(3, 2);
+            TrainableWordEmbedding embedding =
+                    new TrainableWordEmbedding(weight, Arrays.asList("a", "b", "c"), false);
+            int[][] indices = {
+                {embedding.preprocessWordToEmbed("b"), embedding.preprocessWordToEmbed("c")},
+                {embedding.preprocessWordToEmbed("a")}
+            };
+            NDArray result = embedding.embedWords(manager, indices);
+            Assert.assertEquals(
+                    result,
+                    manager.create(new float[] {2, 3, 4, 5, 0, 1, 0, 0}, new Shape(2, 2, 2)));
+            Assert.assertEquals(
+                    embedding.embedWord(manager, 2), manager.create(new float[] {4, 5}));
+        }
+    }
+
     @Test
     public void testConv1D() throws IOException, MalformedModelException {
         TrainingConfig config =
@@ -18,6 +18,7 @@ import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.transformer.AttentionCache;
 import ai.djl.nn.transformer.ScaledDotProductAttentionBlock;
 import ai.djl.training.ParameterStore;
 import ai.djl.training.initializer.Initializer;
@@ -767,6 +768,62 @@ public class ScaledDotProductAttentionBlockTest {
         Assert.assertTrue(allClose);
     }
 
+    @Test
+    public void testCachedSelfAttention() {
+        int batchSize = 8;
+        int seqLength = 6;
+        int embeddingSize = 4;
+        Shape shape = new Shape(batchSize, seqLength, embeddingSize);
+
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray sequence =
+                    manager.create(keySequenceInitialization)
+                            .toType(DataType.FLOAT32, false)
+                            .reshape(shape);
+            float[] causal = new float[batchSize * seqLength * seqLength];
+            for (int b = 0; b < batchSize; ++b) {
+                for (int t = 0; t < seqLength; ++t) {
+                    for (int f = 0; f <= t; ++f) {
+                        causal[(b * seqLength + t) * seqLength + f] = 1;
+                    }
+                }
+            }
+            NDArray mask =
+                    manager.create(causal, new Shape(batchSize, seqLength, seqLength))
+                            .toType(DataType.INT8, false);
+
+            ScaledDotProductAttentionBlock block =
+                    ScaledDotProductAttentionBlock.builder()
+                            .setEmbeddingSize(embeddingSize)
+                            .setHeadCount(2)
+                            .optAttentionProbsDropoutProb(0.0f)
+                            .build();
+            block.setInitializer(new NormalInitializer());
+            block.initialize(manager, DataType.FLOAT32, shape);
+            ParameterStore ps = new ParameterStore(manager, false);
+            NDArray expected = block.forward(ps, new NDList(sequence, mask), false).head();
+
+            try (AttentionCache cache = new AttentionCache(manager, 2)) {
+                NDList steps = new NDList();
+                for (int t = 0; t < seqLength; ++t) {
+                    NDArray step = sequence.get(":, " + t + ':' + (t + 1));
+                    NDList output =
+                            block.forward(ps, new NDList(step), false, cache.toParams());
+                    steps.add(output.head());
+                }
+                Assert.assertEquals(cache.length(), seqLength);
+                NDArray result = NDArrays.concat(steps, 1);
+                Assert.assertTrue(NDArrays.allClose(result, expected, 1e-04, 1e-07, true));
+
+                cache.evict(new int[] {1, 3});
+                NDArray step = sequence.get(":, 0:1").get("1:4:2");
+                NDList output = block.forward(ps, new NDList(step), false, cache.toParams());
+                Assert.assertEquals(output.head().getShape(), new Shape(2, 1, embeddingSize));
+                Assert.assertEquals(cache.length(), seqLength + 1);
+            }
+        }
+    }
+
     public static class TestConstantInitializer implements Initializer {
 
         private double[] constants;
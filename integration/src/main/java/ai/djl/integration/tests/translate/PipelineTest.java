@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.translate;
+
+import ai.djl.engine.Engine;
+import ai.djl.modality.cv.transform.RandomBrightness;
+import ai.djl.modality.cv.transform.RandomFlipLeftRight;
+import ai.djl.modality.cv.util.NDImageUtils;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.testing.Assertions;
+import ai.djl.translate.Pipeline;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PipelineTest {
+
+    @Test
+    public void testTransformBatch() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray batch = manager.randomUniform(0, 1, new Shape(4, 8, 6, 3));
+            NDArray labels = manager.arange(4f);
+            Pipeline pipeline =
+                    new Pipeline()
+                            .addBatchTransform(new RandomFlipLeftRight(1f))
+                            .addBatchTransform(new RandomBrightness(0f));
+            Assert.assertTrue(pipeline.hasBatchTransforms());
+
+            // per-record transform is a no-op without per-record transforms
+            NDList input = new NDList(batch, labels);
+            Assert.assertEquals(pipeline.transform(input), input);
+
+            NDList result = pipeline.transformBatch(input);
+            Assert.assertEquals(result.size(), 2);
+            Assertions.assertAlmostEquals(result.get(0), NDImageUtils.flipLeftRight(batch));
+            Assert.assertEquals(result.get(1), labels);
+        }
+    }
+
+    @Test
+    public void testRandomTransforms() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            Engine.getInstance().setRandomSeed(1234);
+            int batchSize = 16;
+            NDArray batch = manager.arange(batchSize * 6f).reshape(batchSize, 2, 3, 1);
+
+            NDArray flipped = new RandomFlipLeftRight(0.5f).transform(batch);
+            int count = 0;
+            for (int i = 0; i < batchSize; ++i) {
+                NDArray sample = batch.get(i);
+                NDArray result = flipped.get(i);
+                if (result.contentEquals(NDImageUtils.flipLeftRight(sample))) {
+                    ++count;
+                } else {
+                    Assert.assertEquals(result, sample);
+                }
+            }
+            Assert.assertTrue(count > 0 && count < batchSize, "flipped " + count);
+
+            NDArray brightened = new RandomBrightness(0.5f).transform(batch.add(1));
+            NDArray factors = brightened.div(batch.add(1));
+            for (int i = 0; i < batchSize; ++i) {
+                NDArray factor = factors.get(i);
+                float min = factor.min().getFloat();
+                float max = factor.max().getFloat();
+                Assert.assertEquals(min, max, 1e-4f);
+                Assert.assertTrue(min >= 0.5f && max <= 1.5f, "factor " + min);
+            }
+        }
+    }
+}
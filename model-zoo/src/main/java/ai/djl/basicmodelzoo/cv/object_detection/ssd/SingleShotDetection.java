@@ -118,6 +118,14 @@ public final class SingleShotDetection extends AbstractBlock {
         throw new IllegalArgumentException("SSDBlock has no parameters");
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        super.clear();
+        // releases the anchor boxes cached by the priors as well
+        multiBoxPriors.forEach(MultiBoxPrior::close);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Shape[] getOutputShapes(NDManager manager, Shape[] inputShapes) {
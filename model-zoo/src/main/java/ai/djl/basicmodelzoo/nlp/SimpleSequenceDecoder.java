@@ -30,6 +30,7 @@ import ai.djl.util.PairList;
  */
 public class SimpleSequenceDecoder extends Decoder {
     private RecurrentBlock recurrentBlock;
+    private NDList beginStates;
 
     /**
      * Contructs a new instance of {@code SimpleSequenceDecoder} with the given {@link
@@ -75,9 +76,35 @@ public class SimpleSequenceDecoder extends Decoder {
     /** {@inheritDoc} */
     @Override
     public void initState(NDList encoderStates) {
+        beginStates = encoderStates;
         recurrentBlock.setBeginStates(encoderStates);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDList step(ParameterStore parameterStore, NDList inputs, NDList states) {
+        if (states != null) {
+            recurrentBlock.setBeginStates(states);
+        }
+        NDList current = inputs;
+        NDList newStates = new NDList();
+        recurrentBlock.setStateOutputs(true);
+        try {
+            for (Block child : block.getChildren().values()) {
+                current = child.forward(parameterStore, current, false);
+                if (child == recurrentBlock) {
+                    newStates = current.subNDList(1);
+                    current = new NDList(current.head());
+                }
+            }
+        } finally {
+            recurrentBlock.setStateOutputs(false);
+        }
+        NDList ret = new NDList(current.head());
+        ret.addAll(newStates);
+        return ret;
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDList forward(
@@ -94,9 +121,11 @@ public class SimpleSequenceDecoder extends Decoder {
             throw new IllegalArgumentException("Input sequence length must be 1 during prediction");
         }
         NDList output = new NDList();
+        NDList states = beginStates;
         for (int i = 0; i < 10; i++) {
-            inputs = block.forward(parameterStore, inputs, false);
-            inputs = new NDList(inputs.head().argMax(2));
+            NDList result = step(parameterStore, inputs, states);
+            states = result.subNDList(1);
+            inputs = new NDList(result.head().argMax(2));
             output.add(inputs.head().transpose(1, 0));
         }
         return new NDList(NDArrays.stack(output).transpose(2, 1, 0));
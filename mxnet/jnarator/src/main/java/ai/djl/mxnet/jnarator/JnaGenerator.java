@@ -18,6 +18,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -26,9 +27,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class JnaGenerator {
 
+    private static final Logger logger = LoggerFactory.getLogger(JnaGenerator.class);
+
+    private static final Set<String> PRIMITIVES =
+            new HashSet<>(
+                    Arrays.asList(
+                            "byte", "short", "char", "int", "long", "float", "double", "boolean"));
+
     private Path dir;
     private String packageName;
     private String libName;
@@ -250,6 +260,106 @@ public class JnaGenerator {
         }
     }
 
+    public void writeDirectLibrary(Collection<FuncInfo> functions, Set<String> directFunctions)
+            throws IOException {
+        String directName = AntlrUtils.toCamelCase(libName) + "DirectLibrary";
+        try (BufferedWriter writer = Files.newBufferedWriter(dir.resolve(directName + ".java"))) {
+            writer.append("package ").append(packageName).append(";\n\n");
+
+            writer.append("import com.sun.jna.Native;\n");
+            writer.append("import com.sun.jna.NativeLibrary;\n");
+            writer.append("import com.sun.jna.Pointer;\n");
+            writer.append("import com.sun.jna.StringArray;\n");
+            writer.append("import com.sun.jna.ptr.PointerByReference;\n");
+            writer.append("import java.nio.ByteBuffer;\n");
+            writer.append("import java.nio.FloatBuffer;\n");
+            writer.append("import java.nio.IntBuffer;\n");
+            writer.append("import java.nio.LongBuffer;\n");
+
+            writer.append("\n/**\n");
+            writer.append(" * A {@link ").append(className);
+            writer.append("} that calls the hot functions through JNA direct mapping and\n");
+            writer.append(" * delegates all other functions to the interface mapped library.\n");
+            writer.append(" */\n");
+            writer.append("public final class ").append(directName);
+            writer.append(" implements ").append(className).append(" {\n\n");
+            writer.append("    private ").append(className).append(" library;\n\n");
+            writer.append("    public ").append(directName).append('(').append(className);
+            writer.append(" library, String libName) {\n");
+            writer.append("        this.library = library;\n");
+            writer.append(
+                    "        Native.register(Direct.class, NativeLibrary.getInstance(libName));\n");
+            writer.append("    }\n");
+
+            List<FuncInfo> direct = new ArrayList<>();
+            for (FuncInfo info : functions) {
+                String funcName = info.getName();
+                boolean isDirect = directFunctions.contains(funcName);
+                if (isDirect && !supportsDirectMapping(info)) {
+                    logger.warn("Function cannot be direct mapped: {}", funcName);
+                    isDirect = false;
+                }
+                String returnType = getReturnType(info);
+                writer.append("\n    @Override\n");
+                writer.append("    public ").append(returnType).append(' ');
+                writer.append(funcName).append('(');
+                writeParameters(writer, funcName, info.getParameters());
+                writer.append(") {\n        ");
+                if (!"void".equals(returnType)) {
+                    writer.append("return ");
+                }
+                if (isDirect) {
+                    direct.add(info);
+                    writer.append("Direct.");
+                } else {
+                    writer.append("library.");
+                }
+                writer.append(funcName).append('(');
+                boolean first = true;
+                for (Parameter param : getParameters(info)) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        writer.append(", ");
+                    }
+                    if (isDirect && "String[]".equals(getParameterType(funcName, param))) {
+                        writer.append("toNative(").append(param.getName()).append(')');
+                    } else {
+                        writer.append(param.getName());
+                    }
+                }
+                writer.append(");\n    }\n");
+            }
+
+            writer.append("\n    private static Pointer toNative(String[] array) {\n");
+            writer.append("        return array == null ? null : new StringArray(array);\n");
+            writer.append("    }\n");
+
+            writer.append("\n    private static final class Direct {\n");
+            for (FuncInfo info : direct) {
+                String funcName = info.getName();
+                writer.append("\n        static native ").append(getReturnType(info)).append(' ');
+                writer.append(funcName).append('(');
+                boolean first = true;
+                for (Parameter param : getParameters(info)) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        writer.append(", ");
+                    }
+                    String type = getParameterType(funcName, param);
+                    if ("String[]".equals(type)) {
+                        type = "Pointer";
+                    }
+                    writer.append(type).append(' ').append(param.getName());
+                }
+                writer.append(");\n");
+            }
+            writer.append("    }\n");
+            writer.append("}\n");
+        }
+    }
+
     public void writeNativeSize() throws IOException {
         try (BufferedWriter writer = Files.newBufferedWriter(dir.resolve("NativeSize.java"))) {
             writer.append("package ").append(packageName).append(";\n\n");
@@ -306,16 +416,64 @@ public class JnaGenerator {
 
     private void writeFunction(BufferedWriter writer, FuncInfo info) throws IOException {
         String funcName = info.getName();
-        String returnType = mapping.getProperty(funcName);
-        if (returnType == null) {
-            returnType = info.getReturnType().map(typedefMap, structs);
-        }
+        String returnType = getReturnType(info);
         writer.append("\n    ").append(returnType).append(' ');
         writer.append(funcName).append('(');
         writeParameters(writer, funcName, info.getParameters());
         writer.append(");\n");
     }
 
+    private String getReturnType(FuncInfo info) {
+        String returnType = mapping.getProperty(info.getName());
+        if (returnType == null) {
+            returnType = info.getReturnType().map(typedefMap, structs);
+        }
+        return returnType;
+    }
+
+    private String getParameterType(String funcName, Parameter param) {
+        String type = mapping.getProperty(funcName + '.' + param.getName());
+        if (type == null) {
+            type = param.getType().map(typedefMap, structs);
+        }
+        return type;
+    }
+
+    private List<Parameter> getParameters(FuncInfo info) {
+        List<Parameter> parameters = info.getParameters();
+        if (parameters == null) {
+            return Collections.emptyList();
+        }
+        List<Parameter> list = new ArrayList<>(parameters.size());
+        for (Parameter param : parameters) {
+            if (!"void".equals(getParameterType(info.getName(), param))) {
+                list.add(param);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns whether JNA can direct map the function.
+     *
+     * <p>Direct mapping does not support arrays of objects, except for {@code String[]}, which is
+     * copied to a new {@code StringArray} on every call. Hot {@code String[]} parameters should be
+     * mapped to {@code Pointer} in the mapping file instead, so the caller can pass a cached {@code
+     * StringArray}.
+     */
+    private boolean supportsDirectMapping(FuncInfo info) {
+        for (Parameter param : getParameters(info)) {
+            String type = getParameterType(info.getName(), param);
+            if (type.endsWith("[]") && !"String[]".equals(type)) {
+                String component = type.substring(0, type.length() - 2);
+                if (!PRIMITIVES.contains(component)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void writeParameters(BufferedWriter writer, String funcName, List<Parameter> parameters)
             throws IOException {
         if (parameters != null) {
@@ -327,10 +485,7 @@ public class JnaGenerator {
                     writer.append(", ");
                 }
                 String paramName = param.getName();
-                String type = mapping.getProperty(funcName + '.' + paramName);
-                if (type == null) {
-                    type = param.getType().map(typedefMap, structs);
-                }
+                String type = getParameterType(funcName, param);
                 if (!"void".equals(type)) {
                     writer.append(type).append(' ');
                     writer.append(paramName);
@@ -16,9 +16,12 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
@@ -46,6 +49,7 @@ public final class Main {
             String library = config.getLibrary();
             String[] headerFiles = config.getHeaderFiles();
             String mappingFile = config.getMappingFile();
+            String[] directFunctions = config.getDirectFunctions();
 
             Path dir = Paths.get(output);
             Files.createDirectories(dir);
@@ -76,6 +80,10 @@ public final class Main {
             generator.writeNativeSize();
             generator.writeStructure(structMap);
             generator.writeLibrary(jnaParser.getFunctions(), jnaParser.getEnumMap());
+            if (directFunctions != null) {
+                Set<String> direct = new HashSet<>(Arrays.asList(directFunctions));
+                generator.writeDirectLibrary(jnaParser.getFunctions(), direct);
+            }
         } catch (ParseException e) {
             HelpFormatter formatter = new HelpFormatter();
             formatter.setLeftPadding(1);
@@ -95,6 +103,7 @@ public final class Main {
         private String output;
         private String[] headerFiles;
         private String mappingFile;
+        private String[] directFunctions;
 
         public Config(CommandLine cmd) {
             library = cmd.getOptionValue("library");
@@ -102,6 +111,7 @@ public final class Main {
             output = cmd.getOptionValue("output");
             headerFiles = cmd.getOptionValues("header");
             mappingFile = cmd.getOptionValue("mappingFile");
+            directFunctions = cmd.getOptionValues("direct");
         }
 
         public static Options getOptions() {
@@ -145,6 +155,13 @@ public final class Main {
                             .argName("MAPPING_FILE")
                             .desc("Type mappingFile config file")
                             .build());
+            options.addOption(
+                    Option.builder("d")
+                            .longOpt("direct")
+                            .hasArgs()
+                            .argName("FUNCTION")
+                            .desc("Functions to call through JNA direct mapping")
+                            .build());
             return options;
         }
 
@@ -167,5 +184,9 @@ public final class Main {
         public String getMappingFile() {
             return mappingFile;
         }
+
+        public String[] getDirectFunctions() {
+            return directFunctions;
+        }
     }
 }
@@ -25,6 +25,7 @@ import ai.djl.util.PairList;
 import com.sun.jna.Pointer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,7 +46,8 @@ public class CachedOp extends NativeResource {
     private MxNDArray[] debugInputs;
     private PairList<String, Integer> dataIndices;
     private Map<String, Integer> dataIndicesMap;
-    private List<Integer> paramIndices;
+    private int[] paramIndices;
+    private Map<Device, ParameterInputs> parameterInputs;
     private MxNDManager manager;
 
     /**
@@ -69,8 +71,9 @@ public class CachedOp extends NativeResource {
         super(handle);
         this.parameters = parameters;
         this.dataIndices = dataIndices;
-        this.paramIndices = paramIndices;
+        this.paramIndices = paramIndices.stream().mapToInt(Integer::intValue).toArray();
         this.dataIndicesMap = dataIndices.toMap();
+        parameterInputs = new ConcurrentHashMap<>();
         // holds all parameter and data NDArray values, final inputs to CachedOp
         this.manager = manager;
         manager.attach(getUid(), this);
@@ -84,24 +87,15 @@ public class CachedOp extends NativeResource {
      * @return an {@link NDList}
      */
     public NDList forward(ParameterStore parameterStore, NDList data) {
-        // reset the input data index at the beginning
-        MxNDArray[] allInputsNDArray = new MxNDArray[parameters.size()];
-        // for unit test purpose, we export the current one to global
-        this.debugInputs = allInputsNDArray;
         // check device of input
         Device device = data.head().getDevice();
         // get the manager of the data
         MxNDManager inputManager = (MxNDManager) data.head().getManager();
 
-        // fill allInputsNDArray with parameter values on correct device
-        for (int index : paramIndices) {
-            Parameter parameter = parameters.get(index);
-            MxNDArray value = (MxNDArray) parameterStore.getValue(parameter, device);
-            if (value == null) {
-                throw new NullPointerException("Failed to find parameter from parameterStore");
-            }
-            allInputsNDArray[index] = value;
-        }
+        // start from the parameter values on correct device
+        MxNDArray[] allInputsNDArray = getParameterInputs(parameterStore, device);
+        // for unit test purpose, we export the current one to global
+        this.debugInputs = allInputsNDArray;
 
         // fill allInputsNDArray with data values
         int index = 0;
@@ -134,6 +128,31 @@ public class CachedOp extends NativeResource {
         return new NDList(result);
     }
 
+    /**
+     * Returns a new input array with the parameter values on the given device filled in.
+     *
+     * <p>The resolved parameter values are cached per device and reused as long as they come from
+     * the same {@link ParameterStore} and none of them has been closed, so repeated calls skip the
+     * {@link ParameterStore#getValue(Parameter, Device)} lookups.
+     */
+    private MxNDArray[] getParameterInputs(ParameterStore parameterStore, Device device) {
+        ParameterInputs cached = parameterInputs.get(device);
+        if (cached == null || !cached.isValid(parameterStore, paramIndices)) {
+            MxNDArray[] inputs = new MxNDArray[parameters.size()];
+            for (int index : paramIndices) {
+                Parameter parameter = parameters.get(index);
+                MxNDArray value = (MxNDArray) parameterStore.getValue(parameter, device);
+                if (value == null) {
+                    throw new NullPointerException("Failed to find parameter from parameterStore");
+                }
+                inputs[index] = value;
+            }
+            cached = new ParameterInputs(parameterStore, inputs);
+            parameterInputs.put(device, cached);
+        }
+        return cached.inputs.clone();
+    }
+
     /**
      * Gets an input NDArray. For unit tests only.
      *
@@ -148,6 +167,7 @@ public class CachedOp extends NativeResource {
     public void close() {
         Pointer pointer = handle.getAndSet(null);
         if (pointer != null) {
+            parameterInputs.clear();
             manager.detach(getUid());
             JnaUtils.freeCachedOp(pointer);
             manager = null;
@@ -169,4 +189,28 @@ public class CachedOp extends NativeResource {
         }
         return index;
     }
+
+    /** The parameter values of a {@link CachedOp} resolved from a {@link ParameterStore}. */
+    private static final class ParameterInputs {
+
+        ParameterStore parameterStore;
+        MxNDArray[] inputs;
+
+        ParameterInputs(ParameterStore parameterStore, MxNDArray[] inputs) {
+            this.parameterStore = parameterStore;
+            this.inputs = inputs;
+        }
+
+        boolean isValid(ParameterStore store, int[] paramIndices) {
+            if (store != parameterStore) {
+                return false;
+            }
+            for (int index : paramIndices) {
+                if (inputs[index].getHandle() == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
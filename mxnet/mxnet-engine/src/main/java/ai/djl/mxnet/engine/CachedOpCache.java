@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.mxnet.engine;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, least recently used cache of the {@link CachedOp}s of a {@link MxSymbolBlock}.
+ *
+ * <p>Every {@link CachedOp} returned by {@link #acquire(MxSymbolBlock.CachedOpKey, Supplier)} is
+ * reference counted until it is given back with {@link #release(CachedOp)}. An evicted {@link
+ * CachedOp} is only closed once no forward pass is using it anymore.
+ */
+final class CachedOpCache {
+
+    private Map<MxSymbolBlock.CachedOpKey, CachedOp> ops;
+    private Map<CachedOp, Integer> references;
+    private Set<CachedOp> evicted;
+
+    /**
+     * Constructs a {@code CachedOpCache}.
+     *
+     * @param maxSize the maximum number of {@link CachedOp}s to keep
+     */
+    CachedOpCache(int maxSize) {
+        ops =
+                new LinkedHashMap<MxSymbolBlock.CachedOpKey, CachedOp>(maxSize * 2, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<MxSymbolBlock.CachedOpKey, CachedOp> eldest) {
+                        if (size() > maxSize) {
+                            retire(eldest.getValue());
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+        references = new IdentityHashMap<>();
+        evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Returns the {@link CachedOp} for the key, creating it if it is not cached yet.
+     *
+     * @param key the key of the {@link CachedOp}
+     * @param factory the function creating a missing {@link CachedOp}
+     * @return the {@link CachedOp}, which must be given back with {@link #release(CachedOp)}
+     */
+    synchronized CachedOp acquire(MxSymbolBlock.CachedOpKey key, Supplier<CachedOp> factory) {
+        CachedOp op = ops.get(key);
+        if (op == null) {
+            op = factory.get();
+            ops.put(key, op);
+        }
+        references.merge(op, 1, Integer::sum);
+        return op;
+    }
+
+    /**
+     * Gives back a {@link CachedOp} returned by {@link #acquire(MxSymbolBlock.CachedOpKey,
+     * Supplier)}, closing it if it has been evicted in the meantime.
+     *
+     * @param op the {@link CachedOp} to give back
+     */
+    synchronized void release(CachedOp op) {
+        int count = references.get(op) - 1;
+        if (count > 0) {
+            references.put(op, count);
+            return;
+        }
+        references.remove(op);
+        if (evicted.remove(op)) {
+            op.close();
+        }
+    }
+
+    /** Evicts all {@link CachedOp}s. */
+    synchronized void clear() {
+        for (CachedOp op : ops.values()) {
+            retire(op);
+        }
+        ops.clear();
+    }
+
+    /**
+     * Returns the number of cached {@link CachedOp}s.
+     *
+     * @return the number of cached {@link CachedOp}s
+     */
+    synchronized int size() {
+        return ops.size();
+    }
+
+    private void retire(CachedOp op) {
+        if (references.containsKey(op)) {
+            evicted.add(op);
+        } else {
+            op.close();
+        }
+    }
+}
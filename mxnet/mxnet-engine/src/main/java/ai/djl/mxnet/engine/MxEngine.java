@@ -110,6 +110,25 @@ public final class MxEngine extends Engine {
         RandomUtils.RANDOM.setSeed(seed);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>MXNet sizes its engine worker threads from the {@code MXNET_CPU_WORKER_NTHREADS}
+     * environment variable when the library is loaded, so only the number of OpenMP threads used
+     * within an operator can be changed at runtime.
+     */
+    @Override
+    public void setNumThreads(int intraOpThreads, int interOpThreads) {
+        if (intraOpThreads > 0) {
+            JnaUtils.setOmpThreads(intraOpThreads);
+        }
+        if (interOpThreads > 0) {
+            logger.warn(
+                    "MXNet inter-op threads can only be set with MXNET_CPU_WORKER_NTHREADS"
+                            + " environment variable.");
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void debugEnvironment() {
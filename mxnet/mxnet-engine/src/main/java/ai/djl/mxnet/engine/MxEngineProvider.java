@@ -18,11 +18,20 @@ import ai.djl.engine.EngineProvider;
 /** {@code MxEngineProvider} is the MXNet implementation of {@link EngineProvider}. */
 public class MxEngineProvider implements EngineProvider {
 
-    private static final Engine ENGINE = MxEngine.newInstance();
+    /** {@inheritDoc} */
+    @Override
+    public String getEngineName() {
+        return MxEngine.ENGINE_NAME;
+    }
 
     /** {@inheritDoc} */
     @Override
     public Engine getEngine() {
-        return ENGINE;
+        return InstanceHolder.INSTANCE;
+    }
+
+    /** Defers loading the native library until the engine is first used. */
+    private static final class InstanceHolder {
+        static final Engine INSTANCE = MxEngine.newInstance();
     }
 }
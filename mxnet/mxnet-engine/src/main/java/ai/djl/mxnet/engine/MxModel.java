@@ -126,12 +126,6 @@ public class MxModel extends BaseModel {
         return new Predictor<>(this, translator, shouldCopyParameters);
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public void cast(DataType dataType) {
-        throw new UnsupportedOperationException("Not implemented yet.");
-    }
-
     /** {@inheritDoc} */
     @Override
     public String[] getArtifactNames() {
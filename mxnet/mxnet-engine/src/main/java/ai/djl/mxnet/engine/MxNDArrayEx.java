@@ -654,6 +654,14 @@ class MxNDArrayEx implements NDArrayEx {
         return getManager().invoke("_npx__image_crop", array, params);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDArray flip(int... axes) {
+        MxOpParams params = new MxOpParams();
+        params.addTupleParam("axis", axes);
+        return getManager().invoke("_npi_flip", array, params);
+    }
+
     ////////////////////////////////////////
     // Miscellaneous
     ////////////////////////////////////////
@@ -668,6 +676,14 @@ class MxNDArrayEx implements NDArrayEx {
         return getManager().invoke("pick", new NDList(array, index), params).singletonOrThrow();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDArray take(NDArray indices, int axis) {
+        MxOpParams params = new MxOpParams();
+        params.addParam("axis", axis);
+        return getManager().invoke("take", new NDList(array, indices), params).singletonOrThrow();
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDArray where(NDArray condition, NDArray other) {
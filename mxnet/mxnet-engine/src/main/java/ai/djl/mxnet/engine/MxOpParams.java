@@ -18,7 +18,13 @@ import ai.djl.ndarray.types.Shape;
 import ai.djl.ndarray.types.SparseFormat;
 import ai.djl.util.PairList;
 
-/** An internal helper for creating the MXNet operator parameters. */
+/**
+ * An internal helper for creating the MXNet operator parameters.
+ *
+ * <p>Shapes and numbers are kept as objects and only converted to strings when the operator is
+ * invoked, so that repeated parameter sets are served from the encoding cache in {@link
+ * ai.djl.mxnet.jna.JnaUtils}.
+ */
 public class MxOpParams extends PairList<String, Object> {
 
     // mxnet cpu take index
@@ -82,7 +88,7 @@ public class MxOpParams extends PairList<String, Object> {
      */
     public void addParam(String paramName, Shape shape) {
         if (shape != null) {
-            add(paramName, shape.toString());
+            add(paramName, shape);
         }
     }
 
@@ -103,7 +109,7 @@ public class MxOpParams extends PairList<String, Object> {
      * @param value the value of the new parameter
      */
     public void addParam(String paramName, int value) {
-        add(paramName, String.valueOf(value));
+        add(paramName, value);
     }
 
     /**
@@ -113,7 +119,7 @@ public class MxOpParams extends PairList<String, Object> {
      * @param value the value of the new parameter
      */
     public void addParam(String paramName, long value) {
-        add(paramName, String.valueOf(value));
+        add(paramName, value);
     }
 
     /**
@@ -123,7 +129,7 @@ public class MxOpParams extends PairList<String, Object> {
      * @param value the value of the new parameter
      */
     public void addParam(String paramName, double value) {
-        add(paramName, String.valueOf(value));
+        add(paramName, value);
     }
 
     /**
@@ -133,7 +139,7 @@ public class MxOpParams extends PairList<String, Object> {
      * @param value the value of the new parameter
      */
     public void addParam(String paramName, float value) {
-        add(paramName, String.valueOf(value));
+        add(paramName, value);
     }
 
     /**
@@ -153,7 +159,7 @@ public class MxOpParams extends PairList<String, Object> {
      * @param value the value of the new parameter
      */
     public void addParam(String paramName, Number value) {
-        add(paramName, String.valueOf(value));
+        add(paramName, value);
     }
 
     /**
@@ -13,8 +13,10 @@
 
 package ai.djl.mxnet.engine;
 
+import ai.djl.Device;
 import ai.djl.MalformedModelException;
 import ai.djl.mxnet.jna.JnaUtils;
+import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
@@ -24,6 +26,7 @@ import ai.djl.nn.ParameterBlock;
 import ai.djl.nn.ParameterType;
 import ai.djl.nn.SymbolBlock;
 import ai.djl.training.ParameterStore;
+import ai.djl.util.Pair;
 import ai.djl.util.PairList;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -45,9 +48,10 @@ import java.util.stream.Collectors;
 public class MxSymbolBlock extends ParameterBlock implements SymbolBlock {
 
     private static final byte VERSION = 2;
+    private static final int MAX_CACHED_OPS = 8;
 
     private NDManager manager;
-    private CachedOp op;
+    private CachedOpCache ops;
     private Symbol symbol;
     private List<Parameter> params; // includes input data
     private Map<String, Shape> paramShapes;
@@ -66,6 +70,7 @@ public class MxSymbolBlock extends ParameterBlock implements SymbolBlock {
         this.manager = manager;
         this.symbol = symbol;
         inputNames = new ArrayList<>();
+        ops = new CachedOpCache(MAX_CACHED_OPS);
 
         String[] allNames = symbol.getAllNames();
         params = new ArrayList<>(allNames.length);
@@ -145,10 +150,13 @@ public class MxSymbolBlock extends ParameterBlock implements SymbolBlock {
             NDList inputs,
             boolean training,
             PairList<String, Object> params) {
-        if (op == null) {
-            op = JnaUtils.createCachedOp(this, (MxNDManager) manager);
+        CachedOpKey key = new CachedOpKey(inputs, training);
+        CachedOp op = ops.acquire(key, () -> JnaUtils.createCachedOp(this, (MxNDManager) manager));
+        try {
+            return op.forward(parameterStore, inputs);
+        } finally {
+            ops.release(op);
         }
-        return op.forward(parameterStore, inputs);
     }
 
     /** {@inheritDoc} */
@@ -172,6 +180,40 @@ public class MxSymbolBlock extends ParameterBlock implements SymbolBlock {
                 .collect(Collectors.toList());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void castParameters(DataType dataType, List<Pair<Parameter, NDArray>> originals) {
+        try {
+            super.castParameters(dataType, originals);
+        } finally {
+            // the cached parameter inputs refer to the arrays before the cast
+            ops.clear();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean keepsFullPrecision(Parameter parameter) {
+        String name = parameter.getName();
+        switch (parameter.getType()) {
+            case RUNNING_MEAN:
+            case RUNNING_VAR:
+                return true;
+            case GAMMA:
+            case BETA:
+                // unlike a LayerNorm, a BatchNorm has running statistics next to gamma and beta
+                String prefix = name.substring(0, name.lastIndexOf('_') + 1);
+                return params.stream()
+                        .map(Parameter::getName)
+                        .anyMatch(
+                                n ->
+                                        n.equals(prefix + "moving_mean")
+                                                || n.equals(prefix + "running_mean"));
+            default:
+                return false;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void removeLastBlock() {
@@ -181,6 +223,7 @@ public class MxSymbolBlock extends ParameterBlock implements SymbolBlock {
         Symbol sliced = symbol.get(layerName);
         symbol.close();
         symbol = sliced;
+        ops.clear();
 
         HashSet<String> set = new HashSet<>(Arrays.asList(symbol.getAllNames()));
         for (int i = params.size() - 1; i >= 0; --i) {
@@ -258,4 +301,47 @@ public class MxSymbolBlock extends ParameterBlock implements SymbolBlock {
         }
         return ParameterType.OTHER;
     }
+
+    /**
+     * The device, input shapes and training flag a {@link CachedOp} is specialized for.
+     *
+     * <p>The CachedOps are created with static memory allocation and static shapes, so each
+     * combination of these gets its own CachedOp instead of replanning a shared one.
+     */
+    static final class CachedOpKey {
+
+        private Device device;
+        private Shape[] shapes;
+        private boolean training;
+
+        CachedOpKey(NDList inputs, boolean training) {
+            device = inputs.head().getDevice();
+            shapes = new Shape[inputs.size()];
+            for (int i = 0; i < shapes.length; ++i) {
+                shapes[i] = inputs.get(i).getShape();
+            }
+            this.training = training;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CachedOpKey)) {
+                return false;
+            }
+            CachedOpKey other = (CachedOpKey) o;
+            return training == other.training
+                    && device.equals(other.device)
+                    && Arrays.equals(shapes, other.shapes);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return (device.hashCode() * 31 + Arrays.hashCode(shapes)) * 31 + (training ? 1 : 0);
+        }
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.mxnet.jna;
+
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.PairList;
+import com.sun.jna.StringArray;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code EncodedParams} holds the operator parameters in the native string array key and value form
+ * that is passed to {@code MXImperativeInvokeEx}.
+ *
+ * <p>Operators are mostly called with a small number of distinct parameter sets (the same shapes,
+ * axes and data types over and over), so the encodings are cached by parameter content. A cache
+ * hit compares the parameters without converting any value to a {@code String} and without
+ * allocating. Only parameter sets whose values are immutable ({@code String}, {@link Shape} and the
+ * boxed primitives) are cached. Parameter sets with a {@code scalar} are never cached, because the
+ * scalar usually changes from call to call and would fill the cache with entries that are never
+ * used again. The cache stops growing once it is full. The native string arrays are created once
+ * per entry, so a cache hit does not allocate native memory either.
+ */
+final class EncodedParams {
+
+    static final EncodedParams EMPTY = new EncodedParams(new Object[0], 0);
+
+    private static final int MAX_CACHE_SIZE = 4096;
+    private static final String SCALAR = "scalar";
+    private static final Map<Object, EncodedParams> CACHE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Lookup> LOOKUP = ThreadLocal.withInitial(Lookup::new);
+
+    final String[] keys;
+    final String[] values;
+    final StringArray nativeKeys;
+    final StringArray nativeValues;
+    private Object[] entries;
+    private int hash;
+
+    private EncodedParams(Object[] entries, int hash) {
+        this.entries = entries;
+        this.hash = hash;
+        int size = entries.length / 2;
+        keys = new String[size];
+        values = new String[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = (String) entries[i * 2];
+            values[i] = String.valueOf(entries[i * 2 + 1]);
+        }
+        nativeKeys = new StringArray(keys);
+        nativeValues = new StringArray(values);
+    }
+
+    /**
+     * Returns the encoding of the given operator parameters.
+     *
+     * @param params the operator parameters, may be {@code null}
+     * @return the encoding of the parameters
+     */
+    static EncodedParams of(PairList<String, ?> params) {
+        if (params == null || params.isEmpty()) {
+            return EMPTY;
+        }
+        Lookup lookup = LOOKUP.get();
+        EncodedParams encoded;
+        try {
+            if (!lookup.reset(params)) {
+                return new EncodedParams(toEntries(params), 0);
+            }
+            encoded = CACHE.get(lookup);
+        } finally {
+            lookup.params = null;
+        }
+        if (encoded == null) {
+            encoded = new EncodedParams(toEntries(params), lookup.hash);
+            if (CACHE.size() < MAX_CACHE_SIZE) {
+                CACHE.putIfAbsent(encoded, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Returns the number of parameters.
+     *
+     * @return the number of parameters
+     */
+    int size() {
+        return keys.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EncodedParams)) {
+            return false;
+        }
+        Object[] other = ((EncodedParams) o).entries;
+        if (other.length != entries.length) {
+            return false;
+        }
+        for (int i = 0; i < entries.length; ++i) {
+            if (!entries[i].equals(other[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static Object[] toEntries(PairList<String, ?> params) {
+        int size = params.size();
+        Object[] entries = new Object[size * 2];
+        for (int i = 0; i < size; ++i) {
+            entries[i * 2] = params.keyAt(i);
+            entries[i * 2 + 1] = params.valueAt(i);
+        }
+        return entries;
+    }
+
+    private static boolean isCacheable(Object value) {
+        return value instanceof String
+                || value instanceof Shape
+                || value instanceof Integer
+                || value instanceof Long
+                || value instanceof Float
+                || value instanceof Double
+                || value instanceof Boolean;
+    }
+
+    /**
+     * A reusable probe that looks up a {@link PairList} in the cache without copying it.
+     *
+     * <p>The probe is only ever passed to {@link Map#get(Object)}, which compares it with the
+     * stored {@link EncodedParams} through the probe's own {@link #equals(Object)}.
+     */
+    private static final class Lookup {
+
+        PairList<String, ?> params;
+        int hash;
+
+        /**
+         * Points this probe to the given parameters.
+         *
+         * @param params the parameters to look up
+         * @return {@code false} if the parameters cannot be cached
+         */
+        boolean reset(PairList<String, ?> params) {
+            int h = 1;
+            for (int i = 0; i < params.size(); ++i) {
+                String key = params.keyAt(i);
+                Object value = params.valueAt(i);
+                if (key == null || SCALAR.equals(key) || !isCacheable(value)) {
+                    return false;
+                }
+                h = 31 * (31 * h + key.hashCode()) + value.hashCode();
+            }
+            this.params = params;
+            this.hash = h;
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof EncodedParams)) {
+                return false;
+            }
+            Object[] entries = ((EncodedParams) o).entries;
+            int size = params.size();
+            if (entries.length != size * 2) {
+                return false;
+            }
+            for (int i = 0; i < size; ++i) {
+                if (!entries[i * 2].equals(params.keyAt(i))
+                        || !entries[i * 2 + 1].equals(params.valueAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -12,14 +12,11 @@
  */
 package ai.djl.mxnet.jna;
 
-import ai.djl.mxnet.engine.MxNDArray;
 import ai.djl.mxnet.engine.MxNDManager;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
-import ai.djl.ndarray.types.SparseFormat;
 import ai.djl.util.PairList;
 import com.sun.jna.Pointer;
-import com.sun.jna.ptr.PointerByReference;
 import java.util.List;
 
 /** A FunctionInfo represents an operator (ie function) within the MXNet Engine. */
@@ -48,8 +45,8 @@ public class FunctionInfo {
     public int invoke(
             NDManager manager, NDArray[] src, NDArray[] dest, PairList<String, ?> params) {
         PointerArray srcHandles = JnaUtils.toPointerArray(src);
-        PointerByReference destRef = new PointerByReference(JnaUtils.toPointerArray(dest));
-        return JnaUtils.imperativeInvoke(handle, srcHandles, destRef, params).size();
+        PointerArray destHandles = JnaUtils.toPointerArray(dest);
+        return JnaUtils.imperativeInvoke(handle, srcHandles, destHandles, params);
     }
 
     /**
@@ -63,32 +60,16 @@ public class FunctionInfo {
      */
     public NDArray[] invoke(NDManager manager, NDArray[] src, PairList<String, ?> params) {
         PointerArray srcHandles = JnaUtils.toPointerArray(src);
-        return invoke((MxNDManager) manager, srcHandles, params);
+        return JnaUtils.imperativeInvoke((MxNDManager) manager, handle, srcHandles, params);
     }
 
     /**
-     * Calls an operator with the given arguments.
+     * Returns the native handle of the operator.
      *
-     * @param manager the manager to attach the result to
-     * @param src the input NDArray pointers to the operator
-     * @param params the non-NDArray arguments to the operator. Should be a {@code PairList<String,
-     *     String>}
-     * @return the error code or zero for no errors
+     * @return the native handle of the operator
      */
-    private NDArray[] invoke(MxNDManager manager, PointerArray src, PairList<String, ?> params) {
-        PointerByReference destRef = new PointerByReference();
-
-        PairList<Pointer, SparseFormat> pairList =
-                JnaUtils.imperativeInvoke(handle, src, destRef, params);
-        return pairList.stream()
-                .map(
-                        pair -> {
-                            if (pair.getValue() != SparseFormat.DENSE) {
-                                return manager.create(pair.getKey(), pair.getValue());
-                            }
-                            return manager.create(pair.getKey());
-                        })
-                .toArray(MxNDArray[]::new);
+    public Pointer getHandle() {
+        return handle;
     }
 
     /**
@@ -70,6 +70,8 @@ public final class JnaUtils {
 
     private static final Map<String, FunctionInfo> OPS = getNdArrayFunctions();
     private static final Set<String> FEATURES = getFeaturesInternal();
+    private static final ThreadLocal<InvokeBuffers> INVOKE_BUFFERS =
+            ThreadLocal.withInitial(InvokeBuffers::new);
 
     private JnaUtils() {}
 
@@ -204,11 +206,11 @@ public final class JnaUtils {
         return ret;
     }
 
-    /* Need tests
     public static void setOmpThreads(int threads) {
         checkCall(LIB.MXSetNumOMPThreads(threads));
     }
 
+    /* Need tests
     public static int setBulkSize(int bulkSize) {
         IntBuffer prevBulkSize = IntBuffer.allocate(1);
         checkCall(LIB.MXEngineSetBulkSize(bulkSize, prevBulkSize));
@@ -484,15 +486,7 @@ public final class JnaUtils {
             PointerArray inputs,
             PointerByReference destRef,
             PairList<String, ?> params) {
-        String[] keys;
-        String[] values;
-        if (params == null) {
-            keys = EMPTY_ARRAY;
-            values = EMPTY_ARRAY;
-        } else {
-            keys = params.keyArray(EMPTY_ARRAY);
-            values = params.values().stream().map(Object::toString).toArray(String[]::new);
-        }
+        EncodedParams encoded = EncodedParams.of(params);
         PointerByReference destSType = new PointerByReference();
         IntBuffer numOutputs = IntBuffer.allocate(1);
         numOutputs.put(0, 1);
@@ -504,9 +498,9 @@ public final class JnaUtils {
                         inputs,
                         numOutputs,
                         destRef,
-                        keys.length,
-                        keys,
-                        values,
+                        encoded.size(),
+                        encoded.nativeKeys,
+                        encoded.nativeValues,
                         destSType));
         int numOfOutputs = numOutputs.get(0);
         Pointer[] ptrArray = destRef.getValue().getPointerArray(0, numOfOutputs);
@@ -518,6 +512,76 @@ public final class JnaUtils {
         return pairList;
     }
 
+    /**
+     * Calls an operator and attaches its outputs to the given manager.
+     *
+     * <p>Unlike {@link #imperativeInvoke(Pointer, PointerArray, PointerByReference, PairList)},
+     * the parameters are encoded through a cache of repeated parameter sets, the native output
+     * arguments are reused per thread, and the output handles are read straight into the result
+     * arrays.
+     *
+     * @param manager the manager to attach the outputs to
+     * @param function the operator handle
+     * @param inputs the input handles
+     * @param params the operator parameters, may be {@code null}
+     * @return the outputs of the operator
+     */
+    public static MxNDArray[] imperativeInvoke(
+            MxNDManager manager,
+            Pointer function,
+            PointerArray inputs,
+            PairList<String, ?> params) {
+        InvokeBuffers buffers = INVOKE_BUFFERS.get();
+        buffers.outputs.setValue(null);
+        int numOfOutputs = imperativeInvoke(function, inputs, buffers, 0, params);
+        return toNDArrays(manager, buffers, numOfOutputs);
+    }
+
+    /**
+     * Calls an operator that writes into existing output arrays.
+     *
+     * @param function the operator handle
+     * @param inputs the input handles
+     * @param outputs the output handles to be overwritten
+     * @param params the operator parameters, may be {@code null}
+     * @return the number of outputs
+     */
+    public static int imperativeInvoke(
+            Pointer function,
+            PointerArray inputs,
+            PointerArray outputs,
+            PairList<String, ?> params) {
+        InvokeBuffers buffers = INVOKE_BUFFERS.get();
+        buffers.outputs.setValue(outputs);
+        try {
+            return imperativeInvoke(function, inputs, buffers, outputs.numElements(), params);
+        } finally {
+            buffers.outputs.setValue(null);
+        }
+    }
+
+    private static int imperativeInvoke(
+            Pointer function,
+            PointerArray inputs,
+            InvokeBuffers buffers,
+            int numOutputs,
+            PairList<String, ?> params) {
+        EncodedParams encoded = EncodedParams.of(params);
+        buffers.numOutputs.put(0, numOutputs);
+        checkCall(
+                LIB.MXImperativeInvokeEx(
+                        function,
+                        inputs.numElements(),
+                        inputs,
+                        buffers.numOutputs,
+                        buffers.outputs,
+                        encoded.size(),
+                        encoded.nativeKeys,
+                        encoded.nativeValues,
+                        buffers.sTypes));
+        return buffers.numOutputs.get(0);
+    }
+
     public static SparseFormat getStorageType(Pointer ndArray) {
         IntBuffer type = IntBuffer.allocate(1);
         checkNDArray(ndArray, "get the storage type of");
@@ -1751,21 +1815,32 @@ public final class JnaUtils {
             inputHandles[i] = inputs[i].getHandle();
         }
         PointerArray array = new PointerArray(inputHandles);
-        IntBuffer buf = IntBuffer.allocate(1);
-        PointerByReference ref = new PointerByReference();
-        PointerByReference outSTypeRef = new PointerByReference();
+        InvokeBuffers buffers = INVOKE_BUFFERS.get();
+        buffers.numOutputs.put(0, 0);
+        buffers.outputs.setValue(null);
         checkCall(
                 LIB.MXInvokeCachedOpEx(
-                        cachedOpHandle, inputs.length, array, buf, ref, outSTypeRef));
-        int numOutputs = buf.get();
-        Pointer[] ptrArray = ref.getValue().getPointerArray(0, numOutputs);
-        int[] sTypes = outSTypeRef.getValue().getIntArray(0, numOutputs);
+                        cachedOpHandle,
+                        inputs.length,
+                        array,
+                        buffers.numOutputs,
+                        buffers.outputs,
+                        buffers.sTypes));
+        return toNDArrays(manager, buffers, buffers.numOutputs.get(0));
+    }
+
+    private static MxNDArray[] toNDArrays(
+            MxNDManager manager, InvokeBuffers buffers, int numOutputs) {
+        Pointer ptrArray = buffers.outputs.getValue();
+        Pointer sTypes = buffers.sTypes.getValue();
         MxNDArray[] output = new MxNDArray[numOutputs];
         for (int i = 0; i < numOutputs; i++) {
-            if (sTypes[i] != 0) {
-                output[i] = manager.create(ptrArray[i], SparseFormat.fromValue(sTypes[i]));
+            Pointer handle = ptrArray.getPointer((long) i * Native.POINTER_SIZE);
+            SparseFormat fmt = SparseFormat.fromValue(sTypes.getInt(i * 4L));
+            if (fmt == SparseFormat.DENSE) {
+                output[i] = manager.create(handle);
             } else {
-                output[i] = manager.create(ptrArray[i]);
+                output[i] = manager.create(handle, fmt);
             }
         }
         return output;
@@ -1855,4 +1930,12 @@ public final class JnaUtils {
         }
         return name;
     }
+
+    /** The native output arguments of {@code MXImperativeInvokeEx}, reused by each thread. */
+    private static final class InvokeBuffers {
+
+        IntBuffer numOutputs = IntBuffer.allocate(1);
+        PointerByReference outputs = new PointerByReference();
+        PointerByReference sTypes = new PointerByReference();
+    }
 }
@@ -12,6 +12,7 @@
  */
 package ai.djl.mxnet.jna;
 
+import ai.djl.util.NativeLibraryCache;
 import ai.djl.util.Platform;
 import ai.djl.util.Utils;
 import com.sun.jna.Native;
@@ -22,13 +23,13 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
@@ -62,10 +63,25 @@ public final class LibUtils {
     private LibUtils() {}
 
     public static MxnetLibrary loadLibrary() {
+        long begin = System.nanoTime();
         String libName = getLibName();
+        long found = System.nanoTime();
         logger.debug("Loading mxnet library from: {}", libName);
 
-        return Native.load(libName, MxnetLibrary.class);
+        MxnetLibrary lib = Native.load(libName, MxnetLibrary.class);
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "MXNet library located in {} ms, loaded in {} ms.",
+                    String.format("%.3f", (found - begin) / 1_000_000f),
+                    String.format("%.3f", (System.nanoTime() - found) / 1_000_000f));
+        }
+        try {
+            // route the per operator calls through direct mapping, which skips the proxy dispatch
+            return new MxnetDirectLibrary(lib, libName);
+        } catch (UnsatisfiedLinkError e) {
+            logger.debug("Direct mapping is not available, using interface mapping.", e);
+            return lib;
+        }
     }
 
     public static String getLibName() {
@@ -153,33 +169,25 @@ public final class LibUtils {
     }
 
     private static String loadLibraryFromClasspath(Platform platform) {
-        Path tmp = null;
         try {
             String userHome = System.getProperty("user.home");
             String libName = System.mapLibraryName(LIB_NAME);
             Path cacheFolder = Paths.get(userHome, ".mxnet/cache");
             Path dir = cacheFolder.resolve(platform.getVersion() + platform.getClassifier());
             Path path = dir.resolve(libName);
-            if (Files.exists(path)) {
+            if (NativeLibraryCache.isCached(dir, libName)) {
                 return path.toAbsolutePath().toString();
             }
-            Files.createDirectories(cacheFolder);
-            tmp = Files.createTempDirectory(cacheFolder, "tmp");
+
+            Map<String, NativeLibraryCache.Source> sources = new LinkedHashMap<>();
             for (String file : platform.getLibraries()) {
                 String libPath = "/native/lib/" + file;
-                try (InputStream is = LibUtils.class.getResourceAsStream(libPath)) {
-                    Files.copy(is, tmp.resolve(file), StandardCopyOption.REPLACE_EXISTING);
-                }
+                sources.put(file, () -> LibUtils.class.getResourceAsStream(libPath));
             }
-
-            Utils.moveQuietly(tmp, dir);
+            NativeLibraryCache.extract(dir, libName, sources);
             return path.toAbsolutePath().toString();
         } catch (IOException e) {
             throw new IllegalStateException("Failed to extract MXNet native library", e);
-        } finally {
-            if (tmp != null) {
-                Utils.deleteQuietly(tmp);
-            }
         }
     }
 
@@ -266,13 +274,10 @@ public final class LibUtils {
         Path cacheFolder = Paths.get(userHome, ".mxnet/cache");
         Path dir = cacheFolder.resolve(version + flavor + '-' + classifier);
         Path path = dir.resolve(libName);
-        if (Files.exists(path)) {
+        if (NativeLibraryCache.isCached(dir, libName)) {
             return path.toAbsolutePath().toString();
         }
 
-        Files.createDirectories(cacheFolder);
-        Path tmp = Files.createTempDirectory(cacheFolder, "tmp");
-
         Matcher matcher = VERSION_PATTERN.matcher(version);
         if (!matcher.matches()) {
             throw new IllegalArgumentException("Unexpected version: " + version);
@@ -313,12 +318,14 @@ public final class LibUtils {
                                     userHome,
                                     ".mxnet/cache/" + version + flavor + '-' + classifier);
                     path = dir.resolve(libName);
-                    if (Files.exists(path)) {
+                    if (NativeLibraryCache.isCached(dir, libName)) {
                         return path.toAbsolutePath().toString();
                     }
                 }
             }
 
+            // the files are downloaded in parallel
+            Map<String, NativeLibraryCache.Source> sources = new LinkedHashMap<>();
             for (String line : lines) {
                 if (line.startsWith(os + "/common/") || line.startsWith(os + '/' + flavor + '/')) {
                     URL url = new URL(link + '/' + line);
@@ -333,19 +340,17 @@ public final class LibUtils {
                             fileName = "mxnet.dll"; // split CUDA build
                         }
                     }
-                    logger.info("Downloading {} ...", fileName);
-                    try (InputStream fis = new GZIPInputStream(url.openStream())) {
-                        Files.copy(fis, tmp.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
-                    }
+                    String name = fileName;
+                    sources.put(name, () -> download(url, name));
                 }
             }
-
-            Utils.moveQuietly(tmp, dir);
+            NativeLibraryCache.extract(dir, libName, sources);
             return path.toAbsolutePath().toString();
-        } finally {
-            if (tmp != null) {
-                Utils.deleteQuietly(tmp);
-            }
         }
     }
+
+    private static InputStream download(URL url, String fileName) throws IOException {
+        logger.info("Downloading {} ...", fileName);
+        return new GZIPInputStream(url.openStream());
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.mxnet.engine;
+// CHECKSTYLE:OFF:AvoidStaticImport
+
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+
+import ai.djl.mxnet.jna.LibUtils;
+import ai.djl.mxnet.jna.MxnetLibrary;
+import ai.djl.mxnet.jna.PointerArray;
+import ai.djl.mxnet.test.MockMxnetLibrary;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.PairList;
+import java.util.Collections;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.testng.PowerMockTestCase;
+import org.testng.Assert;
+import org.testng.IObjectFactory;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.ObjectFactory;
+import org.testng.annotations.Test;
+
+// CHECKSTYLE:ON:AvoidStaticImport
+
+@PrepareForTest(LibUtils.class)
+public class CachedOpCacheTest extends PowerMockTestCase {
+
+    @BeforeClass
+    public void prepare() {
+        mockStatic(LibUtils.class);
+        MxnetLibrary library = new MockMxnetLibrary();
+        PowerMockito.when(LibUtils.loadLibrary()).thenReturn(library);
+    }
+
+    @Test
+    public void testKey() {
+        try (MxNDManager manager = MxNDManager.getSystemManager().newSubManager()) {
+            NDList inputs = new NDList(manager.create(new Shape(2, 3)));
+            MxSymbolBlock.CachedOpKey key = new MxSymbolBlock.CachedOpKey(inputs, false);
+
+            NDList same = new NDList(manager.create(new Shape(2, 3)));
+            MxSymbolBlock.CachedOpKey sameKey = new MxSymbolBlock.CachedOpKey(same, false);
+            Assert.assertEquals(sameKey, key);
+            Assert.assertEquals(sameKey.hashCode(), key.hashCode());
+
+            NDList other = new NDList(manager.create(new Shape(4, 3)));
+            Assert.assertNotEquals(new MxSymbolBlock.CachedOpKey(other, false), key);
+            Assert.assertNotEquals(new MxSymbolBlock.CachedOpKey(inputs, true), key);
+        }
+    }
+
+    @Test
+    public void testEviction() {
+        try (MxNDManager manager = MxNDManager.getSystemManager().newSubManager()) {
+            CachedOpCache cache = new CachedOpCache(2);
+            MxSymbolBlock.CachedOpKey key1 = newKey(manager, 1);
+            MxSymbolBlock.CachedOpKey key2 = newKey(manager, 2);
+            MxSymbolBlock.CachedOpKey key3 = newKey(manager, 3);
+
+            CachedOp op1 = cache.acquire(key1, () -> newCachedOp(manager));
+            cache.release(op1);
+            CachedOp op2 = cache.acquire(key2, () -> newCachedOp(manager));
+            cache.release(op2);
+            Assert.assertSame(cache.acquire(key1, () -> newCachedOp(manager)), op1);
+
+            // op2 is the least recently used and not in use, so it is closed right away
+            CachedOp op3 = cache.acquire(key3, () -> newCachedOp(manager));
+            Assert.assertEquals(cache.size(), 2);
+            Assert.assertTrue(op2.isReleased());
+
+            // op1 is still in use when evicted, so it is only closed once released
+            cache.release(op3);
+            cache.acquire(key2, () -> newCachedOp(manager));
+            Assert.assertFalse(op1.isReleased());
+            cache.release(op1);
+            Assert.assertTrue(op1.isReleased());
+
+            // clearing keeps the ops in use alive until they are released
+            CachedOp op = cache.acquire(key3, () -> newCachedOp(manager));
+            Assert.assertSame(op, op3);
+            cache.clear();
+            Assert.assertEquals(cache.size(), 0);
+            Assert.assertFalse(op3.isReleased());
+            cache.release(op3);
+            Assert.assertTrue(op3.isReleased());
+        }
+    }
+
+    @ObjectFactory
+    public IObjectFactory getObjectFactory() {
+        return new org.powermock.modules.testng.PowerMockObjectFactory();
+    }
+
+    private static MxSymbolBlock.CachedOpKey newKey(MxNDManager manager, int batchSize) {
+        NDList inputs = new NDList(manager.create(new Shape(batchSize, 3)));
+        return new MxSymbolBlock.CachedOpKey(inputs, false);
+    }
+
+    private static CachedOp newCachedOp(MxNDManager manager) {
+        return new CachedOp(
+                new PointerArray(),
+                manager,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                new PairList<>());
+    }
+}
@@ -105,6 +105,7 @@ public class CachedOpTest extends PowerMockTestCase {
                             manager.create(new Shape(5)));
             co.forward(parameterStore, input);
             MxNDArray[] inputNDArray = co.getInputNDArray();
+            MxNDArray firstParam = inputNDArray[1];
             Assert.assertEquals(inputNDArray[0].getShape(), new Shape(2));
             Assert.assertEquals(inputNDArray[3].getShape(), new Shape(4));
             Assert.assertEquals(inputNDArray[4].getShape(), new Shape(5));
@@ -121,6 +122,7 @@ public class CachedOpTest extends PowerMockTestCase {
             Assert.assertEquals(inputNDArray[3].getShape(), new Shape(4));
             Assert.assertEquals(inputNDArray[4].getShape(), new Shape(2));
             logger.info("Test: Check the remaining params");
+            Assert.assertSame(inputNDArray[1], firstParam);
             Assert.assertEquals(inputNDArray[1].getShape(), new Shape(2));
             Assert.assertEquals(inputNDArray[2].getShape(), new Shape(3));
             Assert.assertEquals(inputNDArray[5].getShape(), new Shape(5));
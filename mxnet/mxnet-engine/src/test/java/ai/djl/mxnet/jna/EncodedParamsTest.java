@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.mxnet.jna;
+
+import ai.djl.ndarray.types.Shape;
+import ai.djl.util.PairList;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EncodedParamsTest {
+
+    @Test
+    public void testEncode() {
+        PairList<String, Object> params = new PairList<>();
+        params.add("newshape", new Shape(3, 4));
+        params.add("axis", 1);
+        params.add("eps", 0.5f);
+        params.add("keepdims", "True");
+        EncodedParams encoded = EncodedParams.of(params);
+        Assert.assertEquals(encoded.keys, new String[] {"newshape", "axis", "eps", "keepdims"});
+        Assert.assertEquals(encoded.values, new String[] {"(3, 4)", "1", "0.5", "True"});
+        Assert.assertEquals(encoded.nativeKeys.getStringArray(0), encoded.keys);
+        Assert.assertEquals(encoded.nativeValues.getStringArray(0), encoded.values);
+
+        PairList<String, Object> same = new PairList<>();
+        same.add("newshape", new Shape(3, 4));
+        same.add("axis", 1);
+        same.add("eps", 0.5f);
+        same.add("keepdims", "True");
+        Assert.assertSame(EncodedParams.of(same), encoded);
+
+        same.add("axes", new int[] {0, 1});
+        EncodedParams uncached = EncodedParams.of(same);
+        Assert.assertEquals(uncached.size(), 5);
+        Assert.assertNotSame(EncodedParams.of(same), uncached);
+
+        PairList<String, Object> scalar = new PairList<>();
+        scalar.add("scalar", 0.5f);
+        EncodedParams encodedScalar = EncodedParams.of(scalar);
+        Assert.assertEquals(encodedScalar.values, new String[] {"0.5"});
+        Assert.assertNotSame(EncodedParams.of(scalar), encodedScalar);
+
+        Assert.assertEquals(EncodedParams.of(null).size(), 0);
+    }
+}
@@ -1111,8 +1111,8 @@ public class MockMxnetLibrary implements MxnetLibrary {
             IntBuffer num_outputs,
             PointerByReference outputs,
             int num_params,
-            String[] param_keys,
-            String[] param_vals,
+            Pointer param_keys,
+            Pointer param_vals,
             PointerByReference out_stypes) {
         if (functions.containsKey("MXImperativeInvokeEx")) {
             return functions
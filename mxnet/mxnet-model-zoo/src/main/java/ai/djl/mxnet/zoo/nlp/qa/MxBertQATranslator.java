@@ -13,7 +13,7 @@
 package ai.djl.mxnet.zoo.nlp.qa;
 
 import ai.djl.Model;
-import ai.djl.modality.nlp.bert.BertToken;
+import ai.djl.modality.nlp.bert.BertEncoding;
 import ai.djl.modality.nlp.bert.BertTokenizer;
 import ai.djl.modality.nlp.bert.BertVocabulary;
 import ai.djl.modality.nlp.qa.QAInput;
@@ -23,10 +23,8 @@ import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.translate.TranslatorContext;
-import ai.djl.util.Utils;
 import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * The translator for {@link BertQAModelLoader}.
@@ -34,43 +32,54 @@ import java.util.stream.Collectors;
  * @see BertQAModelLoader
  */
 public class MxBertQATranslator extends QATranslator {
-    private List<String> tokens;
-    private BertVocabulary vocabulary;
     private BertTokenizer tokenizer;
     private int seqLength;
 
     MxBertQATranslator(Builder builder) {
+        super(builder);
         seqLength = builder.seqLength;
+        // the exported model only accepts sequences of seqLength
+        bucketSize = seqLength;
     }
 
     /** {@inheritDoc} */
     @Override
     public void prepare(NDManager manager, Model model) throws IOException {
-        vocabulary = model.getArtifact("vocab.json", MxBertVocabulary::parse);
-        tokenizer = new BertTokenizer();
+        BertVocabulary vocabulary = model.getArtifact("vocab.json", MxBertVocabulary::parse);
+        tokenizer = new BertTokenizer(vocabulary);
     }
 
     /** {@inheritDoc} */
     @Override
     public NDList processInput(TranslatorContext ctx, QAInput input) {
-        BertToken token =
-                tokenizer.encode(
+        List<BertEncoding> windows =
+                tokenizer.encodeWindows(
                         input.getQuestion().toLowerCase(),
                         input.getParagraph().toLowerCase(),
-                        seqLength);
-        tokens = token.getTokens();
-        List<Long> indices =
-                token.getTokens().stream().map(vocabulary::getIndex).collect(Collectors.toList());
-        float[] indexesFloat = Utils.toFloatArray(indices);
-        float[] types = Utils.toFloatArray(token.getTokenTypes());
-        int validLength = token.getValidLength();
+                        seqLength,
+                        docStride);
+        addWindows(ctx, windows);
+        int length = paddedLength(seqLength);
+        long[] tokenIds = pack(windows, length, BertEncoding::getTokenIds);
+        long[] tokenTypes = pack(windows, length, BertEncoding::getTokenTypes);
+        float[] indexesFloat = new float[tokenIds.length];
+        float[] types = new float[tokenTypes.length];
+        for (int i = 0; i < tokenIds.length; ++i) {
+            indexesFloat[i] = tokenIds[i];
+            types[i] = tokenTypes[i];
+        }
+        float[] validLengths = new float[windows.size()];
+        for (int i = 0; i < validLengths.length; ++i) {
+            validLengths[i] = windows.get(i).getValidLength();
+        }
 
         NDManager manager = ctx.getNDManager();
-        NDArray data0 = manager.create(indexesFloat, new Shape(1, seqLength));
+        Shape shape = new Shape(windows.size(), length);
+        NDArray data0 = manager.create(indexesFloat, shape);
         data0.setName("data0");
-        NDArray data1 = manager.create(types, new Shape(1, seqLength));
+        NDArray data1 = manager.create(types, shape);
         data1.setName("data1");
-        NDArray data2 = manager.create(new float[] {validLength});
+        NDArray data2 = manager.create(validLengths);
         data2.setName("data2");
 
         return new NDList(data0, data1, data2);
@@ -82,11 +91,9 @@ public class MxBertQATranslator extends QATranslator {
         NDArray array = list.singletonOrThrow();
         NDList output = array.split(2, 2);
         // Get the formatted logits result
-        NDArray startLogits = output.get(0).reshape(new Shape(1, -1));
-        NDArray endLogits = output.get(1).reshape(new Shape(1, -1));
-        int startIdx = (int) startLogits.argMax(1).getLong();
-        int endIdx = (int) endLogits.argMax(1).getLong();
-        return tokens.subList(startIdx, endIdx + 1).toString();
+        float[] startLogits = output.get(0).toFloatArray();
+        float[] endLogits = output.get(1).toFloatArray();
+        return decode(ctx, startLogits, endLogits);
     }
 
     /**
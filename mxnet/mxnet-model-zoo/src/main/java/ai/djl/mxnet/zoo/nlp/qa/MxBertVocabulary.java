@@ -60,4 +60,10 @@ public class MxBertVocabulary extends BertVocabulary {
     public String getToken(long index) {
         return idx2token.get((int) index);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return idx2token.size();
+    }
 }
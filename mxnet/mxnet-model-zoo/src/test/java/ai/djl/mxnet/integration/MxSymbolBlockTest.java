@@ -19,8 +19,10 @@ import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDArrays;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.Block;
+import ai.djl.nn.Parameter;
 import ai.djl.nn.SequentialBlock;
 import ai.djl.nn.SymbolBlock;
 import ai.djl.nn.core.Linear;
@@ -59,6 +61,32 @@ public class MxSymbolBlockTest {
         }
     }
 
+    @Test
+    public void testCast() throws IOException, ModelNotFoundException, MalformedModelException {
+        try (Model model = MxModelZoo.MLP.loadModel()) {
+            NDManager manager = model.getNDManager();
+
+            ParameterStore parameterStore = new ParameterStore(manager, false);
+
+            Block block = model.getBlock();
+            NDArray arr = manager.ones(new Shape(1, 28, 28));
+            NDArray expected =
+                    block.forward(parameterStore, new NDList(arr), false).singletonOrThrow();
+
+            model.cast(DataType.FLOAT16);
+            Assert.assertEquals(model.getDataType(), DataType.FLOAT16);
+            for (Parameter parameter : block.getDirectParameters()) {
+                Assert.assertEquals(parameter.getArray().getDataType(), DataType.FLOAT16);
+            }
+
+            NDList input = new NDList(arr.toType(DataType.FLOAT16, false));
+            NDArray result = block.forward(parameterStore, input, false).singletonOrThrow();
+            Assert.assertEquals(result.getDataType(), DataType.FLOAT16);
+            Assertions.assertAlmostEquals(
+                    result.toType(DataType.FLOAT32, false), expected, 1e-2, 1e-1);
+        }
+    }
+
     @Test
     public void trainWithNewParam()
             throws IOException, ModelNotFoundException, MalformedModelException {
@@ -15,6 +15,7 @@ package ai.djl.pytorch.engine;
 import ai.djl.Device;
 import ai.djl.Model;
 import ai.djl.engine.Engine;
+import ai.djl.engine.EngineException;
 import ai.djl.ndarray.NDManager;
 import ai.djl.pytorch.jni.JniUtils;
 import ai.djl.pytorch.jni.LibUtils;
@@ -72,6 +73,21 @@ public final class PtEngine extends Engine {
         return JniUtils.getFeatures().contains(capability);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void setNumThreads(int intraOpThreads, int interOpThreads) {
+        if (intraOpThreads > 0) {
+            JniUtils.setNumThreads(intraOpThreads);
+        }
+        if (interOpThreads > 0) {
+            try {
+                JniUtils.setNumInteropThreads(interOpThreads);
+            } catch (EngineException e) {
+                logger.warn("Failed to set the number of inter-op threads.", e);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Model newModel(Device device) {
@@ -18,11 +18,20 @@ import ai.djl.engine.EngineProvider;
 /** {@code PtEngineProvider} is the PyTorch implementation of {@link EngineProvider}. */
 public class PtEngineProvider implements EngineProvider {
 
-    private static final Engine ENGINE = PtEngine.newInstance();
+    /** {@inheritDoc} */
+    @Override
+    public String getEngineName() {
+        return PtEngine.ENGINE_NAME;
+    }
 
     /** {@inheritDoc} */
     @Override
     public Engine getEngine() {
-        return ENGINE;
+        return InstanceHolder.INSTANCE;
+    }
+
+    /** Defers loading the native library until the engine is first used. */
+    private static final class InstanceHolder {
+        static final Engine INSTANCE = PtEngine.newInstance();
     }
 }
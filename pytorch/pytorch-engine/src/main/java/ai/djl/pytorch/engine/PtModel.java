@@ -65,7 +65,13 @@ public class PtModel extends BaseModel {
             if (Files.notExists(modelFile)) {
                 throw new FileNotFoundException(".pt file not found in: " + modelPath);
             }
-            block = JniUtils.loadModule((PtNDManager) manager, modelFile, manager.getDevice());
+            boolean optimize = false;
+            if (options != null && options.containsKey("OptimizeForInference")) {
+                optimize = Boolean.parseBoolean(options.get("OptimizeForInference").toString());
+            }
+            block =
+                    JniUtils.loadModule(
+                            (PtNDManager) manager, modelFile, manager.getDevice(), optimize);
         } else {
             readParameters(options);
         }
@@ -167,7 +167,12 @@ public class PtNDArray extends NativeResource implements NDArray {
         throw new UnsupportedOperationException("Not implemented");
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned buffer of a contiguous CPU array is a view of the native memory, it reflects
+     * changes to this array and must not be used after this array is closed.
+     */
     @Override
     public ByteBuffer toByteBuffer() {
         return JniUtils.getByteBuffer(this);
@@ -21,6 +21,7 @@ import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.pooling.PoolingConvention;
 import ai.djl.pytorch.jni.JniUtils;
 import ai.djl.util.PairList;
+import java.util.Arrays;
 import java.util.List;
 
 /** {@code PtNDArrayEx} is the PyTorch implementation of the {@link NDArrayEx}. */
@@ -443,12 +444,29 @@ public class PtNDArrayEx implements NDArrayEx {
         return (PtNDArray) result;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public PtNDArray flip(int... axes) {
+        return JniUtils.flip(array, Arrays.stream(axes).mapToLong(i -> i).toArray());
+    }
+
     /** {@inheritDoc} */
     @Override
     public PtNDArray pick(NDArray index, int axis, boolean keepDims, String mode) {
         throw new UnsupportedOperationException("Not implemented");
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public PtNDArray take(NDArray indices, int axis) {
+        if (indices.getDataType() != DataType.INT64) {
+            try (NDArray index = indices.toType(DataType.INT64, false)) {
+                return JniUtils.indexSelect(array, axis, (PtNDArray) index);
+            }
+        }
+        return JniUtils.indexSelect(array, axis, (PtNDArray) indices);
+    }
+
     /** {@inheritDoc} */
     @Override
     public PtNDArray where(NDArray condition, NDArray other) {
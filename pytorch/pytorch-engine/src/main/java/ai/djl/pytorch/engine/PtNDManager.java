@@ -71,9 +71,20 @@ public class PtNDManager extends BaseNDManager {
         return JniUtils.createEmptyNdArray(this, shape, dataType, device, SparseFormat.DENSE);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A writable direct {@link ByteBuffer} in native byte order that holds exactly the data of
+     * the array is shared with the CPU tensor without copy. The buffer is kept alive until the
+     * tensor is freed, and must not be modified by the caller after the {@code NDArray} is created.
+     */
     @Override
     public PtNDArray create(Buffer data, Shape shape, DataType dataType) {
+        if (isSharable(data, shape, dataType)) {
+            ByteBuffer bb = ((ByteBuffer) data).slice();
+            return JniUtils.createNdFromByteBuffer(
+                    this, bb, shape, dataType, SparseFormat.DENSE, device);
+        }
         int size = data.remaining();
         // int8, uint8, boolean use ByteBuffer, so need to explicitly input DataType
         DataType inputType = DataType.fromBuffer(data);
@@ -107,6 +118,18 @@ public class PtNDManager extends BaseNDManager {
                 this, buf, shape, dataType, SparseFormat.DENSE, device);
     }
 
+    private static boolean isSharable(Buffer data, Shape shape, DataType dataType) {
+        if (!(data instanceof ByteBuffer) || !data.isDirect() || data.isReadOnly()) {
+            return false;
+        }
+        ByteBuffer bb = (ByteBuffer) data;
+        int numOfBytes = dataType.getNumOfBytes();
+        if (numOfBytes > 1 && bb.order() != ByteOrder.nativeOrder()) {
+            return false;
+        }
+        return bb.remaining() == shape.size() * numOfBytes;
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDArray createCSR(
@@ -85,7 +85,7 @@ public class PtSymbolBlock extends NativeResource implements SymbolBlock {
             boolean training,
             PairList<String, Object> params) {
         // TODO refactor the forward to not take ParameterStore
-        return IValueUtils.forward(this, inputs);
+        return IValueUtils.forward(this, inputs, training);
     }
 
     /** {@inheritDoc} */
@@ -185,15 +185,16 @@ public final class IValueUtils {
      *
      * @param block the block that contains PyTorch module.
      * @param inputs input {@link NDList}
+     * @param isTrain if autograd records the forward
      * @return result {@link NDList}
      */
-    public static NDList forward(PtSymbolBlock block, NDList inputs) {
-        Pointer[] arrayHandles =
-                inputs.stream()
-                        .map(input -> ((PtNDArray) input).getHandle())
-                        .toArray(Pointer[]::new);
+    public static NDList forward(PtSymbolBlock block, NDList inputs, boolean isTrain) {
+        Pointer[] arrayHandles = new Pointer[inputs.size()];
+        for (int i = 0; i < arrayHandles.length; ++i) {
+            arrayHandles[i] = ((PtNDArray) inputs.get(i)).getHandle();
+        }
 
-        Pointer result = PyTorchLibrary.LIB.moduleForward(block.getHandle(), arrayHandles);
+        Pointer result = PyTorchLibrary.LIB.moduleForward(block.getHandle(), arrayHandles, isTrain);
         PtNDManager manager = (PtNDManager) inputs.get(0).getManager();
         return forwardHelper(result, manager);
     }
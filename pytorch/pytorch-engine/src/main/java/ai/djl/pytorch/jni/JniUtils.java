@@ -13,6 +13,7 @@
 package ai.djl.pytorch.jni;
 
 import ai.djl.Device;
+import ai.djl.engine.EngineException;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.types.DataType;
@@ -39,7 +40,6 @@ import org.slf4j.LoggerFactory;
 @SuppressWarnings("MissingJavadocMethod")
 public final class JniUtils {
 
-    @SuppressWarnings("PMD.UnusedPrivateField")
     private static final Logger logger = LoggerFactory.getLogger(JniUtils.class);
 
     private static Set<String> configs;
@@ -348,6 +348,18 @@ public final class JniUtils {
                 .create(PyTorchLibrary.LIB.torchPermute(ndArray.getHandle(), dims));
     }
 
+    public static PtNDArray indexSelect(PtNDArray ndArray, long dim, PtNDArray index) {
+        return ndArray.getManager()
+                .create(
+                        PyTorchLibrary.LIB.torchIndexSelect(
+                                ndArray.getHandle(), dim, index.getHandle()));
+    }
+
+    public static PtNDArray flip(PtNDArray ndArray, long[] dims) {
+        return ndArray.getManager()
+                .create(PyTorchLibrary.LIB.torchFlip(ndArray.getHandle(), dims));
+    }
+
     public static PtNDArray transpose(PtNDArray ndArray, long dim1, long dim2) {
         return ndArray.getManager()
                 .create(PyTorchLibrary.LIB.torchTranspose(ndArray.getHandle(), dim1, dim2));
@@ -894,8 +906,12 @@ public final class JniUtils {
         if (!ndArray.getDevice().equals(Device.cpu())) {
             ndArray = ndArray.toDevice(Device.cpu(), false);
         }
-        return ByteBuffer.wrap(PyTorchLibrary.LIB.torchDataPtr(ndArray.getHandle()))
-                .order(ByteOrder.nativeOrder());
+        // view the memory of a contiguous tensor directly, it is valid while the array is open
+        ByteBuffer bb = PyTorchLibrary.LIB.torchDirectByteBuffer(ndArray.getHandle());
+        if (bb == null) {
+            bb = ByteBuffer.wrap(PyTorchLibrary.LIB.torchDataPtr(ndArray.getHandle()));
+        }
+        return bb.order(ByteOrder.nativeOrder());
     }
 
     public static void deleteNdArray(Pointer handle) {
@@ -906,7 +922,8 @@ public final class JniUtils {
         PyTorchLibrary.LIB.torchDeleteModule(block.getHandle());
     }
 
-    public static PtSymbolBlock loadModule(PtNDManager manager, Path path, Device device) {
+    public static PtSymbolBlock loadModule(
+            PtNDManager manager, Path path, Device device, boolean optimize) {
         Pointer handle =
                 PyTorchLibrary.LIB.moduleLoad(
                         path.toString(),
@@ -914,6 +931,15 @@ public final class JniUtils {
                             PtDeviceType.toDeviceType(device),
                             device.equals(Device.cpu()) ? -1 : device.getDeviceId()
                         });
+        if (optimize) {
+            try {
+                Pointer frozen = PyTorchLibrary.LIB.moduleFreeze(handle);
+                PyTorchLibrary.LIB.torchDeleteModule(handle);
+                handle = frozen;
+            } catch (EngineException | UnsupportedOperationException e) {
+                logger.warn("Failed to freeze the module, the original module is used.", e);
+            }
+        }
         return new PtSymbolBlock(manager, handle);
     }
 
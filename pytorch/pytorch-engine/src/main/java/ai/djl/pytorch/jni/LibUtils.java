@@ -12,6 +12,7 @@
  */
 package ai.djl.pytorch.jni;
 
+import ai.djl.util.NativeLibraryCache;
 import ai.djl.util.Platform;
 import ai.djl.util.Utils;
 import java.io.File;
@@ -23,7 +24,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -63,6 +66,7 @@ public final class LibUtils {
             System.loadLibrary(LIB_NAME); // NOPMD
             return;
         }
+        long begin = System.nanoTime();
         String libName = findOverrideLibrary();
         if (libName == null) {
             String nativeLibDir = findNativeLibrary();
@@ -72,11 +76,18 @@ public final class LibUtils {
                 throw new IllegalStateException("Native library not found");
             }
         }
+        long found = System.nanoTime();
         logger.debug("Loading pytorch library from: {}", libName);
         if (System.getProperty("os.name").startsWith("Win")) {
             loadWinDependencies(libName);
         }
         System.load(libName); // NOPMD
+        if (logger.isDebugEnabled()) {
+            logger.debug(
+                    "PyTorch library located in {} ms, loaded in {} ms.",
+                    String.format("%.3f", (found - begin) / 1_000_000f),
+                    String.format("%.3f", (System.nanoTime() - found) / 1_000_000f));
+        }
     }
 
     private static void loadWinDependencies(String libName) {
@@ -240,7 +251,6 @@ public final class LibUtils {
     }
 
     private static String copyNativeLibraryFromClasspath(Platform platform) {
-        Path tmp = null;
         String version = platform.getVersion();
         String flavor = platform.getFlavor();
         String classifier = platform.getClassifier();
@@ -249,28 +259,19 @@ public final class LibUtils {
             String libName = System.mapLibraryName(NATIVE_LIB_NAME);
             Path cacheDir = Paths.get(userHome, ".pytorch/cache");
             Path dir = cacheDir.resolve(version + flavor + '-' + classifier);
-            Path path = dir.resolve(libName);
-            if (Files.exists(path)) {
+            if (NativeLibraryCache.isCached(dir, libName)) {
                 return dir.toAbsolutePath().toString();
             }
 
-            Files.createDirectories(cacheDir);
-            tmp = Files.createTempDirectory(cacheDir, "tmp");
+            Map<String, NativeLibraryCache.Source> sources = new LinkedHashMap<>();
             for (String file : platform.getLibraries()) {
                 String libPath = "/native/lib/" + file;
-                try (InputStream is = LibUtils.class.getResourceAsStream(libPath)) {
-                    Files.copy(is, tmp.resolve(file), StandardCopyOption.REPLACE_EXISTING);
-                }
+                sources.put(file, () -> LibUtils.class.getResourceAsStream(libPath));
             }
-
-            Utils.moveQuietly(tmp, dir);
+            NativeLibraryCache.extract(dir, libName, sources);
             return dir.toAbsolutePath().toString();
         } catch (IOException e) {
             throw new IllegalStateException("Failed to extract PyTorch native library", e);
-        } finally {
-            if (tmp != null) {
-                Utils.deleteQuietly(tmp);
-            }
         }
     }
 
@@ -287,13 +288,9 @@ public final class LibUtils {
         String libName = System.mapLibraryName(NATIVE_LIB_NAME);
         Path cacheDir = Paths.get(userHome, ".pytorch/cache");
         Path dir = cacheDir.resolve(version + flavor + '-' + classifier);
-        Path path = dir.resolve(libName);
-        if (Files.exists(path)) {
+        if (NativeLibraryCache.isCached(dir, libName)) {
             return dir.toAbsolutePath().toString();
         }
-        // if files not found
-        Files.createDirectories(cacheDir);
-        Path tmp = Files.createTempDirectory(cacheDir, "tmp");
 
         Matcher matcher = VERSION_PATTERN.matcher(version);
         if (!matcher.matches()) {
@@ -302,23 +299,22 @@ public final class LibUtils {
         String link = "https://djl-ai.s3.amazonaws.com/publish/pytorch-" + matcher.group(1);
         try (InputStream is = new URL(link + "/files.txt").openStream()) {
             List<String> lines = Utils.readLines(is);
+            // the files are downloaded in parallel
+            Map<String, NativeLibraryCache.Source> sources = new LinkedHashMap<>();
             for (String line : lines) {
                 if (line.startsWith(flavor + '/' + os + '/')) {
                     URL url = new URL(link + '/' + line);
                     String fileName = line.substring(line.lastIndexOf('/') + 1, line.length() - 3);
-                    logger.info("Downloading {} ...", fileName);
-                    try (InputStream fis = new GZIPInputStream(url.openStream())) {
-                        Files.copy(fis, tmp.resolve(fileName), StandardCopyOption.REPLACE_EXISTING);
-                    }
+                    sources.put(fileName, () -> download(url, fileName));
                 }
             }
-
-            Utils.moveQuietly(tmp, dir);
+            NativeLibraryCache.extract(dir, libName, sources);
             return dir.toAbsolutePath().toString();
-        } finally {
-            if (tmp != null) {
-                Utils.deleteQuietly(tmp);
-            }
         }
     }
+
+    private static InputStream download(URL url, String fileName) throws IOException {
+        logger.info("Downloading {} ...", fileName);
+        return new GZIPInputStream(url.openStream());
+    }
 }
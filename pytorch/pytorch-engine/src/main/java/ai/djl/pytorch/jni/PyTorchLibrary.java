@@ -34,6 +34,8 @@ final class PyTorchLibrary {
 
     native byte[] torchDataPtr(Pointer handle);
 
+    native ByteBuffer torchDirectByteBuffer(Pointer handle);
+
     native int torchDType(Pointer handle);
 
     native int[] torchDevice(Pointer handle);
@@ -133,6 +135,10 @@ final class PyTorchLibrary {
 
     native Pointer torchPermute(Pointer handle, long[] dims);
 
+    native Pointer torchFlip(Pointer handle, long[] dims);
+
+    native Pointer torchIndexSelect(Pointer handle, long dim, Pointer indexHandle);
+
     native Pointer torchTranspose(Pointer handle, long axis1, long axis2);
 
     native boolean contentEqual(Pointer handle1, Pointer handle2);
@@ -339,9 +345,11 @@ final class PyTorchLibrary {
 
     native Pointer moduleLoad(String path, int[] device);
 
+    native Pointer moduleFreeze(Pointer handle);
+
     native void moduleEval(Pointer handle);
 
-    native Pointer moduleForward(Pointer moduleHandle, Pointer[] arrayHandles);
+    native Pointer moduleForward(Pointer moduleHandle, Pointer[] arrayHandles, boolean isTrain);
 
     native Pointer iValueCreateFromTensor(Pointer tensorHandle);
 
@@ -13,7 +13,7 @@
 package ai.djl.pytorch.zoo.nlp.qa;
 
 import ai.djl.Model;
-import ai.djl.modality.nlp.bert.BertToken;
+import ai.djl.modality.nlp.bert.BertEncoding;
 import ai.djl.modality.nlp.bert.BertTokenizer;
 import ai.djl.modality.nlp.bert.BertVocabulary;
 import ai.djl.modality.nlp.qa.QAInput;
@@ -33,50 +33,83 @@ import java.util.List;
  */
 public class PtBertQATranslator extends QATranslator {
 
-    private List<String> tokens;
-    private BertVocabulary vocabulary;
     private BertTokenizer tokenizer;
+    private int maxLength;
 
-    PtBertQATranslator() {}
+    PtBertQATranslator(Builder builder) {
+        super(builder);
+        maxLength = builder.maxLength;
+    }
 
     /** {@inheritDoc} */
     @Override
     public void prepare(NDManager manager, Model model) throws IOException {
-        vocabulary = model.getArtifact("bert-base-uncased-vocab.txt", PtBertVocabulary::parse);
-        tokenizer = new BertTokenizer();
+        BertVocabulary vocabulary =
+                model.getArtifact("bert-base-uncased-vocab.txt", PtBertVocabulary::parse);
+        tokenizer = new BertTokenizer(vocabulary);
     }
 
     /** {@inheritDoc} */
     @Override
     public NDList processInput(TranslatorContext ctx, QAInput input) {
-        BertToken token =
-                tokenizer.encode(
-                        input.getQuestion().toLowerCase(), input.getParagraph().toLowerCase());
-        tokens = token.getTokens();
+        List<BertEncoding> windows =
+                tokenizer.encodeWindows(
+                        input.getQuestion().toLowerCase(),
+                        input.getParagraph().toLowerCase(),
+                        maxLength,
+                        docStride);
+        addWindows(ctx, windows);
+        int length = 0;
+        for (BertEncoding window : windows) {
+            length = Math.max(length, window.length());
+        }
+        length = paddedLength(length);
+        long[] indices = pack(windows, length, BertEncoding::getTokenIds);
+        long[] attentionMask = pack(windows, length, BertEncoding::getAttentionMask);
+        long[] tokenType = pack(windows, length, BertEncoding::getTokenTypes);
+
         NDManager manager = ctx.getNDManager();
-        long[] indices = tokens.stream().mapToLong(vocabulary::getIndex).toArray();
-        long[] attentionMask = token.getAttentionMask().stream().mapToLong(i -> i).toArray();
-        long[] tokenType = token.getTokenTypes().stream().mapToLong(i -> i).toArray();
-        NDArray indicesArray = manager.create(indices, new Shape(1, indices.length));
-        NDArray attentionMaskArray =
-                manager.create(attentionMask, new Shape(1, attentionMask.length));
-        NDArray tokenTypeArray = manager.create(tokenType, new Shape(1, tokenType.length));
+        Shape shape = new Shape(windows.size(), length);
+        NDArray indicesArray = manager.create(indices, shape);
+        NDArray attentionMaskArray = manager.create(attentionMask, shape);
+        NDArray tokenTypeArray = manager.create(tokenType, shape);
         return new NDList(indicesArray, attentionMaskArray, tokenTypeArray);
     }
 
     /** {@inheritDoc} */
     @Override
     public String processOutput(TranslatorContext ctx, NDList list) {
-        NDArray startLogits = list.get(0);
-        NDArray endLogits = list.get(1);
-        int startIdx = (int) startLogits.argMax().getLong();
-        int endIdx = (int) endLogits.argMax().getLong();
-        return tokens.subList(startIdx, endIdx + 1).toString();
+        float[] startLogits = list.get(0).toFloatArray();
+        float[] endLogits = list.get(1).toFloatArray();
+        return decode(ctx, startLogits, endLogits);
+    }
+
+    /**
+     * Creates a builder to build a {@code PtBertQATranslator}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     /** The builder for Bert QA translator. */
     public static class Builder extends BaseBuilder<Builder> {
 
+        private int maxLength = 384;
+
+        /**
+         * Sets the maximum length of a sequence. Longer paragraphs are split into overlapping
+         * windows.
+         *
+         * @param maxLength the maximum length of a sequence
+         * @return this builder
+         */
+        public Builder optMaxLength(int maxLength) {
+            this.maxLength = maxLength;
+            return self();
+        }
+
         /**
          * Returns the builder.
          *
@@ -93,7 +126,7 @@ public class PtBertQATranslator extends QATranslator {
          * @return the new translator
          */
         protected PtBertQATranslator build() {
-            return new PtBertQATranslator();
+            return new PtBertQATranslator(this);
         }
     }
 }
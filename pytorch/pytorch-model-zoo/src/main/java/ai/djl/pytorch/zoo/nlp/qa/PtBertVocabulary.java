@@ -64,4 +64,10 @@ public final class PtBertVocabulary extends BertVocabulary {
     public String getToken(long index) {
         return vocabMap.get(index);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return vocabMap.size();
+    }
 }
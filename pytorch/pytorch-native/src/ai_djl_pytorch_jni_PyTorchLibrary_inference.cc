@@ -12,6 +12,9 @@
  */
 #include <torch/script.h>
 #include <torch/torch.h>
+#if !defined(__ANDROID__)
+#include <torch/csrc/jit/passes/freeze_module.h>
+#endif
 
 #include "ai_djl_pytorch_jni_PyTorchLibrary.h"
 #include "djl_pytorch_jni_error.h"
@@ -41,21 +44,42 @@ JNIEXPORT void JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_moduleEval(
   module_ptr->eval();
 }
 
+JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_moduleFreeze(
+    JNIEnv* env, jobject jthis, jobject module_handle) {
+  API_BEGIN();
+  auto* module_ptr = utils::GetPointerFromJHandle<torch::jit::script::Module>(env, module_handle);
+#if defined(__ANDROID__)
+  env->ThrowNew(env->FindClass("java/lang/UnsupportedOperationException"), "Freezing is not supported on Android");
+  return nullptr;
+#else
+  // freezing requires eval mode, it inlines parameters and attributes into the graph as constants
+  // and runs constant propagation and dead code elimination on it
+  module_ptr->eval();
+  const auto* frozen_ptr = new torch::jit::script::Module(torch::jit::freeze_module(*module_ptr));
+  return utils::CreatePointer<torch::jit::script::Module>(env, frozen_ptr);
+#endif
+  API_END();
+}
+
 JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_moduleForward(
-    JNIEnv* env, jobject jthis, jobject module_handle, jobjectArray tensor_ptrs) {
+    JNIEnv* env, jobject jthis, jobject module_handle, jobjectArray tensor_ptrs, jboolean jis_train) {
   API_BEGIN();
   auto ivalue_vec = std::vector<c10::IValue>();
   size_t len = static_cast<size_t>(env->GetArrayLength(tensor_ptrs));
   ivalue_vec.reserve(len);
   for (size_t i = 0; i < len; ++i) {
-    auto* tensor_ptr =
-        utils::GetPointerFromJHandle<const torch::Tensor>(env, env->GetObjectArrayElement(tensor_ptrs, i));
+    jobject jtensor = env->GetObjectArrayElement(tensor_ptrs, i);
+    auto* tensor_ptr = utils::GetPointerFromJHandle<const torch::Tensor>(env, jtensor);
     // IValue and Tensor are interchangeable
     ivalue_vec.emplace_back(*tensor_ptr);
+    env->DeleteLocalRef(jtensor);
   }
   env->DeleteLocalRef(tensor_ptrs);
   auto* module_ptr = utils::GetPointerFromJHandle<torch::jit::script::Module>(env, module_handle);
   auto output = [&]() {
+    if (jis_train) {
+      return module_ptr->forward(ivalue_vec);
+    }
     // disable autograd
     JITCallGuard guard;
     return module_ptr->forward(ivalue_vec);
@@ -143,6 +143,19 @@ JNIEXPORT jbyteArray JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchDataPtr
   API_END();
 }
 
+JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchDirectByteBuffer(
+    JNIEnv* env, jobject jthis, jobject jhandle) {
+  API_BEGIN();
+  const auto* tensor_ptr = utils::GetPointerFromJHandle<torch::Tensor>(env, jhandle);
+  // only a dense contiguous CPU tensor can be viewed without copy
+  if (!tensor_ptr->is_cpu() || tensor_ptr->layout() != torch::kStrided || !tensor_ptr->is_contiguous() ||
+      tensor_ptr->nbytes() == 0) {
+    return nullptr;
+  }
+  return env->NewDirectByteBuffer(tensor_ptr->data_ptr(), tensor_ptr->nbytes());
+  API_END();
+}
+
 JNIEXPORT void JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchDeleteTensor(
     JNIEnv* env, jobject jthis, jobject jhandle) {
   const auto* tensor_ptr = utils::GetPointerFromJHandle<const torch::Tensor>(env, jhandle);
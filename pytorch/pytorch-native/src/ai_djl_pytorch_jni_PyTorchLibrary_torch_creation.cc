@@ -26,8 +26,15 @@ JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchFromBlob(J
   if (jdtype != 8) {
     options = options.dtype(utils::GetScalarTypeFromDType(jdtype));
   }
-  // call the clone() to let tensor own the memory
-  torch::Tensor result = torch::from_blob(env->GetDirectBufferAddress(jbuffer), shape_vec, options).clone();
+  void* data = env->GetDirectBufferAddress(jbuffer);
+  torch::Tensor result;
+  if (jlayout == 0 && device.is_cpu()) {
+    // share the memory of the direct buffer, which is kept alive until the tensor storage is freed
+    result = torch::from_blob(data, shape_vec, utils::CreateGlobalRefDeleter(env, jbuffer), options);
+  } else {
+    // the layout and device conversions below copy the data, the buffer is only read here
+    result = torch::from_blob(data, shape_vec, options);
+  }
   // from_blob doesn't support torch::kSparse and torch::kMkldnn, so explicit cast the type here
   if (jlayout == 1) {
     result = result.to_sparse();
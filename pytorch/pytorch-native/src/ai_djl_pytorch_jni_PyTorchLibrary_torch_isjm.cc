@@ -122,6 +122,26 @@ JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchPermute(
   API_END();
 }
 
+JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchFlip(
+    JNIEnv* env, jobject jthis, jobject jhandle, jlongArray jdims) {
+  API_BEGIN();
+  const auto* tensor_ptr = utils::GetPointerFromJHandle<const torch::Tensor>(env, jhandle);
+  const std::vector<int64_t> dims = utils::GetVecFromJLongArray(env, jdims);
+  const auto* result_ptr = new torch::Tensor(tensor_ptr->flip(dims));
+  return utils::CreatePointer<torch::Tensor>(env, result_ptr);
+  API_END();
+}
+
+JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchIndexSelect(
+    JNIEnv* env, jobject jthis, jobject jhandle, jlong jdim, jobject jindex_handle) {
+  API_BEGIN();
+  const auto* tensor_ptr = utils::GetPointerFromJHandle<const torch::Tensor>(env, jhandle);
+  const auto* index_ptr = utils::GetPointerFromJHandle<const torch::Tensor>(env, jindex_handle);
+  const auto* result_ptr = new torch::Tensor(tensor_ptr->index_select(jdim, *index_ptr));
+  return utils::CreatePointer<torch::Tensor>(env, result_ptr);
+  API_END();
+}
+
 JNIEXPORT jobject JNICALL Java_ai_djl_pytorch_jni_PyTorchLibrary_torchTranspose(
     JNIEnv* env, jobject jthis, jobject jhandle, jlong jdim1, jlong jdim2) {
   API_BEGIN();
@@ -189,6 +189,25 @@ inline torch::TensorOptions CreateTensorOptions(
   }
   return options;
 }
+
+// Creates a deleter that releases a global reference of a Java object, it may run on any thread
+inline std::function<void(void*)> CreateGlobalRefDeleter(JNIEnv* env, jobject jobj) {
+  JavaVM* jvm;
+  env->GetJavaVM(&jvm);
+  jobject jref = env->NewGlobalRef(jobj);
+  return [jvm, jref](void*) {
+    JNIEnv* jenv;
+    bool attached = false;
+    if (jvm->GetEnv(reinterpret_cast<void**>(&jenv), JNI_VERSION_1_8) == JNI_EDETACHED) {
+      jvm->AttachCurrentThread(reinterpret_cast<void**>(&jenv), nullptr);
+      attached = true;
+    }
+    jenv->DeleteGlobalRef(jref);
+    if (attached) {
+      jvm->DetachCurrentThread();
+    }
+  };
+}
 }  // namespace utils
 
 #endif  // DJL_TORCH_DJL_PYTORCH_JNI_UTILS_H
@@ -20,6 +20,7 @@ import ai.djl.training.GradientCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.tensorflow.TensorFlow;
+import org.tensorflow.proto.framework.ConfigProto;
 
 /**
  * The {@code TfEngine} is an implementation of the {@link Engine} based on the <a
@@ -34,6 +35,8 @@ public final class TfEngine extends Engine {
 
     public static final String ENGINE_NAME = "TensorFlow";
 
+    private static volatile ConfigProto threadConfig;
+
     private TfEngine() {}
 
     static TfEngine newInstance() {
@@ -93,4 +96,28 @@ public final class TfEngine extends Engine {
     public void setRandomSeed(int seed) {
         TfNDManager.setRandomSeed(seed);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The settings are applied to the {@code ConfigProto} of models loaded and eager sessions
+     * created afterwards. A {@code ConfigProto} passed as model loading option takes precedence.
+     */
+    @Override
+    public synchronized void setNumThreads(int intraOpThreads, int interOpThreads) {
+        // starts from the current settings, so a non-positive value keeps them
+        ConfigProto.Builder builder =
+                threadConfig == null ? ConfigProto.newBuilder() : threadConfig.toBuilder();
+        if (intraOpThreads > 0) {
+            builder.setIntraOpParallelismThreads(intraOpThreads);
+        }
+        if (interOpThreads > 0) {
+            builder.setInterOpParallelismThreads(interOpThreads);
+        }
+        threadConfig = builder.build();
+    }
+
+    static ConfigProto getThreadConfig() {
+        return threadConfig;
+    }
 }
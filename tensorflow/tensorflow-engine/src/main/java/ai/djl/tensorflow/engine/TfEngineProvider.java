@@ -17,11 +17,20 @@ import ai.djl.engine.EngineProvider;
 
 public class TfEngineProvider implements EngineProvider {
 
-    private static final Engine ENGINE = TfEngine.newInstance();
+    /** {@inheritDoc} */
+    @Override
+    public String getEngineName() {
+        return TfEngine.ENGINE_NAME;
+    }
 
     /** {@inheritDoc} */
     @Override
     public Engine getEngine() {
-        return ENGINE;
+        return InstanceHolder.INSTANCE;
+    }
+
+    /** Defers loading the native library until the engine is first used. */
+    private static final class InstanceHolder {
+        static final Engine INSTANCE = TfEngine.newInstance();
     }
 }
@@ -58,14 +58,26 @@ public class TfModel extends BaseModel {
         String[] tags = null;
         ConfigProto proto = null;
         RunOptions runOptions = null;
+        String signatureDefKey = TfSymbolBlock.DEFAULT_SIGNATURE;
         if (options != null) {
             tags = (String[]) options.get("Tags");
             proto = (ConfigProto) options.get("ConfigProto");
             runOptions = (RunOptions) options.get("RunOptions");
+            if (options.containsKey("SignatureDefKey")) {
+                signatureDefKey = (String) options.get("SignatureDefKey");
+            }
         }
         if (tags == null) {
             tags = new String[] {"serve"};
         }
+        ConfigProto threadConfig = TfEngine.getThreadConfig();
+        if (threadConfig != null) {
+            // settings of the ConfigProto option take precedence
+            proto =
+                    proto == null
+                            ? threadConfig
+                            : threadConfig.toBuilder().mergeFrom(proto).build();
+        }
 
         SavedModelBundle.Loader loader =
                 SavedModelBundle.loader(modelDir.toString()).withTags(tags);
@@ -77,7 +89,7 @@ public class TfModel extends BaseModel {
         }
 
         SavedModelBundle bundle = loader.load();
-        block = new TfSymbolBlock(manager, bundle);
+        block = new TfSymbolBlock(manager, bundle, signatureDefKey);
     }
 
     /** {@inheritDoc} */
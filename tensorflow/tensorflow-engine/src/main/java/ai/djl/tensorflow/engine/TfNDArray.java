@@ -28,6 +28,7 @@ import ai.djl.ndarray.types.Shape;
 import ai.djl.ndarray.types.SparseFormat;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -250,7 +251,7 @@ public class TfNDArray implements NDArray {
         long len = dType.getNumOfBytes() * product;
         byte[] buf = new byte[Math.toIntExact(len)];
         tensor.rawData().read(buf);
-        return ByteBuffer.wrap(buf);
+        return ByteBuffer.wrap(buf).order(ByteOrder.nativeOrder());
     }
 
     /** {@inheritDoc} */
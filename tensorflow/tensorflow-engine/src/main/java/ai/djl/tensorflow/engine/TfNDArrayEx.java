@@ -408,12 +408,27 @@ public class TfNDArrayEx implements NDArrayEx {
                         tf.constant(new int[] {height, width})));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDArray flip(int... axes) {
+        return new TfNDArray(manager, tf.reverse(operand, tf.constant(axes)));
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDArray pick(NDArray index, int axis, boolean keepDims, String mode) {
         throw new UnsupportedOperationException("Not implemented");
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDArray take(NDArray indices, int axis) {
+        return new TfNDArray(
+                manager,
+                tf.gather(
+                        array.asOperand(), ((TfNDArray) indices).asOperand(), tf.constant(axis)));
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDArray where(NDArray condition, NDArray other) {
@@ -36,6 +36,7 @@ import org.tensorflow.op.Ops;
 import org.tensorflow.op.core.Constant;
 import org.tensorflow.op.random.ParameterizedTruncatedNormal;
 import org.tensorflow.op.random.RandomUniform;
+import org.tensorflow.proto.framework.ConfigProto;
 import org.tensorflow.tools.buffer.ByteDataBuffer;
 import org.tensorflow.tools.buffer.DataBuffers;
 import org.tensorflow.types.TBool;
@@ -69,7 +70,12 @@ public class TfNDManager extends BaseNDManager {
 
     EagerSession getEagerSession() {
         if (eagerSession == null) {
-            eagerSession = EagerSession.options().async(true).build();
+            EagerSession.Options options = EagerSession.options().async(true);
+            ConfigProto threadConfig = TfEngine.getThreadConfig();
+            if (threadConfig != null) {
+                options.config(threadConfig);
+            }
+            eagerSession = options.build();
         }
         return eagerSession;
     }
@@ -156,12 +162,42 @@ public class TfNDManager extends BaseNDManager {
         return new TfNDArray(this, shape, data);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The data is copied once, straight into the memory of the new tensor.
+     */
     @Override
     public TfNDArray create(Buffer data, Shape shape, DataType dataType) {
         int size = data.remaining();
         // int8, uint8, boolean use ByteBuffer, so need to explicitly input DataType
         DataType inputType = DataType.fromBuffer(data);
+        org.tensorflow.tools.Shape tfShape = TfNDArray.toTfShape(shape);
+        if (data instanceof ByteBuffer) {
+            ByteDataBuffer db = DataBuffers.of(((ByteBuffer) data).slice());
+            return new TfNDArray(this, Tensor.of(TfDataType.toTf(dataType), tfShape, db));
+        }
+        if (inputType == dataType) {
+            Tensor<?> tensor = Tensor.of(TfDataType.toTf(dataType), tfShape);
+            ByteDataBuffer raw = tensor.rawData();
+            switch (inputType) {
+                case FLOAT32:
+                    DataBuffers.of(((FloatBuffer) data).slice()).copyTo(raw.asFloats(), size);
+                    break;
+                case FLOAT64:
+                    DataBuffers.of(((DoubleBuffer) data).slice()).copyTo(raw.asDoubles(), size);
+                    break;
+                case INT32:
+                    DataBuffers.of(((IntBuffer) data).slice()).copyTo(raw.asInts(), size);
+                    break;
+                case INT64:
+                    DataBuffers.of(((LongBuffer) data).slice()).copyTo(raw.asLongs(), size);
+                    break;
+                default:
+                    throw new AssertionError("Show never happen");
+            }
+            return new TfNDArray(this, tensor);
+        }
 
         int numOfBytes = inputType.getNumOfBytes();
         ByteBuffer buf = allocateDirect(size * numOfBytes);
@@ -191,8 +227,7 @@ public class TfNDManager extends BaseNDManager {
         buf.rewind();
 
         ByteDataBuffer db = DataBuffers.of(buf);
-        Tensor<?> tensor = Tensor.of(TfDataType.toTf(dataType), TfNDArray.toTfShape(shape), db);
-        return new TfNDArray(this, tensor);
+        return new TfNDArray(this, Tensor.of(TfDataType.toTf(dataType), tfShape, db));
     }
 
     /** {@inheritDoc} */
@@ -28,6 +28,9 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.util.List;
 import java.util.Map;
+import org.tensorflow.Graph;
+import org.tensorflow.Operation;
+import org.tensorflow.Output;
 import org.tensorflow.SavedModelBundle;
 import org.tensorflow.Session;
 import org.tensorflow.Tensor;
@@ -38,18 +41,42 @@ import org.tensorflow.proto.framework.TensorShapeProto;
 
 public class TfSymbolBlock implements SymbolBlock {
 
+    static final String DEFAULT_SIGNATURE = "serving_default";
+
     private NDManager manager;
     private SavedModelBundle bundle;
-    // private Graph graph;
-    private MetaGraphDef metaGraphDef;
     private Session session;
+    private PairList<String, Shape> inputDescriptions;
+    private PairList<String, Shape> outputDescriptions;
+    private Output<?>[] feeds;
+    private Output<?>[] fetches;
 
     public TfSymbolBlock(NDManager manager, SavedModelBundle bundle) {
+        this(manager, bundle, DEFAULT_SIGNATURE);
+    }
+
+    /**
+     * Constructs a {@code TfSymbolBlock} that runs the given signature of a SavedModel.
+     *
+     * <p>The signature is resolved once, and its feed and fetch tensors are looked up in the graph
+     * here, so {@link #forward(ParameterStore, NDList, boolean, PairList)} only feeds the inputs
+     * and runs the session. If the model has no signature with the given name, the first signature
+     * is used.
+     *
+     * @param manager the manager to attach the outputs to
+     * @param bundle the loaded SavedModel
+     * @param signatureName the name of the signature to run
+     */
+    public TfSymbolBlock(NDManager manager, SavedModelBundle bundle, String signatureName) {
         this.manager = manager;
         this.bundle = bundle;
-        // graph = bundle.graph();
         session = bundle.session();
-        metaGraphDef = bundle.metaGraphDef();
+        SignatureDef signature = getSignature(bundle.metaGraphDef(), signatureName);
+        Graph graph = bundle.graph();
+        inputDescriptions = describe(signature.getInputsMap());
+        outputDescriptions = describe(signature.getOutputsMap());
+        feeds = resolve(graph, inputDescriptions);
+        fetches = resolve(graph, outputDescriptions);
     }
 
     /** {@inheritDoc} */
@@ -66,18 +93,15 @@ public class TfSymbolBlock implements SymbolBlock {
             boolean training,
             PairList<String, Object> params) {
         Session.Runner runner = session.runner();
-        PairList<String, Shape> inputDescriptions = describeInput();
-        PairList<String, Shape> outputDescriptions = describeOutput();
-
-        for (int i = 0; i < inputDescriptions.size(); i++) {
-            runner.feed(inputDescriptions.get(i).getKey(), ((TfNDArray) inputs.get(i)).getTensor());
+        for (int i = 0; i < feeds.length; i++) {
+            runner.feed(feeds[i], ((TfNDArray) inputs.get(i)).getTensor());
         }
-        for (int i = 0; i < outputDescriptions.size(); i++) {
-            runner.fetch(outputDescriptions.get(i).getKey());
+        for (Output<?> output : fetches) {
+            runner.fetch(output);
         }
         List<Tensor<?>> result = runner.run();
 
-        NDList resultNDList = new NDList();
+        NDList resultNDList = new NDList(result.size());
         for (Tensor<?> tensor : result) {
             resultNDList.add(((TfNDManager) manager).create(tensor));
         }
@@ -123,37 +147,38 @@ public class TfSymbolBlock implements SymbolBlock {
     /** {@inheritDoc} */
     @Override
     public PairList<String, Shape> describeInput() {
-        PairList<String, Shape> inputDescriptions = new PairList<>();
-        Map<String, SignatureDef> signatureDefMap = metaGraphDef.getSignatureDefMap();
-        SignatureDef servingDefault =
-                metaGraphDef.getSignatureDefOrDefault(
-                        "serving_default",
-                        signatureDefMap.get(signatureDefMap.keySet().iterator().next()));
-        for (Map.Entry<String, TensorInfo> entry : servingDefault.getInputsMap().entrySet()) {
-            TensorShapeProto shapeProto = entry.getValue().getTensorShape();
-            inputDescriptions.add(
-                    entry.getValue().getName(),
-                    new Shape(
-                            shapeProto
-                                    .getDimList()
-                                    .stream()
-                                    .mapToLong(TensorShapeProto.Dim::getSize)
-                                    .toArray()));
-        }
         return inputDescriptions;
     }
 
     PairList<String, Shape> describeOutput() {
-        PairList<String, Shape> outputDescription = new PairList<>();
+        return outputDescriptions;
+    }
+
+    private static SignatureDef getSignature(MetaGraphDef metaGraphDef, String signatureName) {
         Map<String, SignatureDef> signatureDefMap = metaGraphDef.getSignatureDefMap();
-        SignatureDef servingDefault =
-                metaGraphDef.getSignatureDefOrDefault(
-                        "serving_default",
-                        signatureDefMap.get(signatureDefMap.keySet().iterator().next()));
-        for (Map.Entry<String, TensorInfo> entry : servingDefault.getOutputsMap().entrySet()) {
-            TensorShapeProto shapeProto = entry.getValue().getTensorShape();
-            outputDescription.add(
-                    entry.getValue().getName(),
+        SignatureDef signature = signatureDefMap.get(signatureName);
+        if (signature != null) {
+            return signature;
+        }
+        if (signatureDefMap.isEmpty()) {
+            throw new IllegalArgumentException("The model does not contain any signature.");
+        }
+        if (!DEFAULT_SIGNATURE.equals(signatureName)) {
+            throw new IllegalArgumentException(
+                    "Signature "
+                            + signatureName
+                            + " not found, available signatures: "
+                            + signatureDefMap.keySet());
+        }
+        return signatureDefMap.values().iterator().next();
+    }
+
+    private static PairList<String, Shape> describe(Map<String, TensorInfo> tensors) {
+        PairList<String, Shape> descriptions = new PairList<>(tensors.size());
+        for (TensorInfo info : tensors.values()) {
+            TensorShapeProto shapeProto = info.getTensorShape();
+            descriptions.add(
+                    info.getName(),
                     new Shape(
                             shapeProto
                                     .getDimList()
@@ -161,7 +186,24 @@ public class TfSymbolBlock implements SymbolBlock {
                                     .mapToLong(TensorShapeProto.Dim::getSize)
                                     .toArray()));
         }
-        return outputDescription;
+        return descriptions;
+    }
+
+    private static Output<?>[] resolve(Graph graph, PairList<String, Shape> descriptions) {
+        Output<?>[] outputs = new Output<?>[descriptions.size()];
+        for (int i = 0; i < outputs.length; i++) {
+            // tensor names are in the form of "operation:index"
+            String name = descriptions.keyAt(i);
+            int pos = name.lastIndexOf(':');
+            String opName = pos < 0 ? name : name.substring(0, pos);
+            int index = pos < 0 ? 0 : Integer.parseInt(name.substring(pos + 1));
+            Operation operation = graph.operation(opName);
+            if (operation == null) {
+                throw new IllegalArgumentException("Tensor not found in the graph: " + name);
+            }
+            outputs[i] = operation.output(index);
+        }
+        return outputs;
     }
 
     /** {@inheritDoc} */